@@ -0,0 +1,62 @@
+#!/bin/sh
+#
+# Installs the dependencies of the benchmarks that are not available on Maven Central
+# into the local Maven repository: the Tabris bundle built by the Tycho build and the
+# RAP 2.0 bundles of the target platform.
+
+TABRIS_VERSION=1.1.0-SNAPSHOT
+RAP_VERSION=2.0.0
+
+BENCHMARK_DIR=`dirname "$0"`
+TABRIS_JAR="$BENCHMARK_DIR/../com.eclipsesource.tabris/target/com.eclipsesource.tabris-$TABRIS_VERSION.jar"
+
+usage() {
+  echo "Usage:"
+  echo "  $0 <rap-plugins-dir>"
+  echo
+  echo "Example:"
+  echo "  $0 /path/to/rap-2.0/plugins"
+}
+
+fail() {
+  echo Benchmark Dependencies Installer
+  if [ $# -gt 0 ]; then
+    echo "Error: $1"
+  fi
+  usage
+  exit 1
+}
+
+install() {
+  mvn -B install:install-file -Dfile="$1" -DgroupId="$2" -DartifactId="$3" -Dversion="$4" -Dpackaging=jar \
+    || fail "Failed to install $1"
+}
+
+findBundle() {
+  ls "$rapDir"/$1_$RAP_VERSION*.jar 2>/dev/null | head -n 1
+}
+
+# Check command line
+if [ $# -ne 1 ]; then
+  fail "Wrong number of arguments"
+fi
+
+rapDir=$1
+rwtJar=`findBundle org.eclipse.rap.rwt`
+testfixtureJar=`findBundle org.eclipse.rap.rwt.testfixture`
+
+if [ ! -f "$TABRIS_JAR" ]; then
+  fail "Missing $TABRIS_JAR, run the Tycho build in com.eclipsesource.tabris.build first"
+fi
+
+if [ -z "$rwtJar" ]; then
+  fail "No org.eclipse.rap.rwt_$RAP_VERSION bundle in $rapDir"
+fi
+
+if [ -z "$testfixtureJar" ]; then
+  fail "No org.eclipse.rap.rwt.testfixture_$RAP_VERSION bundle in $rapDir"
+fi
+
+install "$TABRIS_JAR" com.eclipsesource com.eclipsesource.tabris $TABRIS_VERSION
+install "$rwtJar" org.eclipse.rap org.eclipse.rap.rwt $RAP_VERSION
+install "$testfixtureJar" org.eclipse.rap org.eclipse.rap.rwt.testfixture $RAP_VERSION
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.benchmark;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+
+import com.eclipsesource.tabris.widgets.swipe.SwipeContext;
+import com.eclipsesource.tabris.widgets.swipe.SwipeItem;
+import com.eclipsesource.tabris.widgets.swipe.SwipeItemProvider;
+
+
+/**
+ * Provides a fixed amount of preloadable items with an empty <code>Composite</code> as content.
+ */
+public class BenchmarkItemProvider implements SwipeItemProvider {
+
+  private final int itemCount;
+
+  public BenchmarkItemProvider( int itemCount ) {
+    this.itemCount = itemCount;
+  }
+
+  @Override
+  public SwipeItem getItem( int index ) {
+    return new BenchmarkItem();
+  }
+
+  @Override
+  public int getItemCount() {
+    return itemCount;
+  }
+
+  public static class BenchmarkItem implements SwipeItem {
+
+    @Override
+    public Composite load( Composite parent ) {
+      return new Composite( parent, SWT.NONE );
+    }
+
+    @Override
+    public void activate( SwipeContext context ) {
+      // nothing to measure
+    }
+
+    @Override
+    public void deactivate( SwipeContext context ) {
+      // nothing to measure
+    }
+
+    @Override
+    public boolean isPreloadable() {
+      return true;
+    }
+  }
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.benchmark;
+
+import java.util.Map;
+
+import org.eclipse.rap.rwt.remote.Connection;
+import org.eclipse.rap.rwt.remote.OperationHandler;
+import org.eclipse.rap.rwt.remote.RemoteObject;
+import org.eclipse.rap.rwt.testfixture.Fixture;
+
+
+public class BenchmarkUtil {
+
+  /**
+   * Replaces the connection of the fixture with one that drops all operations. Other than a mocked connection it
+   * neither records invocations nor writes protocol messages, so it does not show up in the measured allocations.
+   */
+  public static void fakeConnection() {
+    Fixture.fakeConnection( new FakeConnection() );
+  }
+
+  private static class FakeConnection implements Connection {
+
+    private int nextId;
+
+    @Override
+    public RemoteObject createRemoteObject( String remoteType ) {
+      return new NullRemoteObject( "r" + nextId++ );
+    }
+  }
+
+  private static class NullRemoteObject implements RemoteObject {
+
+    private final String id;
+
+    NullRemoteObject( String id ) {
+      this.id = id;
+    }
+
+    @Override
+    public String getId() {
+      return id;
+    }
+
+    @Override
+    public void set( String name, int value ) {
+      // dropped
+    }
+
+    @Override
+    public void set( String name, double value ) {
+      // dropped
+    }
+
+    @Override
+    public void set( String name, boolean value ) {
+      // dropped
+    }
+
+    @Override
+    public void set( String name, String value ) {
+      // dropped
+    }
+
+    @Override
+    public void set( String name, Object value ) {
+      // dropped
+    }
+
+    @Override
+    public void listen( String eventType, boolean listen ) {
+      // dropped
+    }
+
+    @Override
+    public void call( String method, Map<String, Object> parameters ) {
+      // dropped
+    }
+
+    @Override
+    public void setHandler( OperationHandler handler ) {
+      // dropped
+    }
+
+    @Override
+    public void destroy() {
+      // dropped
+    }
+  }
+
+  private BenchmarkUtil() {
+    // prevent instantiation
+  }
+}
@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Runs all swipe benchmarks. Next to the average time in ns/op the GC profiler reports the bytes allocated per
+ * swipe as <code>gc.alloc.rate.norm</code>. An optional argument restricts the benchmarks to the ones matching the
+ * given regular expression.
+ */
+public class SwipeBenchmarks {
+
+  public static void main( String[] args ) throws RunnerException {
+    String include = args.length > 0 ? args[ 0 ] : "Swipe.*Benchmark";
+    Options options = new OptionsBuilder()
+      .include( include )
+      .addProfiler( GCProfiler.class )
+      .build();
+    new Runner( options ).run();
+  }
+
+  private SwipeBenchmarks() {
+    // prevent instantiation
+  }
+}
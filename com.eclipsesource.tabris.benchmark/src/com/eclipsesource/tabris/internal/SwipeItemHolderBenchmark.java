@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.eclipsesource.tabris.benchmark.BenchmarkItemProvider.BenchmarkItem;
+import com.eclipsesource.tabris.widgets.swipe.SwipeItem;
+
+
+/**
+ * Measures the bookkeeping of loaded items while a window of items slides over the indexes. Items are registered
+ * without content, so no widgets are involved.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class SwipeItemHolderBenchmark {
+
+  private static final int ITEM_COUNT = 100000;
+
+  @Param( { "3", "11", "101" } )
+  public int windowSize;
+
+  private SwipeItemHolder holder;
+  private SwipeItem item;
+  private int[] loadedItems;
+  private int next;
+
+  @Setup( Level.Trial )
+  public void setUp() {
+    holder = new SwipeItemHolder();
+    item = new BenchmarkItem();
+    loadedItems = new int[ windowSize ];
+    for( next = 0; next < windowSize; next++ ) {
+      load( next );
+    }
+  }
+
+  @Benchmark
+  public void slideWindow( Blackhole blackhole ) {
+    holder.removeItem( ( next - windowSize + ITEM_COUNT ) % ITEM_COUNT );
+    load( next );
+    next = ( next + 1 ) % ITEM_COUNT;
+    blackhole.consume( holder.getHighestLoadedIndex() );
+  }
+
+  @Benchmark
+  public void getLoadedItems( Blackhole blackhole ) {
+    blackhole.consume( holder.getLoadedItems( loadedItems ) );
+    blackhole.consume( loadedItems );
+  }
+
+  private void load( int index ) {
+    holder.addItem( index, item );
+    holder.setContentForItem( index, null );
+  }
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+
+/**
+ * Measures the index calculations of a swipe without any widgets.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class SwipeItemIndexerBenchmark {
+
+  private static final int ITEM_COUNT = 1000;
+  private static final int JUMP_COUNT = 1024;
+
+  @Param( { "1", "5", "50" } )
+  public int range;
+
+  private SwipeItemIndexer indexer;
+  private int[] buffer;
+  private int[] jumps;
+  private int jump;
+  private int current;
+  private int direction;
+
+  @Setup( Level.Trial )
+  public void setUp() {
+    indexer = new SwipeItemIndexer();
+    indexer.setRange( range );
+    indexer.setCurrent( 0 );
+    buffer = new int[ indexer.getMaxIndexCount() ];
+    jumps = new int[ JUMP_COUNT ];
+    Random random = new Random( 42 );
+    for( int i = 0; i < JUMP_COUNT; i++ ) {
+      jumps[ i ] = random.nextInt( ITEM_COUNT );
+    }
+    jump = 0;
+    current = 0;
+    direction = 1;
+  }
+
+  @Benchmark
+  public void swipeSequential( Blackhole blackhole ) {
+    if( current + direction < 0 || current + direction >= ITEM_COUNT ) {
+      direction = -direction;
+    }
+    current += direction;
+    moveTo( current, blackhole );
+  }
+
+  @Benchmark
+  public void jumpRandom( Blackhole blackhole ) {
+    moveTo( jumps[ jump ], blackhole );
+    jump = ( jump + 1 ) % JUMP_COUNT;
+  }
+
+  // the same calls a swipe does for every show
+  private void moveTo( int index, Blackhole blackhole ) {
+    indexer.setCurrent( index );
+    blackhole.consume( indexer.popOutOfRangeIndexes( buffer ) );
+    blackhole.consume( indexer.getPrevious( buffer ) );
+    blackhole.consume( indexer.getNext( buffer ) );
+    blackhole.consume( buffer );
+  }
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.widgets.swipe;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.eclipsesource.tabris.benchmark.BenchmarkItemProvider;
+import com.eclipsesource.tabris.benchmark.BenchmarkUtil;
+
+
+/**
+ * Measures a single swipe including the item holder, the indexer and the remote calls to a connection that drops
+ * all operations. The state is thread scoped, so the fixture's UI thread is the benchmark thread.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 1 )
+public class SwipeBenchmark {
+
+  private static final int ITEM_COUNT = 1000;
+  private static final int JUMP_COUNT = 1024;
+
+  @Param( { "1", "5", "50" } )
+  public int cacheSize;
+
+  private Swipe swipe;
+  private int[] jumps;
+  private int jump;
+  private int current;
+  private int direction;
+
+  @Setup( Level.Trial )
+  public void setUp() {
+    Fixture.setUp();
+    BenchmarkUtil.fakeConnection();
+    Shell shell = new Shell( new Display() );
+    swipe = new Swipe( shell, new BenchmarkItemProvider( ITEM_COUNT ) );
+    swipe.setCacheSize( cacheSize );
+    jumps = createJumps();
+    jump = 0;
+    current = 0;
+    direction = 1;
+  }
+
+  @TearDown( Level.Trial )
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Benchmark
+  public void swipeSequential() {
+    if( current + direction < 0 || current + direction >= ITEM_COUNT ) {
+      direction = -direction;
+    }
+    current += direction;
+    swipe.show( current );
+  }
+
+  @Benchmark
+  public void jumpRandom() {
+    swipe.show( jumps[ jump ] );
+    jump = ( jump + 1 ) % JUMP_COUNT;
+  }
+
+  private static int[] createJumps() {
+    Random random = new Random( 42 );
+    int[] result = new int[ JUMP_COUNT ];
+    for( int i = 0; i < JUMP_COUNT; i++ ) {
+      result[ i ] = random.nextInt( ITEM_COUNT );
+    }
+    return result;
+  }
+}
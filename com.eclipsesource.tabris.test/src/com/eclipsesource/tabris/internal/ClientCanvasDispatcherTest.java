@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static com.eclipsesource.tabris.internal.Constants.EVENT_DRAWING;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.HashMap;
+
+import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.lifecycle.PhaseEvent;
+import org.eclipse.rap.rwt.lifecycle.PhaseId;
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+@SuppressWarnings("restriction")
+public class ClientCanvasDispatcherTest {
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    new Display();
+    Fixture.fakeNewRequest();
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testListensToProcessAction() {
+    assertEquals( PhaseId.PROCESS_ACTION, new ClientCanvasDispatcher().getPhaseId() );
+  }
+
+  @Test
+  public void testInstallsOnlyOneDispatcher() {
+    ClientCanvasDispatcher.install();
+    ApplicationContextImpl applicationContext = ContextProvider.getApplicationContext();
+    Object dispatcher = applicationContext.getAttribute( ClientCanvasDispatcher.ATTRIBUTE_DISPATCHER );
+
+    ClientCanvasDispatcher.install();
+
+    assertNotNull( dispatcher );
+    assertSame( dispatcher, applicationContext.getAttribute( ClientCanvasDispatcher.ATTRIBUTE_DISPATCHER ) );
+  }
+
+  @Test
+  public void testRedrawsCanvasWithDrawingEvent() {
+    Control canvas = mock( Control.class );
+    ClientCanvasRegistry.getInstance().register( "w1", canvas );
+    Fixture.fakeNotifyOperation( "w1", EVENT_DRAWING, new HashMap<String, Object>() );
+
+    new ClientCanvasDispatcher().beforePhase( mock( PhaseEvent.class ) );
+
+    verify( canvas ).redraw();
+  }
+
+  @Test
+  public void testDoesNotRedrawCanvasWithoutDrawingEvent() {
+    Control canvas = mock( Control.class );
+    ClientCanvasRegistry.getInstance().register( "w1", canvas );
+    Fixture.fakeNotifyOperation( "w2", EVENT_DRAWING, new HashMap<String, Object>() );
+
+    new ClientCanvasDispatcher().beforePhase( mock( PhaseEvent.class ) );
+
+    verify( canvas, never() ).redraw();
+  }
+
+  @Test
+  public void testRedrawsAllCanvasesWithDrawingEvent() {
+    Control canvas1 = mock( Control.class );
+    Control canvas2 = mock( Control.class );
+    ClientCanvasRegistry.getInstance().register( "w1", canvas1 );
+    ClientCanvasRegistry.getInstance().register( "w2", canvas2 );
+    Fixture.fakeNotifyOperation( "w1", EVENT_DRAWING, new HashMap<String, Object>() );
+    Fixture.fakeNotifyOperation( "w2", EVENT_DRAWING, new HashMap<String, Object>() );
+
+    new ClientCanvasDispatcher().beforePhase( mock( PhaseEvent.class ) );
+
+    verify( canvas1 ).redraw();
+    verify( canvas2 ).redraw();
+  }
+
+  @Test
+  public void testDoesNotCreateRegistryForSessionWithoutCanvases() {
+    Fixture.fakeNotifyOperation( "w1", EVENT_DRAWING, new HashMap<String, Object>() );
+
+    new ClientCanvasDispatcher().beforePhase( mock( PhaseEvent.class ) );
+
+    assertNull( ClientCanvasRegistry.findInstance() );
+  }
+
+  @Test
+  public void testKeepsDispatcherWhileCanvasesAreInstalled() {
+    ClientCanvasDispatcher.install();
+    ClientCanvasDispatcher.install();
+
+    ClientCanvasDispatcher.uninstall();
+
+    ApplicationContextImpl applicationContext = ContextProvider.getApplicationContext();
+    assertNotNull( applicationContext.getAttribute( ClientCanvasDispatcher.ATTRIBUTE_DISPATCHER ) );
+  }
+
+  @Test
+  public void testRemovesDispatcherWithLastCanvas() {
+    ClientCanvasDispatcher.install();
+    ClientCanvasDispatcher.install();
+
+    ClientCanvasDispatcher.uninstall();
+    ClientCanvasDispatcher.uninstall();
+
+    ApplicationContextImpl applicationContext = ContextProvider.getApplicationContext();
+    assertNull( applicationContext.getAttribute( ClientCanvasDispatcher.ATTRIBUTE_DISPATCHER ) );
+  }
+
+  @Test
+  public void testFindInstanceReturnsCreatedRegistry() {
+    ClientCanvasRegistry registry = ClientCanvasRegistry.getInstance();
+
+    assertSame( registry, ClientCanvasRegistry.findInstance() );
+  }
+}
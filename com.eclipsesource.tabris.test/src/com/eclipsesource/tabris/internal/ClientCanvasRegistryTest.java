@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.Serializable;
+
+import org.eclipse.swt.widgets.Control;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class ClientCanvasRegistryTest {
+
+  private ClientCanvasRegistry registry;
+
+  @Before
+  public void setUp() {
+    registry = new ClientCanvasRegistry();
+  }
+
+  @Test
+  public void testIsSerializable() {
+    assertTrue( Serializable.class.isAssignableFrom( ClientCanvasRegistry.class ) );
+  }
+
+  @Test
+  public void testIsEmptyByDefault() {
+    assertEquals( 0, registry.size() );
+    assertTrue( registry.getIds().isEmpty() );
+  }
+
+  @Test
+  public void testRegistersCanvas() {
+    Control canvas = mock( Control.class );
+
+    registry.register( "w1", canvas );
+
+    assertSame( canvas, registry.getCanvas( "w1" ) );
+    assertEquals( 1, registry.size() );
+    assertEquals( "w1", registry.getIds().get( 0 ) );
+  }
+
+  @Test
+  public void testUnregistersCanvas() {
+    registry.register( "w1", mock( Control.class ) );
+
+    registry.unregister( "w1" );
+
+    assertNull( registry.getCanvas( "w1" ) );
+    assertEquals( 0, registry.size() );
+  }
+}
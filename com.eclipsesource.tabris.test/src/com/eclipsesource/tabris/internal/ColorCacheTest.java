@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.widgets.Display;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class ColorCacheTest {
+
+  private Display display;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    display = new Display();
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testIsSerializable() {
+    assertTrue( Serializable.class.isAssignableFrom( ColorCache.class ) );
+  }
+
+  @Test
+  public void testIsSessionSingleton() {
+    assertSame( ColorCache.getInstance(), ColorCache.getInstance() );
+  }
+
+  @Test
+  public void testCreatesColor() {
+    ColorCache cache = new ColorCache();
+
+    Color color = cache.getColor( display, 50, 100, 200 );
+
+    assertEquals( 50, color.getRed() );
+    assertEquals( 100, color.getGreen() );
+    assertEquals( 200, color.getBlue() );
+  }
+
+  @Test
+  public void testReusesColor() {
+    ColorCache cache = new ColorCache();
+
+    Color color = cache.getColor( display, 50, 100, 200 );
+
+    assertSame( color, cache.getColor( display, 50, 100, 200 ) );
+    assertEquals( 1, cache.size() );
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsedColor() {
+    ColorCache cache = new ColorCache( 2 );
+    Color color1 = cache.getColor( display, 1, 1, 1 );
+    Color color2 = cache.getColor( display, 2, 2, 2 );
+    cache.getColor( display, 1, 1, 1 );
+
+    cache.getColor( display, 3, 3, 3 );
+
+    assertEquals( 2, cache.size() );
+    assertFalse( color1.isDisposed() );
+    assertTrue( color2.isDisposed() );
+  }
+
+  @Test
+  public void testDisposesColors() {
+    ColorCache cache = new ColorCache();
+    Color color = cache.getColor( display, 50, 100, 200 );
+
+    cache.dispose();
+
+    assertTrue( color.isDisposed() );
+    assertEquals( 0, cache.size() );
+  }
+
+  @Test
+  public void testDisposesColorsWithDisplay() {
+    ColorCache cache = new ColorCache();
+    Color color = cache.getColor( display, 50, 100, 200 );
+
+    display.dispose();
+
+    assertTrue( color.isDisposed() );
+  }
+
+  @Test
+  public void testRecreatesDisposedColor() {
+    ColorCache cache = new ColorCache();
+    Color color = cache.getColor( display, 50, 100, 200 );
+    color.dispose();
+
+    assertNotSame( color, cache.getColor( display, 50, 100, 200 ) );
+  }
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+
+public class CompactDrawingsCodecTest {
+
+  @Test
+  public void testRoundTrip() {
+    DrawingOperations operations = DrawingOperations.fromJson( ClientCanvasTestUtil.createDrawings( 2 ) );
+
+    DrawingOperations decoded = CompactDrawingsCodec.decode( CompactDrawingsCodec.encode( operations ) );
+
+    assertEquals( operations, decoded );
+  }
+
+  @Test
+  public void testRoundTripWithNegativeDeltas() {
+    DrawingOperations operations = new DrawingOperations();
+    operations.addForeground( 255, 0, 128, 64 );
+    operations.addPolyline( new int[] { 500, 400, 10, -20, 3000, 2 } );
+
+    DrawingOperations decoded = CompactDrawingsCodec.decode( CompactDrawingsCodec.encode( operations ) );
+
+    assertEquals( operations, decoded );
+  }
+
+  @Test
+  public void testIsSmallerThanJson() {
+    DrawingOperations operations = new DrawingOperations();
+    operations.addLineWidth( 3 );
+    int[] path = new int[ 200 ];
+    for( int i = 0; i < path.length; i++ ) {
+      path[ i ] = 300 + i;
+    }
+    operations.addPolyline( path );
+
+    String encoded = CompactDrawingsCodec.encode( operations );
+
+    assertTrue( encoded.length() < operations.toJson().length() / 2 );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testDecodeFailsWithWrongVersion() {
+    CompactDrawingsCodec.decode( Base64.encodeBytes( new byte[] { 2, 1, 1 } ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testDecodeFailsWithTruncatedDrawings() {
+    CompactDrawingsCodec.decode( Base64.encodeBytes( new byte[] { 1, 3, 4, 2 } ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testDecodeFailsWithUnknownOperation() {
+    CompactDrawingsCodec.decode( Base64.encodeBytes( new byte[] { 1, 99 } ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testDecodeFailsWithErase() {
+    CompactDrawingsCodec.decode( Base64.encodeBytes( new byte[] { 1, 4, 1, 0 } ) );
+  }
+}
@@ -82,6 +82,11 @@ public class DataWhitelistTest {
     assertContains( "clientCanvas" );
   }
 
+  @Test
+  public void testHasKeyCompactDrawings() {
+    assertContains( "compactDrawings" );
+  }
+
   @Test
   public void testHasKeyAltSelection() {
     assertContains( "altSelection" );
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static com.eclipsesource.tabris.internal.DrawingOperations.OPCODE_FOREGROUND;
+import static com.eclipsesource.tabris.internal.DrawingOperations.OPCODE_LINE_WIDTH;
+import static com.eclipsesource.tabris.internal.DrawingOperations.OPCODE_POLYLINE;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.eclipse.swt.graphics.Rectangle;
+import org.junit.Test;
+
+
+public class DrawingOperationsTest {
+
+  @Test
+  public void testIsSerializable() {
+    assertTrue( Serializable.class.isAssignableFrom( DrawingOperations.class ) );
+  }
+
+  @Test
+  public void testIsEmptyByDefault() {
+    DrawingOperations operations = new DrawingOperations();
+
+    assertTrue( operations.isEmpty() );
+    assertEquals( 0, operations.getSize() );
+  }
+
+  @Test
+  public void testParsesJson() {
+    DrawingOperations operations = DrawingOperations.fromJson( ClientCanvasTestUtil.createDrawings( 3 ) );
+
+    int[] expected = new int[] {
+      OPCODE_POLYLINE, 4, 0, 1, 5, 5,
+      OPCODE_LINE_WIDTH, 1, 3,
+      OPCODE_FOREGROUND, 4, 50, 100, 200, 10,
+      OPCODE_POLYLINE, 4, 0, 1, 5, 5
+    };
+    assertArrayEquals( expected, Arrays.copyOf( operations.getBuffer(), operations.getSize() ) );
+  }
+
+  @Test
+  public void testGrowsBuffer() {
+    DrawingOperations operations = new DrawingOperations();
+
+    operations.addPolyline( new int[ 100 ] );
+
+    assertEquals( 102, operations.getSize() );
+  }
+
+  @Test
+  public void testTrimToSize() {
+    DrawingOperations operations = new DrawingOperations();
+    operations.addLineWidth( 3 );
+
+    operations.trimToSize();
+
+    assertEquals( 3, operations.getBuffer().length );
+  }
+
+  @Test
+  public void testToJsonRoundTrip() {
+    String drawings = ClientCanvasTestUtil.createDrawings( 3 );
+
+    DrawingOperations operations = DrawingOperations.fromJson( drawings );
+
+    assertEquals( drawings, operations.toJson() );
+  }
+
+  @Test
+  public void testEquals() {
+    DrawingOperations operations = DrawingOperations.fromJson( ClientCanvasTestUtil.createDrawings( 3 ) );
+    DrawingOperations operations2 = DrawingOperations.fromJson( ClientCanvasTestUtil.createDrawings( 3 ) );
+
+    assertEquals( operations, operations2 );
+    assertEquals( operations.hashCode(), operations2.hashCode() );
+  }
+
+  @Test
+  public void testNotEquals() {
+    DrawingOperations operations = DrawingOperations.fromJson( ClientCanvasTestUtil.createDrawings( 3 ) );
+    DrawingOperations operations2 = DrawingOperations.fromJson( ClientCanvasTestUtil.createDrawings( 4 ) );
+
+    assertFalse( operations.equals( operations2 ) );
+  }
+
+  @Test
+  public void testIgnoresUnknownOperations() {
+    DrawingOperations operations = DrawingOperations.fromJson( "[[\"foo\",[1,2]]]" );
+
+    assertTrue( operations.isEmpty() );
+  }
+
+  @Test
+  public void testErase() {
+    DrawingOperations operations = new DrawingOperations();
+
+    operations.addErase( new int[] { 1, 4 } );
+
+    assertTrue( operations.isErase() );
+    assertArrayEquals( new int[] { 1, 4 }, operations.getErasedIndices() );
+  }
+
+  @Test
+  public void testDrawingIsNoErase() {
+    DrawingOperations operations = DrawingOperations.fromJson( ClientCanvasTestUtil.createDrawings( 2 ) );
+
+    assertFalse( operations.isErase() );
+    assertEquals( 0, operations.getErasedIndices().length );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testFromJsonRejectsErase() {
+    DrawingOperations operations = new DrawingOperations();
+    operations.addErase( new int[] { 1, 4 } );
+
+    DrawingOperations.fromJson( operations.toJson() );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testFromJsonRejectsEraseAfterPath() {
+    DrawingOperations.fromJson( "[[\"path\",[1,2,3,4]],[\"erase\",[0]]]" );
+  }
+
+  @Test
+  public void testGetBoundsIncludesLineWidth() {
+    DrawingOperations operations = new DrawingOperations();
+    operations.addLineWidth( 4 );
+    operations.addPolyline( new int[] { 10, 20, 30, 25 } );
+
+    Rectangle bounds = operations.getBounds();
+
+    assertEquals( new Rectangle( 7, 17, 27, 12 ), bounds );
+  }
+
+  @Test
+  public void testGetBoundsOfSeveralPaths() {
+    DrawingOperations operations = new DrawingOperations();
+    operations.addPolyline( new int[] { 10, 20 } );
+    operations.addPolyline( new int[] { 50, 60 } );
+
+    Rectangle bounds = operations.getBounds();
+
+    assertEquals( new Rectangle( 9, 19, 43, 43 ), bounds );
+  }
+
+  @Test
+  public void testGetBoundsWithoutPath() {
+    DrawingOperations operations = new DrawingOperations();
+    operations.addLineWidth( 4 );
+
+    assertNull( operations.getBounds() );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testInvalidJson() {
+    DrawingOperations.fromJson( "[" );
+  }
+
+  @Test( expected = IllegalStateException.class )
+  public void testInvalidJsonContent() {
+    DrawingOperations.fromJson( "[{ 'test' : 'test' }]" );
+  }
+}
@@ -0,0 +1,431 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swt.graphics.Rectangle;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class DrawingsCacheTest {
+
+  private static final int BLOCK_SIZE = 256;
+
+  private DrawingsCache cache;
+
+  @Before
+  public void setUp() {
+    cache = new DrawingsCache();
+  }
+
+  @Test
+  public void testCachesDrawing() {
+    cache.cache( ClientCanvasTestUtil.createDrawings( 2 ) );
+
+    assertEquals( 1, cache.getCachedOperations().size() );
+    assertTrue( cache.hasUndo() );
+  }
+
+  @Test
+  public void testIgnoresDuplicateDrawing() {
+    cache.cache( ClientCanvasTestUtil.createDrawings( 2 ) );
+    cache.cache( ClientCanvasTestUtil.createDrawings( 2 ) );
+
+    assertEquals( 1, cache.getCachedOperations().size() );
+  }
+
+  @Test
+  public void testCachesDifferentDrawingsWithSameDigest() {
+    cache.cache( createDrawingWithDigest( 10, 42L ) );
+    cache.cache( createDrawingWithDigest( 20, 42L ) );
+
+    assertEquals( 2, cache.getCachedOperations().size() );
+  }
+
+  @Test
+  public void testIgnoresDuplicateDrawingAfterDigestCollision() {
+    cache.cache( createDrawingWithDigest( 10, 42L ) );
+    cache.cache( createDrawingWithDigest( 20, 42L ) );
+
+    cache.cache( createDrawingWithDigest( 20, 42L ) );
+
+    assertEquals( 2, cache.getCachedOperations().size() );
+  }
+
+  @Test
+  public void testCachesDrawingAgainAfterUndo() {
+    cache.cache( ClientCanvasTestUtil.createDrawings( 2 ) );
+    cache.undo();
+
+    cache.cache( ClientCanvasTestUtil.createDrawings( 2 ) );
+
+    assertEquals( 1, cache.getCachedOperations().size() );
+  }
+
+  @Test
+  public void testCachesDifferentDrawings() {
+    cache.cache( ClientCanvasTestUtil.createDrawings( 2 ) );
+    cache.cache( ClientCanvasTestUtil.createDrawings( 3 ) );
+
+    assertEquals( 2, cache.getCachedOperations().size() );
+  }
+
+  @Test
+  public void testReturnsDrawingsAsJson() {
+    String drawings = ClientCanvasTestUtil.createDrawings( 2 );
+
+    cache.cache( drawings );
+
+    assertEquals( drawings, cache.getCachedDrawings().get( 0 ) );
+  }
+
+  @Test
+  public void testUndoRemovesDrawingFromIndex() {
+    cache.cache( ClientCanvasTestUtil.createDrawings( 2 ) );
+
+    cache.undo();
+    cache.cache( ClientCanvasTestUtil.createDrawings( 2 ) );
+
+    assertEquals( 1, cache.getCachedOperations().size() );
+    assertEquals( 1, cache.getRemovedOperations().size() );
+  }
+
+  @Test
+  public void testRedoAddsDrawingToIndex() {
+    cache.cache( ClientCanvasTestUtil.createDrawings( 2 ) );
+    cache.undo();
+
+    cache.redo();
+    cache.cache( ClientCanvasTestUtil.createDrawings( 2 ) );
+
+    assertEquals( 1, cache.getCachedOperations().size() );
+    assertFalse( cache.hasRedo() );
+  }
+
+  @Test
+  public void testClearResetsIndex() {
+    cache.cache( ClientCanvasTestUtil.createDrawings( 2 ) );
+
+    cache.clear();
+    cache.cache( ClientCanvasTestUtil.createDrawings( 2 ) );
+
+    assertEquals( 1, cache.getCachedOperations().size() );
+  }
+
+  @Test
+  public void testClearCachedDrawingsResetsIndex() {
+    cache.cache( ClientCanvasTestUtil.createDrawings( 2 ) );
+
+    cache.clearCachedDrawings();
+    cache.cache( ClientCanvasTestUtil.createDrawings( 2 ) );
+
+    assertEquals( 1, cache.getCachedOperations().size() );
+  }
+
+  @Test
+  public void testIgnoresMissingDrawing() {
+    cache.cache( ( String )null );
+
+    assertFalse( cache.hasUndo() );
+  }
+
+  @Test
+  public void testCacheAllSkipsMissingDrawings() {
+    List<String> drawings = new ArrayList<String>();
+    drawings.add( null );
+    drawings.add( ClientCanvasTestUtil.createDrawings( 2 ) );
+
+    cache.cacheAll( drawings );
+
+    assertEquals( 1, cache.getCachedOperations().size() );
+  }
+
+  @Test
+  public void testAddAllRemovedSkipsMissingDrawings() {
+    List<String> drawings = new ArrayList<String>();
+    drawings.add( null );
+
+    cache.addAllRemoved( drawings );
+
+    assertFalse( cache.hasRedo() );
+  }
+
+  @Test
+  public void testReturnsUpdatedJsonAfterUndo() {
+    cache.cache( ClientCanvasTestUtil.createDrawings( 2 ) );
+    cache.cache( ClientCanvasTestUtil.createDrawings( 3 ) );
+    cache.getCachedDrawings();
+
+    cache.undo();
+
+    assertEquals( 1, cache.getCachedDrawings().size() );
+    assertEquals( ClientCanvasTestUtil.createDrawings( 3 ), cache.getRemovedDrawings().get( 0 ) );
+  }
+
+  @Test
+  public void testCacheAllAddsDrawingsToIndex() {
+    List<String> drawings = new ArrayList<String>();
+    drawings.add( ClientCanvasTestUtil.createDrawings( 2 ) );
+
+    cache.cacheAll( drawings );
+    cache.cache( ClientCanvasTestUtil.createDrawings( 2 ) );
+
+    assertEquals( 1, cache.getCachedOperations().size() );
+  }
+
+  @Test
+  public void testIndexCountsDuplicatesFromCacheAll() {
+    List<String> drawings = new ArrayList<String>();
+    drawings.add( ClientCanvasTestUtil.createDrawings( 2 ) );
+    drawings.add( ClientCanvasTestUtil.createDrawings( 2 ) );
+    cache.cacheAll( drawings );
+
+    cache.undo();
+    cache.cache( ClientCanvasTestUtil.createDrawings( 2 ) );
+
+    assertEquals( 1, cache.getCachedOperations().size() );
+  }
+
+  @Test
+  public void testAddAllRemovedCanBeRedone() {
+    List<String> drawings = new ArrayList<String>();
+    drawings.add( ClientCanvasTestUtil.createDrawings( 2 ) );
+    cache.addAllRemoved( drawings );
+
+    cache.redo();
+    cache.cache( ClientCanvasTestUtil.createDrawings( 2 ) );
+
+    assertEquals( 1, cache.getCachedOperations().size() );
+  }
+
+  @Test
+  public void testGetCachedOperationsFromIndex() {
+    cache.cache( ClientCanvasTestUtil.createDrawings( 2 ) );
+    cache.cache( ClientCanvasTestUtil.createDrawings( 3 ) );
+
+    List<DrawingOperations> operations = cache.getCachedOperations( 1 );
+
+    assertEquals( 1, operations.size() );
+    assertEquals( DrawingOperations.fromJson( ClientCanvasTestUtil.createDrawings( 3 ) ), operations.get( 0 ) );
+  }
+
+  @Test
+  public void testHasNoHistoryBudgetByDefault() {
+    assertEquals( 0, cache.getHistoryBudget() );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testSetNegativeHistoryBudgetFails() {
+    cache.setHistoryBudget( -1 );
+  }
+
+  @Test
+  public void testHistoryBudgetLimitsMemorySize() {
+    cache = new DrawingsCache( BLOCK_SIZE );
+    cache.setHistoryBudget( 2000 );
+
+    for( int i = 0; i < 50; i++ ) {
+      cache.cache( ClientCanvasTestUtil.createDrawings( i ) );
+    }
+
+    assertTrue( cache.getHistoryMemorySize() <= 2000 );
+    assertEquals( 50, cache.getCachedOperations().size() );
+  }
+
+  @Test
+  public void testUndoReachesCompressedHistory() {
+    cache = new DrawingsCache( BLOCK_SIZE );
+    cache.setHistoryBudget( 100 );
+    for( int i = 0; i < 10; i++ ) {
+      cache.cache( ClientCanvasTestUtil.createDrawings( i ) );
+    }
+
+    for( int i = 0; i < 10; i++ ) {
+      cache.undo();
+    }
+
+    assertFalse( cache.hasUndo() );
+    assertEquals( ClientCanvasTestUtil.createDrawings( 0 ), cache.getRemovedDrawings().get( 9 ) );
+  }
+
+  @Test
+  public void testIndexCoversCompressedHistory() {
+    cache = new DrawingsCache( BLOCK_SIZE );
+    cache.setHistoryBudget( 100 );
+    for( int i = 0; i < 10; i++ ) {
+      cache.cache( ClientCanvasTestUtil.createDrawings( i ) );
+    }
+
+    cache.cache( ClientCanvasTestUtil.createDrawings( 0 ) );
+
+    assertEquals( 10, cache.getCachedOperations().size() );
+  }
+
+  @Test
+  public void testEraseHidesIntersectingDrawings() {
+    cache.cache( createDrawing( 10, 10 ) );
+    cache.cache( createDrawing( 200, 200 ) );
+
+    boolean erased = cache.erase( new Rectangle( 0, 0, 50, 50 ) );
+
+    assertTrue( erased );
+    List<DrawingOperations> visible = cache.getVisibleOperations( null );
+    assertEquals( 1, visible.size() );
+    assertEquals( createDrawing( 200, 200 ), visible.get( 0 ) );
+  }
+
+  @Test
+  public void testEraseWithoutIntersectingDrawings() {
+    cache.cache( createDrawing( 10, 10 ) );
+
+    boolean erased = cache.erase( new Rectangle( 100, 100, 50, 50 ) );
+
+    assertFalse( erased );
+    assertEquals( 1, cache.getCachedOperations().size() );
+  }
+
+  @Test
+  public void testEraseCanBeUndone() {
+    cache.cache( createDrawing( 10, 10 ) );
+    cache.erase( new Rectangle( 0, 0, 50, 50 ) );
+
+    cache.undo();
+
+    assertEquals( 1, cache.getVisibleOperations( null ).size() );
+  }
+
+  @Test
+  public void testEraseCanBeRedone() {
+    cache.cache( createDrawing( 10, 10 ) );
+    cache.erase( new Rectangle( 0, 0, 50, 50 ) );
+    cache.undo();
+
+    cache.redo();
+
+    assertEquals( 0, cache.getVisibleOperations( null ).size() );
+  }
+
+  @Test
+  public void testEraseIgnoresErasedDrawings() {
+    cache.cache( createDrawing( 10, 10 ) );
+    cache.erase( new Rectangle( 0, 0, 50, 50 ) );
+
+    assertFalse( cache.erase( new Rectangle( 0, 0, 50, 50 ) ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testRejectsClientErase() {
+    cache.cache( createDrawing( 10, 10 ) );
+    DrawingOperations erasure = new DrawingOperations();
+    erasure.addErase( new int[] { 0 } );
+
+    cache.cache( erasure );
+  }
+
+  @Test
+  public void testGetCachedDrawingsLeavesOutErasedDrawings() {
+    cache.cache( createDrawing( 10, 10 ) );
+    cache.cache( createDrawing( 200, 200 ) );
+    cache.erase( new Rectangle( 0, 0, 50, 50 ) );
+
+    List<String> drawings = cache.getCachedDrawings();
+
+    assertEquals( 1, drawings.size() );
+    assertEquals( createDrawing( 200, 200 ).toJson(), drawings.get( 0 ) );
+  }
+
+  @Test
+  public void testGetRemovedDrawingsLeavesOutErasures() {
+    cache.cache( createDrawing( 10, 10 ) );
+    cache.erase( new Rectangle( 0, 0, 50, 50 ) );
+    cache.undo();
+
+    assertTrue( cache.getRemovedDrawings().isEmpty() );
+  }
+
+  @Test
+  public void testDrawingsWithErasureRoundTrip() {
+    cache.cache( createDrawing( 10, 10 ) );
+    cache.cache( createDrawing( 200, 200 ) );
+    cache.erase( new Rectangle( 0, 0, 50, 50 ) );
+    cache.cache( createDrawing( 20, 20 ) );
+    cache.undo();
+    DrawingsCache restored = new DrawingsCache( BLOCK_SIZE );
+
+    restored.cacheAll( cache.getCachedDrawings() );
+    restored.addAllRemoved( cache.getRemovedDrawings() );
+
+    assertEquals( cache.getVisibleOperations( null ), restored.getVisibleOperations( null ) );
+    assertEquals( cache.getRemovedOperations(), restored.getRemovedOperations() );
+  }
+
+  @Test
+  public void testGetVisibleOperationsInArea() {
+    cache.cache( createDrawing( 10, 10 ) );
+    cache.cache( createDrawing( 200, 200 ) );
+    cache.cache( createDrawing( 20, 20 ) );
+
+    List<DrawingOperations> visible = cache.getVisibleOperations( new Rectangle( 0, 0, 100, 100 ) );
+
+    assertEquals( 2, visible.size() );
+    assertEquals( createDrawing( 10, 10 ), visible.get( 0 ) );
+    assertEquals( createDrawing( 20, 20 ), visible.get( 1 ) );
+  }
+
+  @Test
+  public void testGetVisibleOperationsReadsCompressedHistory() {
+    cache = new DrawingsCache( BLOCK_SIZE );
+    cache.setHistoryBudget( 100 );
+    for( int i = 0; i < 10; i++ ) {
+      cache.cache( createDrawing( i * 10, i * 10 ) );
+    }
+
+    List<DrawingOperations> visible = cache.getVisibleOperations( new Rectangle( 0, 0, 5, 5 ) );
+
+    assertEquals( 1, visible.size() );
+    assertEquals( createDrawing( 0, 0 ), visible.get( 0 ) );
+  }
+
+  @Test
+  public void testClearResetsErasedDrawings() {
+    cache.cache( createDrawing( 10, 10 ) );
+    cache.erase( new Rectangle( 0, 0, 50, 50 ) );
+
+    cache.clear();
+    cache.cache( createDrawing( 10, 10 ) );
+
+    assertEquals( 1, cache.getVisibleOperations( null ).size() );
+  }
+
+  private static DrawingOperations createDrawingWithDigest( int x, final long digest ) {
+    DrawingOperations result = new DrawingOperations() {
+      @Override
+      public long getDigest() {
+        return digest;
+      }
+    };
+    result.addPolyline( new int[] { x, x, x + 5, x + 5 } );
+    return result;
+  }
+
+  private static DrawingOperations createDrawing( int x, int y ) {
+    DrawingOperations result = new DrawingOperations();
+    result.addPolyline( new int[] { x, y, x + 5, y + 5 } );
+    return result;
+  }
+}
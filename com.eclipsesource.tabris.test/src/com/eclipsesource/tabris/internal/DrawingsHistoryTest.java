@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class DrawingsHistoryTest {
+
+  private DrawingsHistory history;
+
+  @Before
+  public void setUp() {
+    history = new DrawingsHistory( 1 );
+  }
+
+  @Test
+  public void testIsSerializable() {
+    assertTrue( Serializable.class.isAssignableFrom( DrawingsHistory.class ) );
+  }
+
+  @Test
+  public void testIsEmptyByDefault() {
+    assertTrue( history.isEmpty() );
+    assertEquals( 0, history.getMemorySize() );
+  }
+
+  @Test
+  public void testPushAndPop() {
+    DrawingOperations drawing = createDrawing( 1 );
+
+    history.push( drawing );
+
+    assertEquals( 1, history.size() );
+    assertEquals( drawing, history.pop() );
+    assertTrue( history.isEmpty() );
+  }
+
+  @Test
+  public void testTracksMemorySize() {
+    DrawingOperations drawing = createDrawing( 1 );
+
+    history.push( drawing );
+
+    assertEquals( drawing.getMemorySize(), history.getMemorySize() );
+  }
+
+  @Test
+  public void testCompressKeepsTopDrawing() {
+    history.push( createDrawing( 1 ) );
+    history.push( createDrawing( 2 ) );
+    history.push( createDrawing( 3 ) );
+
+    history.compress( Long.MAX_VALUE );
+
+    assertEquals( 3, history.size() );
+    assertEquals( 2, history.getCompressedCount() );
+  }
+
+  @Test
+  public void testMemorySizeIncludesCompressedDrawings() {
+    history.push( createDrawing( 1 ) );
+    history.push( createDrawing( 2 ) );
+
+    history.compress( Long.MAX_VALUE );
+
+    assertTrue( history.getMemorySize() > createDrawing( 2 ).getMemorySize() );
+  }
+
+  @Test
+  public void testCompressesBlocksOfBlockSize() {
+    history = new DrawingsHistory( createDrawing( 0 ).getMemorySize() * 3 );
+    for( int i = 0; i < 10; i++ ) {
+      history.push( createDrawing( i ) );
+    }
+
+    history.compress( Long.MAX_VALUE );
+
+    assertEquals( 9, history.getCompressedCount() );
+  }
+
+  @Test
+  public void testDoesNotCompressLessThanBlockSize() {
+    history = new DrawingsHistory( createDrawing( 0 ).getMemorySize() * 3 );
+    for( int i = 0; i < 10; i++ ) {
+      history.push( createDrawing( i ) );
+    }
+    history.compress( Long.MAX_VALUE );
+    history.push( createDrawing( 10 ) );
+    history.push( createDrawing( 11 ) );
+
+    long freed = history.compress( Long.MAX_VALUE );
+
+    assertEquals( 0, freed );
+    assertEquals( 9, history.getCompressedCount() );
+  }
+
+  @Test
+  public void testCompressFreesMemory() {
+    for( int i = 0; i < 10; i++ ) {
+      history.push( createDrawing( i ) );
+    }
+    long memorySize = history.getMemorySize();
+
+    long freed = history.compress( memorySize );
+
+    assertTrue( freed > 0 );
+    assertEquals( 9, history.getCompressedCount() );
+    assertTrue( history.getMemorySize() < memorySize );
+  }
+
+  @Test
+  public void testPopInflatesCompressedDrawings() {
+    history.push( createDrawing( 1 ) );
+    history.push( createDrawing( 2 ) );
+    history.push( createDrawing( 3 ) );
+    history.compress( Long.MAX_VALUE );
+
+    assertEquals( createDrawing( 3 ), history.pop() );
+    assertEquals( createDrawing( 2 ), history.pop() );
+    assertEquals( createDrawing( 1 ), history.pop() );
+    assertTrue( history.isEmpty() );
+    assertEquals( 0, history.getMemorySize() );
+  }
+
+  @Test
+  public void testGetRangeReadsCompressedDrawings() {
+    history.push( createDrawing( 1 ) );
+    history.push( createDrawing( 2 ) );
+    history.compress( Long.MAX_VALUE );
+    history.push( createDrawing( 3 ) );
+    history.compress( Long.MAX_VALUE );
+    history.push( createDrawing( 4 ) );
+
+    List<DrawingOperations> range = history.getRange( 1, 4 );
+
+    assertEquals( 3, range.size() );
+    assertEquals( createDrawing( 2 ), range.get( 0 ) );
+    assertEquals( createDrawing( 3 ), range.get( 1 ) );
+    assertEquals( createDrawing( 4 ), range.get( 2 ) );
+    assertEquals( 2, history.getCompressedCount() );
+  }
+
+  @Test
+  public void testGetReadsIndicesOfCompressedDrawings() {
+    for( int i = 0; i < 6; i++ ) {
+      history.push( createDrawing( i ) );
+    }
+    history.compress( Long.MAX_VALUE );
+    BitSet indices = new BitSet();
+    indices.set( 1 );
+    indices.set( 4 );
+    indices.set( 5 );
+
+    List<DrawingOperations> drawings = history.get( indices, 2, 6 );
+
+    assertEquals( 2, drawings.size() );
+    assertEquals( createDrawing( 4 ), drawings.get( 0 ) );
+    assertEquals( createDrawing( 5 ), drawings.get( 1 ) );
+    assertEquals( 5, history.getCompressedCount() );
+  }
+
+  @Test( expected = IndexOutOfBoundsException.class )
+  public void testGetFailsOutOfBounds() {
+    history.push( createDrawing( 1 ) );
+
+    history.get( new BitSet(), 0, 2 );
+  }
+
+  @Test
+  public void testClear() {
+    history.push( createDrawing( 1 ) );
+    history.push( createDrawing( 2 ) );
+    history.compress( Long.MAX_VALUE );
+
+    history.clear();
+
+    assertTrue( history.isEmpty() );
+    assertEquals( 0, history.getCompressedCount() );
+    assertEquals( 0, history.getMemorySize() );
+  }
+
+  @Test( expected = IndexOutOfBoundsException.class )
+  public void testGetRangeFailsOutOfBounds() {
+    history.push( createDrawing( 1 ) );
+
+    history.getRange( 0, 2 );
+  }
+
+  private static DrawingOperations createDrawing( int seed ) {
+    DrawingOperations result = new DrawingOperations();
+    result.addLineWidth( seed );
+    result.addPolyline( new int[] { seed, seed, seed + 10, seed + 10, seed + 20, seed } );
+    result.trimToSize();
+    return result;
+  }
+}
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import org.eclipse.swt.graphics.RGB;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class DrawingsPngWriterTest {
+
+  private List<DrawingOperations> drawings;
+
+  @Before
+  public void setUp() {
+    drawings = new ArrayList<DrawingOperations>();
+    DrawingOperations drawing = new DrawingOperations();
+    drawing.addLineWidth( 3 );
+    drawing.addForeground( 255, 0, 0, 255 );
+    drawing.addPolyline( new int[] { 2, 2, 30, 18, 5, 15 } );
+    drawings.add( drawing );
+    DrawingOperations translucentDrawing = new DrawingOperations();
+    translucentDrawing.addForeground( 0, 0, 255, 128 );
+    translucentDrawing.addPolyline( new int[] { 0, 10, 31, 10 } );
+    drawings.add( translucentDrawing );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testFailsWithoutSize() {
+    new DrawingsPngWriter( 0, 10, new RGB( 0, 0, 0 ) );
+  }
+
+  @Test
+  public void testWritesPngOfImageSize() throws IOException {
+    DrawingsPngWriter writer = new DrawingsPngWriter( 32, 20, new RGB( 0, 0, 0 ) );
+
+    BufferedImage image = writePng( writer );
+
+    assertEquals( 32, image.getWidth() );
+    assertEquals( 20, image.getHeight() );
+  }
+
+  @Test
+  public void testWritesRasterizedDrawings() throws IOException {
+    DrawingsPngWriter writer = new DrawingsPngWriter( 32, 20, new RGB( 0, 0, 0 ) );
+
+    BufferedImage image = writePng( writer );
+
+    assertImageEqualsRaster( image );
+  }
+
+  @Test
+  public void testWritesRasterizedDrawingsInTiles() throws IOException {
+    DrawingsPngWriter writer = new DrawingsPngWriter( 32, 20, new RGB( 0, 0, 0 ), 3 );
+
+    BufferedImage image = writePng( writer );
+
+    assertImageEqualsRaster( image );
+  }
+
+  @Test
+  public void testRasterizesDrawingOnlyInIntersectingTiles() throws IOException {
+    DrawingOperations drawing = new DrawingOperations();
+    drawing.addPolyline( new int[] { 0, 0, 5, 0 } );
+    DrawingOperations spiedDrawing = spy( drawing );
+    drawings.clear();
+    drawings.add( spiedDrawing );
+    DrawingsPngWriter writer = new DrawingsPngWriter( 32, 20, new RGB( 0, 0, 0 ), 3 );
+
+    writePng( writer );
+
+    verify( spiedDrawing, times( 1 ) ).getBuffer();
+  }
+
+  @Test
+  public void testWritesLargeImage() throws IOException {
+    DrawingsPngWriter writer = new DrawingsPngWriter( 700, 400, new RGB( 0, 0, 0 ) );
+
+    BufferedImage image = writePng( writer );
+
+    assertEquals( 0xFFFF0000, image.getRGB( 30, 18 ) );
+    assertEquals( 0, image.getRGB( 699, 399 ) );
+  }
+
+  private BufferedImage writePng( DrawingsPngWriter writer ) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.write( drawings, out );
+    return ImageIO.read( new ByteArrayInputStream( out.toByteArray() ) );
+  }
+
+  private void assertImageEqualsRaster( BufferedImage image ) {
+    DrawingsRasterizer rasterizer = new DrawingsRasterizer( 0, 0, 32, 20, new RGB( 0, 0, 0 ) );
+    for( DrawingOperations drawing : drawings ) {
+      rasterizer.draw( drawing );
+    }
+    for( int y = 0; y < 20; y++ ) {
+      for( int x = 0; x < 32; x++ ) {
+        int expected = rasterizer.getPixel( x, y );
+        if( expected >>> 24 == 0 ) {
+          expected = 0;
+        }
+        assertEquals( "pixel " + x + "," + y, expected, image.getRGB( x, y ) );
+      }
+    }
+  }
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.swt.graphics.RGB;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class DrawingsRasterizerTest {
+
+  private DrawingsRasterizer rasterizer;
+
+  @Before
+  public void setUp() {
+    rasterizer = new DrawingsRasterizer( 0, 0, 20, 20, new RGB( 0, 0, 0 ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testFailsWithEmptySize() {
+    new DrawingsRasterizer( 0, 0, 0, 10, new RGB( 0, 0, 0 ) );
+  }
+
+  @Test
+  public void testIsTransparentByDefault() {
+    assertEquals( 0, rasterizer.getPixel( 5, 5 ) );
+  }
+
+  @Test
+  public void testDrawsPolylineWithDefaultForeground() {
+    DrawingOperations operations = new DrawingOperations();
+    operations.addPolyline( new int[] { 0, 5, 19, 5 } );
+
+    rasterizer.draw( operations );
+
+    assertEquals( 0xFF000000, rasterizer.getPixel( 10, 5 ) );
+    assertEquals( 0, rasterizer.getPixel( 10, 8 ) );
+  }
+
+  @Test
+  public void testDrawsPolylineWithForeground() {
+    DrawingOperations operations = new DrawingOperations();
+    operations.addForeground( 255, 0, 0, 255 );
+    operations.addPolyline( new int[] { 5, 0, 5, 19 } );
+
+    rasterizer.draw( operations );
+
+    assertEquals( 0xFFFF0000, rasterizer.getPixel( 5, 10 ) );
+  }
+
+  @Test
+  public void testDrawsPolylineWithLineWidth() {
+    DrawingOperations operations = new DrawingOperations();
+    operations.addLineWidth( 6 );
+    operations.addPolyline( new int[] { 0, 10, 19, 10 } );
+
+    rasterizer.draw( operations );
+
+    assertEquals( 0xFF000000, rasterizer.getPixel( 10, 12 ) );
+    assertEquals( 0, rasterizer.getPixel( 10, 15 ) );
+  }
+
+  @Test
+  public void testBlendsOverlappingSegmentsOnlyOnce() {
+    DrawingOperations operations = new DrawingOperations();
+    operations.addForeground( 0, 0, 255, 128 );
+    operations.addPolyline( new int[] { 0, 10, 19, 10, 0, 10 } );
+
+    rasterizer.draw( operations );
+
+    assertEquals( 128, rasterizer.getPixel( 10, 10 ) >>> 24 );
+  }
+
+  @Test
+  public void testBlendsDrawings() {
+    DrawingOperations operations = new DrawingOperations();
+    operations.addForeground( 0, 0, 255, 128 );
+    operations.addPolyline( new int[] { 0, 10, 19, 10 } );
+
+    rasterizer.draw( operations );
+    rasterizer.draw( operations );
+
+    assertEquals( 191, rasterizer.getPixel( 10, 10 ) >>> 24 );
+    assertEquals( 255, rasterizer.getPixel( 10, 10 ) & 0xFF );
+  }
+
+  @Test
+  public void testResetsStateForEachDrawing() {
+    DrawingOperations operations = new DrawingOperations();
+    operations.addForeground( 255, 0, 0, 255 );
+    DrawingOperations operations2 = new DrawingOperations();
+    operations2.addPolyline( new int[] { 0, 10, 19, 10 } );
+
+    rasterizer.draw( operations );
+    rasterizer.draw( operations2 );
+
+    assertEquals( 0xFF000000, rasterizer.getPixel( 10, 10 ) );
+  }
+
+  @Test
+  public void testClipsToRaster() {
+    DrawingsRasterizer tile = new DrawingsRasterizer( 10, 10, 10, 10, new RGB( 0, 0, 0 ) );
+    DrawingOperations operations = new DrawingOperations();
+    operations.addPolyline( new int[] { -50, 15, 50, 15 } );
+
+    tile.draw( operations );
+
+    assertEquals( 0xFF000000, tile.getPixel( 10, 15 ) );
+    assertEquals( 0xFF000000, tile.getPixel( 19, 15 ) );
+  }
+
+  @Test
+  public void testWriteRow() {
+    DrawingOperations operations = new DrawingOperations();
+    operations.addForeground( 255, 0, 0, 255 );
+    operations.addPolyline( new int[] { 0, 10, 19, 10 } );
+    rasterizer.draw( operations );
+    int[] rgbs = new int[ 20 ];
+    byte[] alphas = new byte[ 20 ];
+
+    rasterizer.writeRow( 10, rgbs, alphas );
+
+    assertEquals( 0xFF0000, rgbs[ 5 ] );
+    assertEquals( ( byte )0xFF, alphas[ 5 ] );
+  }
+}
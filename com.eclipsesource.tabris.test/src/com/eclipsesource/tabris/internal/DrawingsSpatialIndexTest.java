@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.BitSet;
+
+import org.eclipse.swt.graphics.Rectangle;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class DrawingsSpatialIndexTest {
+
+  private DrawingsSpatialIndex index;
+
+  @Before
+  public void setUp() {
+    index = new DrawingsSpatialIndex();
+  }
+
+  @Test
+  public void testIsSerializable() {
+    assertTrue( Serializable.class.isAssignableFrom( DrawingsSpatialIndex.class ) );
+  }
+
+  @Test
+  public void testFindsIntersectingDrawings() {
+    index.push( new Rectangle( 0, 0, 10, 10 ) );
+    index.push( new Rectangle( 100, 100, 10, 10 ) );
+    index.push( new Rectangle( 5, 5, 200, 10 ) );
+
+    BitSet result = index.query( new Rectangle( 0, 0, 20, 20 ) );
+
+    assertEquals( createBitSet( 0, 2 ), result );
+  }
+
+  @Test
+  public void testIgnoresDrawingsInSameCellOutsideArea() {
+    index.push( new Rectangle( 0, 0, 10, 10 ) );
+    index.push( new Rectangle( 40, 40, 10, 10 ) );
+
+    BitSet result = index.query( new Rectangle( 30, 30, 5, 5 ) );
+
+    assertTrue( result.isEmpty() );
+  }
+
+  @Test
+  public void testFindsDrawingsWithNegativeCoordinates() {
+    index.push( new Rectangle( -100, -100, 10, 10 ) );
+
+    BitSet result = index.query( new Rectangle( -95, -95, 1, 1 ) );
+
+    assertEquals( createBitSet( 0 ), result );
+  }
+
+  @Test
+  public void testIgnoresDrawingsWithoutBounds() {
+    index.push( null );
+    index.push( new Rectangle( 0, 0, 10, 10 ) );
+
+    BitSet result = index.query( new Rectangle( 0, 0, 100, 100 ) );
+
+    assertEquals( createBitSet( 1 ), result );
+    assertEquals( 2, index.size() );
+  }
+
+  @Test
+  public void testFindsOversizedDrawings() {
+    index.push( new Rectangle( 0, 0, 100000, 100000 ) );
+
+    BitSet result = index.query( new Rectangle( 50000, 50000, 1, 1 ) );
+
+    assertEquals( createBitSet( 0 ), result );
+  }
+
+  @Test
+  public void testPopRemovesTopDrawing() {
+    index.push( new Rectangle( 0, 0, 10, 10 ) );
+    index.push( new Rectangle( 0, 0, 100, 100 ) );
+
+    index.pop();
+
+    assertEquals( createBitSet( 0 ), index.query( new Rectangle( 0, 0, 100, 100 ) ) );
+    assertEquals( 1, index.size() );
+  }
+
+  @Test
+  public void testPopRemovesOversizedDrawing() {
+    index.push( new Rectangle( 0, 0, 100000, 100000 ) );
+
+    index.pop();
+
+    assertTrue( index.query( new Rectangle( 0, 0, 10, 10 ) ).isEmpty() );
+  }
+
+  @Test
+  public void testClear() {
+    index.push( new Rectangle( 0, 0, 10, 10 ) );
+
+    index.clear();
+
+    assertEquals( 0, index.size() );
+    assertTrue( index.query( new Rectangle( 0, 0, 10, 10 ) ).isEmpty() );
+  }
+
+  @Test
+  public void testQueryWithLargeArea() {
+    index.push( new Rectangle( 0, 0, 10, 10 ) );
+    index.push( new Rectangle( 3000, 3000, 10, 10 ) );
+
+    BitSet result = index.query( new Rectangle( -100000, -100000, 200000, 200000 ) );
+
+    assertEquals( createBitSet( 0, 1 ), result );
+  }
+
+  private static BitSet createBitSet( int... indices ) {
+    BitSet result = new BitSet();
+    for( int index : indices ) {
+      result.set( index );
+    }
+    return result;
+  }
+}
@@ -12,10 +12,13 @@ package com.eclipsesource.tabris.internal;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.io.Serializable;
 
@@ -70,6 +73,16 @@ public class GCOperationDispatcherTest {
     order.verify( gc ).drawPolyline( aryEq( new int[] { 0, 1, 5, 5} ) );
   }
 
+  @Test
+  public void testReusesForegroundColors() {
+    dispatcher.dispatch();
+    new GCOperationDispatcher( gc, ClientCanvasTestUtil.createDrawings( 3 ) ).dispatch();
+
+    ArgumentCaptor<Color> captor = ArgumentCaptor.forClass( Color.class );
+    verify( gc, times( 4 ) ).setForeground( captor.capture() );
+    assertSame( captor.getAllValues().get( 0 ), captor.getAllValues().get( 2 ) );
+  }
+
   @Test( expected = IllegalArgumentException.class )
   public void testInvalidJson() {
     new GCOperationDispatcher( gc, "[" );
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class IntObjectMapTest {
+
+  private IntObjectMap<String> map;
+
+  @Before
+  public void setUp() {
+    map = new IntObjectMap<String>();
+  }
+
+  @Test
+  public void testIsSerializable() {
+    assertTrue( Serializable.class.isAssignableFrom( IntObjectMap.class ) );
+  }
+
+  @Test
+  public void testIsEmptyInitially() {
+    assertTrue( map.isEmpty() );
+    assertEquals( 0, map.size() );
+  }
+
+  @Test
+  public void testPutAndGet() {
+    map.put( 3, "three" );
+
+    assertEquals( "three", map.get( 3 ) );
+    assertTrue( map.containsKey( 3 ) );
+    assertEquals( 1, map.size() );
+  }
+
+  @Test
+  public void testGetNonExistingKeyReturnsNull() {
+    assertNull( map.get( 3 ) );
+    assertFalse( map.containsKey( 3 ) );
+  }
+
+  @Test
+  public void testPutReplacesValue() {
+    map.put( 3, "three" );
+
+    String oldValue = map.put( 3, "drei" );
+
+    assertEquals( "three", oldValue );
+    assertEquals( "drei", map.get( 3 ) );
+    assertEquals( 1, map.size() );
+  }
+
+  @Test
+  public void testContainsKeyWithNullValue() {
+    map.put( 3, null );
+
+    assertTrue( map.containsKey( 3 ) );
+  }
+
+  @Test
+  public void testNegativeKeys() {
+    map.put( -1, "minus one" );
+    map.put( Integer.MAX_VALUE, "max" );
+
+    assertEquals( "minus one", map.get( -1 ) );
+    assertEquals( "max", map.get( Integer.MAX_VALUE ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testPutMinValueKeyFails() {
+    map.put( Integer.MIN_VALUE, "min" );
+  }
+
+  @Test
+  public void testGetMinValueKeyReturnsNull() {
+    assertNull( map.get( Integer.MIN_VALUE ) );
+  }
+
+  @Test
+  public void testRemove() {
+    map.put( 3, "three" );
+
+    String removed = map.remove( 3 );
+
+    assertEquals( "three", removed );
+    assertNull( map.get( 3 ) );
+    assertTrue( map.isEmpty() );
+  }
+
+  @Test
+  public void testRemoveNonExistingKeyReturnsNull() {
+    assertNull( map.remove( 3 ) );
+  }
+
+  @Test
+  public void testGrowsAndShrinks() {
+    for( int i = 0; i < 1000; i++ ) {
+      map.put( i, String.valueOf( i ) );
+    }
+    for( int i = 0; i < 1000; i += 2 ) {
+      map.remove( i );
+    }
+
+    assertEquals( 500, map.size() );
+    for( int i = 0; i < 1000; i++ ) {
+      assertEquals( i % 2 == 0 ? null : String.valueOf( i ), map.get( i ) );
+    }
+  }
+
+  @Test
+  public void testRemoveKeepsProbeSequencesIntact() {
+    for( int i = -50; i < 50; i++ ) {
+      map.put( i * 17, String.valueOf( i ) );
+    }
+    for( int i = -50; i < 50; i += 3 ) {
+      map.remove( i * 17 );
+    }
+
+    for( int i = -50; i < 50; i++ ) {
+      boolean removed = ( i + 50 ) % 3 == 0;
+      assertEquals( removed ? null : String.valueOf( i ), map.get( i * 17 ) );
+    }
+  }
+
+  @Test
+  public void testClear() {
+    for( int i = 0; i < 100; i++ ) {
+      map.put( i, String.valueOf( i ) );
+    }
+
+    map.clear();
+
+    assertTrue( map.isEmpty() );
+    assertNull( map.get( 1 ) );
+    map.put( 1, "one" );
+    assertEquals( "one", map.get( 1 ) );
+  }
+
+  @Test
+  public void testGetKeys() {
+    map.put( 7, "seven" );
+    map.put( -2, "minus two" );
+    map.put( 42, "forty two" );
+    int[] keys = new int[ 5 ];
+
+    int count = map.getKeys( keys );
+
+    assertEquals( 3, count );
+    Arrays.sort( keys, 0, count );
+    assertEquals( -2, keys[ 0 ] );
+    assertEquals( 7, keys[ 1 ] );
+    assertEquals( 42, keys[ 2 ] );
+  }
+
+  @Test
+  public void testGetMinAndMaxKey() {
+    map.put( 7, "seven" );
+    map.put( -2, "minus two" );
+    map.put( 42, "forty two" );
+
+    assertEquals( -2, map.getMinKey( -1 ) );
+    assertEquals( 42, map.getMaxKey( -1 ) );
+  }
+
+  @Test
+  public void testGetMinAndMaxKeyOfEmptyMap() {
+    assertEquals( -1, map.getMinKey( -1 ) );
+    assertEquals( -1, map.getMaxKey( -1 ) );
+  }
+}
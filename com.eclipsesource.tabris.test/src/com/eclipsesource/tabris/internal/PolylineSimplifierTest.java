@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+
+public class PolylineSimplifierTest {
+
+  @Test
+  public void testIsSerializable() {
+    assertTrue( Serializable.class.isAssignableFrom( PolylineSimplifier.class ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testFailsWithNegativeTolerance() {
+    new PolylineSimplifier( -1 );
+  }
+
+  @Test
+  public void testZeroToleranceKeepsDrawing() {
+    DrawingOperations operations = createDrawing( new int[] { 0, 0, 1, 1, 2, 2 } );
+
+    assertSame( operations, new PolylineSimplifier( 0 ).simplify( operations ) );
+  }
+
+  @Test
+  public void testDropsCollinearPoints() {
+    DrawingOperations operations = createDrawing( new int[] { 0, 0, 10, 10, 20, 20, 30, 30 } );
+
+    DrawingOperations simplified = new PolylineSimplifier( 1 ).simplify( operations );
+
+    assertArrayEquals( new int[] { 0, 0, 30, 30 }, getPath( simplified ) );
+  }
+
+  @Test
+  public void testDropsPointsWithinTolerance() {
+    DrawingOperations operations = createDrawing( new int[] { 0, 0, 10, 1, 20, -1, 30, 0 } );
+
+    DrawingOperations simplified = new PolylineSimplifier( 2 ).simplify( operations );
+
+    assertArrayEquals( new int[] { 0, 0, 30, 0 }, getPath( simplified ) );
+  }
+
+  @Test
+  public void testKeepsPointsBeyondTolerance() {
+    DrawingOperations operations = createDrawing( new int[] { 0, 0, 10, 4, 20, 10, 30, 0 } );
+
+    DrawingOperations simplified = new PolylineSimplifier( 2 ).simplify( operations );
+
+    assertArrayEquals( new int[] { 0, 0, 20, 10, 30, 0 }, getPath( simplified ) );
+  }
+
+  @Test
+  public void testKeepsClosedPath() {
+    DrawingOperations operations = createDrawing( new int[] { 0, 0, 20, 0, 20, 20, 0, 0 } );
+
+    DrawingOperations simplified = new PolylineSimplifier( 2 ).simplify( operations );
+
+    assertArrayEquals( new int[] { 0, 0, 20, 0, 20, 20, 0, 0 }, getPath( simplified ) );
+  }
+
+  @Test
+  public void testKeepsOtherOperations() {
+    DrawingOperations operations = createDrawing( new int[] { 0, 0, 10, 10, 20, 20 } );
+
+    DrawingOperations simplified = new PolylineSimplifier( 1 ).simplify( operations );
+
+    DrawingOperations expected = createDrawing( new int[] { 0, 0, 20, 20 } );
+    assertEquals( expected, simplified );
+  }
+
+  private static DrawingOperations createDrawing( int[] path ) {
+    DrawingOperations result = new DrawingOperations();
+    result.addLineWidth( 3 );
+    result.addForeground( 1, 2, 3, 255 );
+    result.addPolyline( path );
+    return result;
+  }
+
+  private static int[] getPath( DrawingOperations operations ) {
+    int[] buffer = operations.getBuffer();
+    int position = 0;
+    while( buffer[ position ] != DrawingOperations.OPCODE_POLYLINE ) {
+      position += 2 + buffer[ position + 1 ];
+    }
+    int length = buffer[ position + 1 ];
+    return Arrays.copyOfRange( buffer, position + 2, position + 2 + length );
+  }
+}
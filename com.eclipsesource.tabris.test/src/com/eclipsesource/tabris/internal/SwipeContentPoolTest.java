@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.Serializable;
+
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Control;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class SwipeContentPoolTest {
+
+  private SwipeContentPool pool;
+
+  @Before
+  public void setUp() {
+    pool = new SwipeContentPool( 2 );
+  }
+
+  @Test
+  public void testIsSerializable() {
+    assertTrue( Serializable.class.isAssignableFrom( SwipeContentPool.class ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testFailsWithNegativeCapacity() {
+    new SwipeContentPool( -1 );
+  }
+
+  @Test
+  public void testOfferHidesContent() {
+    Control content = mock( Composite.class );
+
+    boolean pooled = pool.offer( String.class, content );
+
+    assertTrue( pooled );
+    assertEquals( 1, pool.size() );
+    verify( content ).setVisible( false );
+  }
+
+  @Test
+  public void testOfferFailsWhenFull() {
+    pool.offer( String.class, mock( Composite.class ) );
+    pool.offer( String.class, mock( Composite.class ) );
+
+    boolean pooled = pool.offer( String.class, mock( Composite.class ) );
+
+    assertFalse( pooled );
+    assertEquals( 2, pool.size() );
+  }
+
+  @Test
+  public void testOfferFailsWithDisposedContent() {
+    Control content = mock( Composite.class );
+    doReturn( Boolean.TRUE ).when( content ).isDisposed();
+
+    assertFalse( pool.offer( String.class, content ) );
+  }
+
+  @Test
+  public void testTakeShowsContent() {
+    Control content = mock( Composite.class );
+    pool.offer( String.class, content );
+
+    Control taken = pool.take( String.class );
+
+    assertSame( content, taken );
+    assertEquals( 0, pool.size() );
+    verify( content ).setVisible( true );
+  }
+
+  @Test
+  public void testTakeReturnsNullForOtherType() {
+    pool.offer( String.class, mock( Composite.class ) );
+
+    assertNull( pool.take( Integer.class ) );
+  }
+
+  @Test
+  public void testTakeSkipsDisposedContent() {
+    Control content = mock( Composite.class );
+    Control disposedContent = mock( Composite.class );
+    pool.offer( String.class, content );
+    pool.offer( String.class, disposedContent );
+    doReturn( Boolean.TRUE ).when( disposedContent ).isDisposed();
+
+    Control taken = pool.take( String.class );
+
+    assertSame( content, taken );
+    assertEquals( 0, pool.size() );
+  }
+
+  @Test
+  public void testClearDisposesContents() {
+    Control content = mock( Composite.class );
+    pool.offer( String.class, content );
+
+    pool.clear();
+
+    verify( content ).dispose();
+    assertEquals( 0, pool.size() );
+    assertNull( pool.take( String.class ) );
+  }
+
+  @Test
+  public void testShrinkingCapacityClearsPool() {
+    Control content = mock( Composite.class );
+    pool.offer( String.class, content );
+    pool.offer( String.class, mock( Composite.class ) );
+
+    pool.setCapacity( 1 );
+
+    verify( content ).dispose();
+    assertEquals( 0, pool.size() );
+  }
+
+  @Test
+  public void testGrowingCapacityKeepsPool() {
+    Control content = mock( Composite.class );
+    pool.offer( String.class, content );
+
+    pool.setCapacity( 5 );
+
+    verify( content, never() ).dispose();
+    assertEquals( 1, pool.size() );
+  }
+}
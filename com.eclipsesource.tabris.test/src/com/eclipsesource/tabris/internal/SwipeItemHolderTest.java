@@ -16,9 +16,11 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.swt.widgets.Composite;
@@ -26,6 +28,7 @@ import org.eclipse.swt.widgets.Control;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.eclipsesource.tabris.widgets.swipe.RecyclableSwipeItem;
 import com.eclipsesource.tabris.widgets.swipe.SwipeItem;
 
 
@@ -138,6 +141,30 @@ public class SwipeItemHolderTest {
     assertEquals( 1, loadedItems.size() );
   }
 
+  @Test
+  public void testGetLoadedItemCount() {
+    swipeItemHolder.addItem( 0, mock( SwipeItem.class ), mock( Composite.class ) );
+    swipeItemHolder.addItem( 1, mock( SwipeItem.class ) );
+    swipeItemHolder.addItem( 2, mock( SwipeItem.class ), mock( Composite.class ) );
+
+    assertEquals( 2, swipeItemHolder.getLoadedItemCount() );
+  }
+
+  @Test
+  public void testGetLoadedItemsIntoBuffer() {
+    swipeItemHolder.addItem( 3, mock( SwipeItem.class ), mock( Composite.class ) );
+    swipeItemHolder.addItem( 4, mock( SwipeItem.class ) );
+    swipeItemHolder.addItem( 5, mock( SwipeItem.class ), mock( Composite.class ) );
+    int[] buffer = new int[ 4 ];
+
+    int count = swipeItemHolder.getLoadedItems( buffer );
+
+    assertEquals( 2, count );
+    Arrays.sort( buffer, 0, count );
+    assertEquals( 3, buffer[ 0 ] );
+    assertEquals( 5, buffer[ 1 ] );
+  }
+
   @Test
   public void testRemoveItemAlsoRemovesContent() {
     SwipeItem item = mock( SwipeItem.class );
@@ -188,4 +215,86 @@ public class SwipeItemHolderTest {
     assertNull( swipeItemHolder.getItem( 0 ) );
     assertNull( swipeItemHolder.getItem( 1 ) );
   }
+
+  @Test
+  public void testRemoveRecyclableItemPoolsContent() {
+    Composite content = mock( Composite.class );
+    swipeItemHolder.addItem( 0, mock( RecyclableSwipeItem.class ), content );
+
+    swipeItemHolder.removeItem( 0 );
+
+    verify( content, never() ).dispose();
+    assertEquals( 1, swipeItemHolder.getContentPool().size() );
+  }
+
+  @Test
+  public void testTakeRecycledContent() {
+    RecyclableSwipeItem item = mock( RecyclableSwipeItem.class );
+    Composite content = mock( Composite.class );
+    swipeItemHolder.addItem( 0, item, content );
+    swipeItemHolder.removeItem( 0 );
+
+    Control recycledContent = swipeItemHolder.takeRecycledContent( item );
+
+    assertSame( content, recycledContent );
+  }
+
+  @Test
+  public void testTakeRecycledContentForNonRecyclableItemReturnsNull() {
+    assertNull( swipeItemHolder.takeRecycledContent( mock( SwipeItem.class ) ) );
+  }
+
+  @Test
+  public void testRemoveAllItemsDisposesPooledContent() {
+    Composite content = mock( Composite.class );
+    swipeItemHolder.addItem( 0, mock( RecyclableSwipeItem.class ), content );
+    swipeItemHolder.removeItem( 0 );
+
+    swipeItemHolder.removeAllItems();
+
+    verify( content ).dispose();
+  }
+
+  @Test
+  public void testLoadedBoundsAreMinusOneWithoutLoadedItems() {
+    swipeItemHolder.addItem( 2, mock( SwipeItem.class ) );
+
+    assertEquals( -1, swipeItemHolder.getLowestLoadedIndex() );
+    assertEquals( -1, swipeItemHolder.getHighestLoadedIndex() );
+  }
+
+  @Test
+  public void testLoadedBounds() {
+    swipeItemHolder.addItem( 4, mock( SwipeItem.class ), mock( Composite.class ) );
+    swipeItemHolder.addItem( 1, mock( SwipeItem.class ), mock( Composite.class ) );
+    swipeItemHolder.addItem( 7, mock( SwipeItem.class ), mock( Composite.class ) );
+
+    assertEquals( 1, swipeItemHolder.getLowestLoadedIndex() );
+    assertEquals( 7, swipeItemHolder.getHighestLoadedIndex() );
+  }
+
+  @Test
+  public void testLoadedBoundsAfterRemovingBounds() {
+    swipeItemHolder.addItem( 4, mock( SwipeItem.class ), mock( Composite.class ) );
+    swipeItemHolder.addItem( 1, mock( SwipeItem.class ), mock( Composite.class ) );
+    swipeItemHolder.addItem( 7, mock( SwipeItem.class ), mock( Composite.class ) );
+
+    swipeItemHolder.removeItem( 1 );
+    swipeItemHolder.removeItem( 7 );
+
+    assertEquals( 4, swipeItemHolder.getLowestLoadedIndex() );
+    assertEquals( 4, swipeItemHolder.getHighestLoadedIndex() );
+  }
+
+  @Test
+  public void testLoadedBoundsAfterRemovingAllItems() {
+    swipeItemHolder.addItem( 4, mock( SwipeItem.class ), mock( Composite.class ) );
+    swipeItemHolder.addItem( 1, mock( SwipeItem.class ), mock( Composite.class ) );
+
+    swipeItemHolder.removeAllItems();
+    swipeItemHolder.addItem( 3, mock( SwipeItem.class ), mock( Composite.class ) );
+
+    assertEquals( 3, swipeItemHolder.getLowestLoadedIndex() );
+    assertEquals( 3, swipeItemHolder.getHighestLoadedIndex() );
+  }
 }
@@ -354,4 +354,127 @@ public class SwipeItemIndexerTest {
     assertEquals( 0, outOfRangeIndexes.length );
   }
 
+  @Test
+  public void testMaxIndexCount() {
+    indexer.setRange( 3 );
+
+    assertEquals( 7, indexer.getMaxIndexCount() );
+  }
+
+  @Test
+  public void testFillsPreviousIntoBuffer() {
+    indexer.setRange( 2 );
+    indexer.setCurrent( 2 );
+    indexer.setCurrent( 5 );
+    int[] buffer = new int[ indexer.getMaxIndexCount() ];
+
+    int count = indexer.getPrevious( buffer );
+
+    assertEquals( 2, count );
+    assertEquals( 3, buffer[ 0 ] );
+    assertEquals( 4, buffer[ 1 ] );
+  }
+
+  @Test
+  public void testFillsNextIntoBuffer() {
+    indexer.setRange( 2 );
+    indexer.setCurrent( 2 );
+    indexer.setCurrent( 5 );
+    int[] buffer = new int[ indexer.getMaxIndexCount() ];
+
+    int count = indexer.getNext( buffer );
+
+    assertEquals( 2, count );
+    assertEquals( 6, buffer[ 0 ] );
+    assertEquals( 7, buffer[ 1 ] );
+  }
+
+  @Test
+  public void testFillsOutOfRangeIndexesIntoBuffer() {
+    indexer.setRange( 2 );
+    indexer.setCurrent( 5 );
+    indexer.setCurrent( 2 );
+    int[] buffer = new int[ indexer.getMaxIndexCount() ];
+
+    int count = indexer.popOutOfRangeIndexes( buffer );
+
+    assertEquals( 3, count );
+    assertEquals( 5, buffer[ 0 ] );
+    assertEquals( 6, buffer[ 1 ] );
+    assertEquals( 7, buffer[ 2 ] );
+  }
+
+  @Test
+  public void testOutOfRangeIndexesWithDistantJump() {
+    indexer.setRange( 2 );
+    indexer.setCurrent( 20 );
+    indexer.setCurrent( 3 );
+
+    assertArrayEquals( new int[] { 18, 19, 20, 21, 22 }, indexer.popOutOfRangeIndexes() );
+  }
+
+  @Test
+  public void testOutOfRangeIndexesWithJumpBackToStart() {
+    indexer.setRange( 3 );
+    indexer.setCurrent( 4 );
+    indexer.setCurrent( 0 );
+
+    assertArrayEquals( new int[] { 4, 5, 6, 7 }, indexer.popOutOfRangeIndexes() );
+  }
+
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testSetRangesFailsWithNegativeRange() {
+    indexer.setRanges( -1, 2 );
+  }
+
+  @Test
+  public void testSetRanges() {
+    indexer.setRanges( 1, 3 );
+
+    assertEquals( 1, indexer.getRangeBefore() );
+    assertEquals( 3, indexer.getRangeAfter() );
+    assertEquals( 3, indexer.getRange() );
+    assertEquals( 5, indexer.getMaxIndexCount() );
+  }
+
+  @Test
+  public void testAsymmetricRanges() {
+    indexer.setRanges( 1, 3 );
+    indexer.setCurrent( 4 );
+    indexer.setCurrent( 5 );
+
+    assertArrayEquals( new int[] { 4 }, indexer.getPrevious() );
+    assertArrayEquals( new int[] { 6, 7, 8 }, indexer.getNext() );
+    assertArrayEquals( new int[] { 3 }, indexer.popOutOfRangeIndexes() );
+  }
+
+  @Test
+  public void testOutOfRangeIndexesUseRangesOfOldItem() {
+    indexer.setRanges( 1, 3 );
+    indexer.setCurrent( 4 );
+    indexer.setCurrent( 3 );
+    indexer.setRanges( 3, 1 );
+
+    assertArrayEquals( new int[] { 5, 6, 7 }, indexer.popOutOfRangeIndexes() );
+  }
+
+  @Test
+  public void testMaxIndexCountCoversOldWindow() {
+    indexer.setRanges( 2, 4 );
+    indexer.setCurrent( 10 );
+    indexer.setCurrent( 11 );
+    indexer.setRanges( 0, 1 );
+
+    assertEquals( 7, indexer.getMaxIndexCount() );
+  }
+
+  @Test
+  public void testWindowBounds() {
+    indexer.setRanges( 3, 2 );
+    indexer.setCurrent( 2 );
+
+    assertEquals( 0, indexer.getWindowStart() );
+    assertEquals( 4, indexer.getWindowEnd() );
+  }
 }
@@ -13,6 +13,7 @@ package com.eclipsesource.tabris.internal;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -23,7 +24,9 @@ import org.eclipse.swt.SWT;
 import org.junit.Test;
 
 import com.eclipsesource.tabris.widgets.swipe.SwipeContext;
+import com.eclipsesource.tabris.widgets.swipe.SwipeEvictionPolicy;
 import com.eclipsesource.tabris.widgets.swipe.SwipeItemProvider;
+import com.eclipsesource.tabris.widgets.swipe.SwipePreloadingPolicy;
 
 
 public class SwipeManagerTest {
@@ -98,6 +101,40 @@ public class SwipeManagerTest {
     assertSame( indexer1, indexer2 );
   }
 
+  @Test
+  public void testEvictionPolicyIsNullByDefault() {
+    SwipeManager manager = new SwipeManager( mock( SwipeItemProvider.class ) );
+
+    assertNull( manager.getEvictionPolicy() );
+  }
+
+  @Test
+  public void testSetEvictionPolicy() {
+    SwipeManager manager = new SwipeManager( mock( SwipeItemProvider.class ) );
+    SwipeEvictionPolicy policy = mock( SwipeEvictionPolicy.class );
+
+    manager.setEvictionPolicy( policy );
+
+    assertSame( policy, manager.getEvictionPolicy() );
+  }
+
+  @Test
+  public void testPreloadingPolicyIsNullByDefault() {
+    SwipeManager manager = new SwipeManager( mock( SwipeItemProvider.class ) );
+
+    assertNull( manager.getPreloadingPolicy() );
+  }
+
+  @Test
+  public void testSetPreloadingPolicy() {
+    SwipeManager manager = new SwipeManager( mock( SwipeItemProvider.class ) );
+    SwipePreloadingPolicy policy = mock( SwipePreloadingPolicy.class );
+
+    manager.setPreloadingPolicy( policy );
+
+    assertSame( policy, manager.getPreloadingPolicy() );
+  }
+
   @Test
   public void testMoveToRightIsAllowedWithoutLock() {
     SwipeManager manager = new SwipeManager( mock( SwipeItemProvider.class ) );
@@ -10,7 +10,9 @@
  ******************************************************************************/
 package com.eclipsesource.tabris.internal;
 
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import java.util.HashMap;
@@ -19,19 +21,26 @@ import java.util.Map;
 import org.junit.Test;
 
 import com.eclipsesource.tabris.widgets.swipe.Swipe;
+import com.eclipsesource.tabris.widgets.swipe.SwipeItemProvider;
+import com.eclipsesource.tabris.widgets.swipe.SwipePreloadingPolicy;
 
 
 public class SwipeOperationHandlerTest {
 
   @Test( expected = IllegalArgumentException.class )
   public void testFailsWithNullSwipe() {
-    new SwipeOperationHandler( null );
+    new SwipeOperationHandler( null, createManager() );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testFailsWithNullManager() {
+    new SwipeOperationHandler( mock( Swipe.class ), null );
   }
 
   @Test
   public void testNotifiesAboutSwipeEvent() {
     Swipe swipe = mock( Swipe.class );
-    SwipeOperationHandler handler = new SwipeOperationHandler( swipe );
+    SwipeOperationHandler handler = new SwipeOperationHandler( swipe, createManager() );
     Map<String, Object> properties = new HashMap<String, Object>();
     properties.put( "item", Integer.valueOf( 0 ) );
 
@@ -40,9 +49,39 @@ public class SwipeOperationHandlerTest {
     verify( swipe ).show( 0 );
   }
 
+  @Test
+  public void testNotifiesPreloadingPolicyAboutSwipe() {
+    SwipeManager manager = createManager();
+    manager.getIndexer().setCurrent( 1 );
+    SwipePreloadingPolicy policy = mock( SwipePreloadingPolicy.class );
+    manager.setPreloadingPolicy( policy );
+    SwipeOperationHandler handler = new SwipeOperationHandler( mock( Swipe.class ), manager );
+    Map<String, Object> properties = new HashMap<String, Object>();
+    properties.put( "item", Integer.valueOf( 2 ) );
+
+    handler.handleNotify( "Swipe", properties );
+
+    verify( policy ).itemChanged( 1, 2 );
+  }
+
+  @Test
+  public void testDoesNotNotifyPreloadingPolicyWithoutItemChange() {
+    SwipeManager manager = createManager();
+    manager.getIndexer().setCurrent( 1 );
+    SwipePreloadingPolicy policy = mock( SwipePreloadingPolicy.class );
+    manager.setPreloadingPolicy( policy );
+    SwipeOperationHandler handler = new SwipeOperationHandler( mock( Swipe.class ), manager );
+    Map<String, Object> properties = new HashMap<String, Object>();
+    properties.put( "item", Integer.valueOf( 1 ) );
+
+    handler.handleNotify( "Swipe", properties );
+
+    verify( policy, never() ).itemChanged( anyInt(), anyInt() );
+  }
+
   @Test( expected = IllegalArgumentException.class )
   public void testSwipeEventFailsWithoutItemProperty() {
-    SwipeOperationHandler handler = new SwipeOperationHandler( mock( Swipe.class ) );
+    SwipeOperationHandler handler = new SwipeOperationHandler( mock( Swipe.class ), createManager() );
     Map<String, Object> properties = new HashMap<String, Object>();
 
     handler.handleNotify( "Swipe", properties );
@@ -50,7 +89,7 @@ public class SwipeOperationHandlerTest {
 
   @Test( expected = IllegalArgumentException.class )
   public void testSwipeEventFailsWithNoIntegerItemProperty() {
-    SwipeOperationHandler handler = new SwipeOperationHandler( mock( Swipe.class ) );
+    SwipeOperationHandler handler = new SwipeOperationHandler( mock( Swipe.class ), createManager() );
     Map<String, Object> properties = new HashMap<String, Object>();
     properties.put( "item", "0" );
 
@@ -59,8 +98,12 @@ public class SwipeOperationHandlerTest {
 
   @Test( expected = IllegalArgumentException.class )
   public void testSwipeEventFailsWithNullProperties() {
-    SwipeOperationHandler handler = new SwipeOperationHandler( mock( Swipe.class ) );
+    SwipeOperationHandler handler = new SwipeOperationHandler( mock( Swipe.class ), createManager() );
 
     handler.handleNotify( "Swipe", null );
   }
+
+  private static SwipeManager createManager() {
+    return new SwipeManager( mock( SwipeItemProvider.class ) );
+  }
 }
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class SwipeUpdateTest {
+
+  private SwipeUpdate update;
+
+  @Before
+  public void setUp() {
+    update = new SwipeUpdate();
+  }
+
+  @Test
+  public void testIsSerializable() {
+    assertTrue( Serializable.class.isAssignableFrom( SwipeUpdate.class ) );
+  }
+
+  @Test
+  public void testIsEmptyInitially() {
+    assertTrue( update.isEmpty() );
+    assertTrue( update.toProperties().isEmpty() );
+  }
+
+  @Test
+  public void testCollectsChanges() {
+    update.removeItem( 0 );
+    update.removeItem( 1 );
+    update.addItem( 3, "w3" );
+    update.addItem( 4, "w4" );
+    update.activateItem( 2 );
+
+    Map<String, Object> properties = update.toProperties();
+
+    assertFalse( update.isEmpty() );
+    assertTrue( update.hasAddedItems() );
+    assertArrayEquals( new int[] { 0, 1 }, ( int[] )properties.get( "removedItems" ) );
+    assertArrayEquals( new int[] { 3, 4 }, ( int[] )properties.get( "addedItems" ) );
+    assertArrayEquals( new String[] { "w3", "w4" }, ( String[] )properties.get( "controls" ) );
+    assertEquals( Integer.valueOf( 2 ), properties.get( "active" ) );
+  }
+
+  @Test
+  public void testGrows() {
+    for( int i = 0; i < 10; i++ ) {
+      update.removeItem( i );
+      update.addItem( i + 10, "w" + i );
+    }
+
+    Map<String, Object> properties = update.toProperties();
+
+    assertEquals( 10, ( ( int[] )properties.get( "removedItems" ) ).length );
+    assertEquals( 10, ( ( int[] )properties.get( "addedItems" ) ).length );
+    assertEquals( "w9", ( ( String[] )properties.get( "controls" ) )[ 9 ] );
+  }
+
+  @Test
+  public void testRemovesItemOnlyOnce() {
+    update.removeItem( 1 );
+    update.removeItem( 1 );
+
+    assertArrayEquals( new int[] { 1 }, ( int[] )update.toProperties().get( "removedItems" ) );
+  }
+
+  @Test
+  public void testRemovingAddedItemDropsAddition() {
+    update.addItem( 3, "w3" );
+    update.addItem( 4, "w4" );
+
+    update.removeItem( 3 );
+
+    Map<String, Object> properties = update.toProperties();
+    assertArrayEquals( new int[] { 4 }, ( int[] )properties.get( "addedItems" ) );
+    assertArrayEquals( new String[] { "w4" }, ( String[] )properties.get( "controls" ) );
+    assertFalse( properties.containsKey( "removedItems" ) );
+  }
+
+  @Test
+  public void testRemoveAddRemoveKeepsRemoval() {
+    update.removeItem( 3 );
+    update.addItem( 3, "w3" );
+
+    update.removeItem( 3 );
+
+    Map<String, Object> properties = update.toProperties();
+    assertArrayEquals( new int[] { 3 }, ( int[] )properties.get( "removedItems" ) );
+    assertFalse( properties.containsKey( "addedItems" ) );
+  }
+
+  @Test
+  public void testClear() {
+    update.removeItem( 0 );
+    update.addItem( 3, "w3" );
+    update.activateItem( 2 );
+
+    update.clear();
+
+    assertTrue( update.isEmpty() );
+    assertFalse( update.hasAddedItems() );
+  }
+}
@@ -12,6 +12,8 @@ package com.eclipsesource.tabris.internal.ui;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
@@ -43,6 +45,7 @@ import com.eclipsesource.tabris.test.TabrisTestUtil;
 import com.eclipsesource.tabris.ui.Page;
 import com.eclipsesource.tabris.ui.PageData;
 import com.eclipsesource.tabris.ui.TransitionListener;
+import com.eclipsesource.tabris.ui.UI;
 import com.eclipsesource.tabris.ui.UIConfiguration;
 
 
@@ -113,6 +116,36 @@ public class ControllerTest {
     assertEquals( 1, shell.getChildren().length );
   }
 
+  @Test
+  public void testCreatesContentOnlyForShownRootPage() {
+    createRootPage( "foo" );
+    PageDescriptor root2 = createRootPage( "bar" );
+    RemoteUI remoteUI = mock( RemoteUI.class );
+    Controller controller = new Controller( shell, remoteUI, uiDescriptor );
+
+    controller.createRootPages( ui );
+
+    assertEquals( 2, controller.getRootPages().size() );
+    assertEquals( 1, shell.getChildren().length );
+    assertNull( controller.getRootPages().get( root2 ).getControl() );
+  }
+
+  @Test
+  public void testShowRootCreatesContentOnlyOnce() {
+    PageDescriptor root1 = createRootPage( "foo" );
+    PageDescriptor root2 = createRootPage( "bar" );
+    RemoteUI remoteUI = mock( RemoteUI.class );
+    Controller controller = new Controller( shell, remoteUI, uiDescriptor );
+    controller.createRootPages( ui );
+
+    controller.showRoot( ui, root2, mock( PageData.class ) );
+    controller.showRoot( ui, root1, mock( PageData.class ) );
+    controller.showRoot( ui, root2, mock( PageData.class ) );
+
+    assertEquals( 2, shell.getChildren().length );
+    assertTrue( getTestPage( controller, root2 ).wasCreated() );
+  }
+
   @Test
   public void testCreatesGlobalActions() {
     ActionDescriptor descriptor = mock( ActionDescriptor.class );
@@ -562,6 +595,23 @@ public class ControllerTest {
     verify( remoteObject ).set( "enabled", true );
   }
 
+  @Test( expected = IllegalStateException.class )
+  public void testSetEnabledFailsForActionOfDeactivatedPage() {
+    ActionDescriptor descriptor = mock( ActionDescriptor.class );
+    when( descriptor.getId() ).thenReturn( "foo" );
+    PageDescriptor rootPage = createRootPage( "foo" );
+    PageDescriptor root2 = createRootPage( "bar" );
+    List<ActionDescriptor> actions = new ArrayList<ActionDescriptor>();
+    actions.add( descriptor );
+    when( rootPage.getActions() ).thenReturn( actions );
+    RemoteUI remoteUI = mock( RemoteUI.class );
+    Controller controller = new Controller( shell, remoteUI, uiDescriptor );
+    controller.createRootPages( ui );
+    controller.showRoot( ui, root2, mock( PageData.class ) );
+
+    controller.setActionEnabled( "foo", true );
+  }
+
   @Test
   public void testFindsPageIdByRemoteId() {
     createRootPage( "foo" );
@@ -574,6 +624,87 @@ public class ControllerTest {
     assertEquals( "foo", pageId );
   }
 
+  @Test
+  public void testReopensClosedReusablePage() {
+    createRootPage( "foo" );
+    PageDescriptor page = createReusablePage( "bar" );
+    RemoteUI remoteUI = mock( RemoteUI.class );
+    Controller controller = new Controller( shell, remoteUI, uiDescriptor );
+    controller.createRootPages( ui );
+    RemotePage firstPage = controller.showPage( ui, page, mock( PageData.class ) );
+    controller.closeCurrentPage( ui );
+    PageData data = mock( PageData.class );
+
+    RemotePage secondPage = controller.showPage( ui, page, data );
+
+    assertSame( firstPage, secondPage );
+    assertSame( data, secondPage.getData() );
+    assertSame( data, ( ( TestReusablePage )secondPage.getPage() ).getReusedData() );
+    assertTrue( secondPage.getControl().getVisible() );
+  }
+
+  @Test
+  public void testReattachesReusablePageBeforeTransition() {
+    createRootPage( "foo" );
+    PageDescriptor page = createReusablePage( "bar" );
+    RemoteUI remoteUI = mock( RemoteUI.class );
+    Controller controller = new Controller( shell, remoteUI, uiDescriptor );
+    controller.createRootPages( ui );
+    controller.showPage( ui, page, mock( PageData.class ) );
+    controller.closeCurrentPage( ui );
+    final List<PageData> reusedData = new ArrayList<PageData>();
+    uiDescriptor.addTransitionListener( new TransitionListener() {
+
+      @Override
+      public void before( UI ui, Page from, Page to ) {
+        reusedData.add( ( ( TestReusablePage )to ).getReusedData() );
+      }
+
+      @Override
+      public void after( UI ui, Page from, Page to ) {
+        // not tested
+      }
+    } );
+    PageData data = mock( PageData.class );
+
+    controller.showPage( ui, page, data );
+
+    assertSame( data, reusedData.get( 0 ) );
+  }
+
+  @Test
+  public void testKeepsClosedReusablePageInCache() {
+    createRootPage( "foo" );
+    PageDescriptor page = createReusablePage( "bar" );
+    RemoteUI remoteUI = mock( RemoteUI.class );
+    Controller controller = new Controller( shell, remoteUI, uiDescriptor );
+    controller.createRootPages( ui );
+    RemotePage remotePage = controller.showPage( ui, page, mock( PageData.class ) );
+
+    controller.closeCurrentPage( ui );
+
+    assertEquals( 1, controller.getPageCache().size() );
+    assertFalse( remotePage.getControl().isDisposed() );
+    assertFalse( remotePage.getControl().getVisible() );
+  }
+
+  @Test
+  public void testDoesNotCacheClosedPage() {
+    createRootPage( "foo" );
+    PageDescriptor page = createPage( "bar" );
+    RemoteUI remoteUI = mock( RemoteUI.class );
+    Controller controller = new Controller( shell, remoteUI, uiDescriptor );
+    controller.createRootPages( ui );
+    RemotePage firstPage = controller.showPage( ui, page, mock( PageData.class ) );
+    controller.closeCurrentPage( ui );
+
+    RemotePage secondPage = controller.showPage( ui, page, mock( PageData.class ) );
+
+    assertNotSame( firstPage, secondPage );
+    assertEquals( 0, controller.getPageCache().size() );
+    assertTrue( firstPage.getControl().isDisposed() );
+  }
+
   private PageDescriptor createRootPage( String id ) {
     PageDescriptor descriptor = mock( PageDescriptor.class );
     when( descriptor.getId() ).thenReturn( id );
@@ -591,4 +722,14 @@ public class ControllerTest {
     uiDescriptor.add( descriptor );
     return descriptor;
   }
+
+  private PageDescriptor createReusablePage( String id ) {
+    PageDescriptor descriptor = mock( PageDescriptor.class );
+    when( descriptor.getId() ).thenReturn( id );
+    doReturn( TestReusablePage.class ).when( descriptor ).getPageType();
+    doReturn( Boolean.FALSE ).when( descriptor ).isTopLevel();
+    doReturn( Boolean.TRUE ).when( descriptor ).isReusable();
+    uiDescriptor.add( descriptor );
+    return descriptor;
+  }
 }
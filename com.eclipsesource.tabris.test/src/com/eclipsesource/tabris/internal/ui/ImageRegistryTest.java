@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Display;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.eclipsesource.tabris.internal.ui.ImageRegistry.RegisteredImage;
+
+
+public class ImageRegistryTest {
+
+  private Display display;
+  private byte[] image;
+  private byte[] otherImage;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    display = new Display();
+    image = ImageUtil.getBytes( ImageRegistryTest.class.getResourceAsStream( "testImage.png" ) );
+    String otherImagePath = "/com/eclipsesource/tabris/internal/tabris.png";
+    otherImage = ImageUtil.getBytes( ImageRegistryTest.class.getResourceAsStream( otherImagePath ) );
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testGetInstanceReturnsSameInstance() {
+    ImageRegistry registry = ImageRegistry.getInstance();
+
+    assertSame( registry, ImageRegistry.getInstance() );
+  }
+
+  @Test
+  public void testGetImageRegistersImage() {
+    ImageRegistry registry = new ImageRegistry();
+
+    RegisteredImage registeredImage = registry.getImage( display, image );
+
+    Rectangle bounds = new Image( display, new ByteArrayInputStream( image ) ).getBounds();
+    assertNotNull( registeredImage.getPath() );
+    assertEquals( bounds.width, registeredImage.getWidth() );
+    assertEquals( bounds.height, registeredImage.getHeight() );
+    assertEquals( 1, registry.size() );
+  }
+
+  @Test
+  public void testGetImageReturnsSameImageForSameContent() {
+    ImageRegistry registry = new ImageRegistry();
+
+    RegisteredImage registeredImage = registry.getImage( display, image );
+
+    assertSame( registeredImage, registry.getImage( display, image.clone() ) );
+    assertEquals( 1, registry.size() );
+  }
+
+  @Test
+  public void testGetImageReturnsDifferentImagesForDifferentContent() {
+    ImageRegistry registry = new ImageRegistry();
+
+    RegisteredImage registeredImage = registry.getImage( display, image );
+
+    assertNotSame( registeredImage, registry.getImage( display, otherImage ) );
+    assertEquals( 2, registry.size() );
+  }
+
+  @Test
+  public void testGetImageIsNotAffectedByChangedBytes() {
+    ImageRegistry registry = new ImageRegistry();
+    byte[] bytes = image.clone();
+    RegisteredImage registeredImage = registry.getImage( display, bytes );
+
+    bytes[ 0 ] = 0;
+
+    assertSame( registeredImage, registry.getImage( display, image ) );
+  }
+
+  @Test
+  public void testKeepsImagesWithinCapacity() {
+    ImageRegistry registry = new ImageRegistry( 2 );
+    RegisteredImage registeredImage = registry.getImage( display, image );
+
+    registry.getImage( display, otherImage );
+
+    assertEquals( 2, registry.size() );
+    assertSame( registeredImage, registry.getImage( display, image ) );
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsedImageBeyondCapacity() {
+    ImageRegistry registry = new ImageRegistry( 1 );
+    RegisteredImage registeredImage = registry.getImage( display, image );
+
+    registry.getImage( display, otherImage );
+
+    assertEquals( 1, registry.size() );
+    assertNotSame( registeredImage, registry.getImage( display, image ) );
+  }
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal.ui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.Serializable;
+
+import org.eclipse.swt.widgets.Control;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class PageCacheTest {
+
+  private PageDescriptor descriptor;
+
+  @Before
+  public void setUp() {
+    descriptor = mock( PageDescriptor.class );
+  }
+
+  @Test
+  public void testIsSerializable() {
+    assertTrue( Serializable.class.isAssignableFrom( PageCache.class ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testFailsWithNegativeCapacity() {
+    new PageCache( -1 );
+  }
+
+  @Test
+  public void testTakeReturnsPutPage() {
+    PageCache cache = new PageCache( 2 );
+    RemotePage page = mockPage( descriptor );
+    cache.put( page );
+
+    RemotePage takenPage = cache.take( descriptor );
+
+    assertSame( page, takenPage );
+    assertEquals( 0, cache.size() );
+  }
+
+  @Test
+  public void testTakeReturnsNullForOtherDescriptor() {
+    PageCache cache = new PageCache( 2 );
+    cache.put( mockPage( descriptor ) );
+
+    assertNull( cache.take( mock( PageDescriptor.class ) ) );
+    assertEquals( 1, cache.size() );
+  }
+
+  @Test
+  public void testTakeReturnsMostRecentlyPutPage() {
+    PageCache cache = new PageCache( 2 );
+    cache.put( mockPage( descriptor ) );
+    RemotePage page = mockPage( descriptor );
+    cache.put( page );
+
+    assertSame( page, cache.take( descriptor ) );
+  }
+
+  @Test
+  public void testTakeSkipsPageWithDisposedControl() {
+    PageCache cache = new PageCache( 2 );
+    RemotePage page = mockPage( descriptor );
+    cache.put( page );
+    RemotePage disposedPage = mockPage( descriptor );
+    when( Boolean.valueOf( disposedPage.getControl().isDisposed() ) ).thenReturn( Boolean.TRUE );
+    cache.put( disposedPage );
+
+    assertSame( page, cache.take( descriptor ) );
+    assertEquals( 0, cache.size() );
+  }
+
+  @Test
+  public void testPutEvictsLeastRecentlyPutPage() {
+    PageCache cache = new PageCache( 2 );
+    RemotePage evictedPage = mockPage( descriptor );
+    cache.put( evictedPage );
+    RemotePage page1 = mockPage( descriptor );
+    cache.put( page1 );
+    RemotePage page2 = mockPage( descriptor );
+    cache.put( page2 );
+
+    assertEquals( 2, cache.size() );
+    verify( evictedPage.getControl() ).dispose();
+    verify( page1.getControl(), never() ).dispose();
+    verify( page2.getControl(), never() ).dispose();
+  }
+
+  @Test
+  public void testPutWithoutCapacityDisposesPage() {
+    PageCache cache = new PageCache( 0 );
+    RemotePage page = mockPage( descriptor );
+
+    cache.put( page );
+
+    assertEquals( 0, cache.size() );
+    verify( page.getControl() ).dispose();
+  }
+
+  @Test
+  public void testClearDisposesPages() {
+    PageCache cache = new PageCache( 2 );
+    RemotePage page = mockPage( descriptor );
+    cache.put( page );
+
+    cache.clear();
+
+    assertEquals( 0, cache.size() );
+    verify( page.getControl() ).dispose();
+  }
+
+  private static RemotePage mockPage( PageDescriptor descriptor ) {
+    RemotePage page = mock( RemotePage.class );
+    Control control = mock( Control.class );
+    when( page.getDescriptor() ).thenReturn( descriptor );
+    when( page.getControl() ).thenReturn( control );
+    return page;
+  }
+}
@@ -144,4 +144,12 @@ public class RemoteActionTest {
 
     verify( action ).execute( ui );
   }
+
+  @Test
+  public void testSharesImageWithSameContent() {
+    new RemoteAction( ui, actionDescriptor, "foo" );
+    new RemoteAction( ui, actionDescriptor, "bar" );
+
+    assertEquals( 1, ImageRegistry.getInstance().size() );
+  }
 }
@@ -11,6 +11,7 @@
 package com.eclipsesource.tabris.internal.ui;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -19,13 +20,16 @@ import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.InputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.rap.rwt.internal.remote.RemoteObjectImpl;
 import org.eclipse.rap.rwt.lifecycle.WidgetUtil;
@@ -146,13 +150,48 @@ public class RemotePageTest {
   @Test
   public void testGetActions() {
     RemotePage page = new RemotePage( ui, descriptor, "foo", mock( PageData.class ) );
-    page.createActions();
+    page.createActions( new HashMap<String, RemoteAction>() );
 
     List<RemoteAction> actions = page.getActions();
     assertEquals( 1, actions.size() );
     assertEquals( "actionFoo", actions.get( 0 ).getDescriptor().getId() );
   }
 
+  @Test
+  public void testCreateActionsRegistersActionsById() {
+    RemotePage page = new RemotePage( ui, descriptor, "foo", mock( PageData.class ) );
+    Map<String, RemoteAction> actionIndex = new HashMap<String, RemoteAction>();
+
+    page.createActions( actionIndex );
+
+    assertEquals( 1, actionIndex.size() );
+    assertSame( page.getActions().get( 0 ), actionIndex.get( "actionFoo" ) );
+  }
+
+  @Test
+  public void testDestroyActionsRemovesActionsFromIndex() {
+    RemotePage page = new RemotePage( ui, descriptor, "foo", mock( PageData.class ) );
+    Map<String, RemoteAction> actionIndex = new HashMap<String, RemoteAction>();
+    page.createActions( actionIndex );
+
+    page.destroyActions( actionIndex );
+
+    assertTrue( actionIndex.isEmpty() );
+  }
+
+  @Test
+  public void testDestroyActionsKeepsOtherActionWithSameId() {
+    RemotePage page = new RemotePage( ui, descriptor, "foo", mock( PageData.class ) );
+    Map<String, RemoteAction> actionIndex = new HashMap<String, RemoteAction>();
+    page.createActions( actionIndex );
+    RemoteAction otherAction = mock( RemoteAction.class );
+    actionIndex.put( "actionFoo", otherAction );
+
+    page.destroyActions( actionIndex );
+
+    assertSame( otherAction, actionIndex.get( "actionFoo" ) );
+  }
+
   @Test
   public void testSetTitle() {
     RemotePage page = new RemotePage( ui, descriptor, "foo", mock( PageData.class ) );
@@ -183,13 +222,66 @@ public class RemotePageTest {
   @Test
   public void testDestroyActionsSendsDestroy() {
     RemotePage page = new RemotePage( ui, descriptor, "foo", mock( PageData.class ) );
-    page.createActions();
+    Map<String, RemoteAction> actionIndex = new HashMap<String, RemoteAction>();
+    page.createActions( actionIndex );
 
-    page.destroyActions();
+    page.destroyActions( actionIndex );
 
     verify( remoteObject ).destroy();
   }
 
+  @Test
+  public void testDetachKeepsHiddenControl() {
+    RemotePage page = new RemotePage( ui, descriptor, "foo", mock( PageData.class ) );
+    page.createControl( shell );
+
+    page.detach();
+
+    verify( remoteObject ).destroy();
+    assertFalse( page.getControl().isDisposed() );
+    assertFalse( page.getControl().getVisible() );
+  }
+
+  @Test
+  public void testReattachShowsControlWithNewData() {
+    RemotePage page = new RemotePage( ui, descriptor, "foo", mock( PageData.class ) );
+    page.createControl( shell );
+    page.detach();
+    PageData data = mock( PageData.class );
+
+    page.reattach( data );
+
+    assertSame( data, page.getData() );
+    assertTrue( page.getControl().getVisible() );
+    verify( remoteObject, times( 2 ) ).set( "control", WidgetUtil.getId( page.getControl() ) );
+  }
+
+  @Test
+  public void testReattachResetsTitle() {
+    RemotePage page = new RemotePage( ui, descriptor, "foo", mock( PageData.class ) );
+    page.createControl( shell );
+    page.setTitle( "baz" );
+    page.detach();
+
+    page.reattach( mock( PageData.class ) );
+
+    verify( remoteObject, times( 1 ) ).set( "title", "baz" );
+    verify( remoteObject, times( 2 ) ).set( "title", "bar" );
+  }
+
+  @Test
+  public void testReattachReusesReusablePage() {
+    doReturn( TestReusablePage.class ).when( descriptor ).getPageType();
+    RemotePage page = new RemotePage( ui, descriptor, "foo", mock( PageData.class ) );
+    page.createControl( shell );
+    page.detach();
+    PageData data = mock( PageData.class );
+
+    page.reattach( data );
+
+    assertSame( data, ( ( TestReusablePage )page.getPage() ).getReusedData() );
+  }
+
   @Test
   public void testGetDescriptor() {
     RemotePage page = new RemotePage( ui, descriptor, "foo", mock( PageData.class ) );
@@ -224,4 +316,13 @@ public class RemotePageTest {
     assertNotNull( page );
     assertTrue( page instanceof TestPage );
   }
+
+  @Test
+  public void testCreatesPageOnlyOnce() {
+    RemotePage remotePage = new RemotePage( ui, descriptor, "foo", mock( PageData.class ) );
+
+    Page page = remotePage.getPage();
+
+    assertSame( page, remotePage.getPage() );
+  }
 }
@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal.ui;
+
+import com.eclipsesource.tabris.ui.PageData;
+import com.eclipsesource.tabris.ui.ReusablePage;
+
+
+public class TestReusablePage extends TestPage implements ReusablePage {
+
+  private PageData reusedData;
+
+  @Override
+  public void reuse( PageData data ) {
+    reusedData = data;
+  }
+
+  public PageData getReusedData() {
+    return reusedData;
+  }
+
+}
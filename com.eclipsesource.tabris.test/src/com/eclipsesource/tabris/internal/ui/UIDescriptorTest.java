@@ -12,6 +12,7 @@ package com.eclipsesource.tabris.internal.ui;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -155,6 +156,52 @@ public class UIDescriptorTest {
     assertSame( descriptor3, rootPages.get( 1 ) );
   }
 
+  @Test( expected = UnsupportedOperationException.class )
+  public void testGetRootPagesIsImmutable() {
+    UIDescriptor uiDescriptor = new UIDescriptor();
+    uiDescriptor.add( createDescriptor( "foo1", true ) );
+
+    uiDescriptor.getRootPages().add( createDescriptor( "foo2", true ) );
+  }
+
+  @Test
+  public void testGetRootPagesIsComputedOnlyOnAdd() {
+    UIDescriptor uiDescriptor = new UIDescriptor();
+    uiDescriptor.add( createDescriptor( "foo1", true ) );
+
+    List<PageDescriptor> rootPages = uiDescriptor.getRootPages();
+
+    assertSame( rootPages, uiDescriptor.getRootPages() );
+  }
+
+  @Test
+  public void testGetRootPagesWithoutPages() {
+    UIDescriptor uiDescriptor = new UIDescriptor();
+
+    assertTrue( uiDescriptor.getRootPages().isEmpty() );
+  }
+
+  @Test
+  public void testGetPageDescriptorWithUnknownId() {
+    UIDescriptor uiDescriptor = new UIDescriptor();
+    uiDescriptor.add( createDescriptor( "foo" ) );
+
+    assertNull( uiDescriptor.getPageDescriptor( "bar" ) );
+  }
+
+  @Test
+  public void testGetActionDescriptorWithUnknownId() {
+    UIDescriptor uiDescriptor = new UIDescriptor();
+    uiDescriptor.add( new ActionDescriptor( "foo",
+                                            new TestAction(),
+                                            "bar",
+                                            UIDescriptorTest.class.getResourceAsStream( "testImage.png" ),
+                                            true,
+                                            true ) );
+
+    assertNull( uiDescriptor.getActionDescriptor( "bar" ) );
+  }
+
   private PageDescriptor createDescriptor( String id, boolean isRoot ) {
     return new PageDescriptor( id, TestPage.class, "", null, isRoot );
   }
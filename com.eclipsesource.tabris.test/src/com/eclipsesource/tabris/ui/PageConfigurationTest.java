@@ -31,6 +31,7 @@ import com.eclipsesource.tabris.internal.ui.ActionDescriptor;
 import com.eclipsesource.tabris.internal.ui.PageDescriptor;
 import com.eclipsesource.tabris.internal.ui.TestAction;
 import com.eclipsesource.tabris.internal.ui.TestPage;
+import com.eclipsesource.tabris.internal.ui.TestReusablePage;
 import com.eclipsesource.tabris.internal.ui.UITestUtil;
 
 
@@ -76,6 +77,29 @@ public class PageConfigurationTest {
     assertNotNull( descriptor );
   }
 
+  @Test
+  public void testIsNotReusableByDefault() {
+    PageConfiguration config = new PageConfiguration( "foo", TestReusablePage.class );
+
+    PageDescriptor descriptor = config.getAdapter( PageDescriptor.class );
+
+    assertFalse( descriptor.isReusable() );
+  }
+
+  @Test
+  public void testSetReusable() {
+    PageConfiguration config = new PageConfiguration( "foo", TestReusablePage.class ).setReusable( true );
+
+    PageDescriptor descriptor = config.getAdapter( PageDescriptor.class );
+
+    assertTrue( descriptor.isReusable() );
+  }
+
+  @Test( expected = IllegalStateException.class )
+  public void testSetReusableFailsForNonReusablePage() {
+    new PageConfiguration( "foo", TestPage.class ).setReusable( true );
+  }
+
   @Test
   public void testSetsDefaultValues() {
     PageConfiguration config = new PageConfiguration( "foo", TestPage.class );
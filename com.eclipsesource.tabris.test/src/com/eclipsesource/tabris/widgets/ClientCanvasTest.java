@@ -11,19 +11,30 @@
 package com.eclipsesource.tabris.widgets;
 
 import static com.eclipsesource.tabris.internal.DataWhitelist.WhiteListEntry.CLIENT_CANVAS;
+import static com.eclipsesource.tabris.internal.DataWhitelist.WhiteListEntry.COMPACT_DRAWINGS;
 import static org.eclipse.rap.rwt.lifecycle.WidgetUtil.getId;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 
+import javax.imageio.ImageIO;
+
+import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.testfixture.Fixture;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.PaintEvent;
@@ -37,10 +48,15 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
+import com.eclipsesource.tabris.internal.ClientCanvasDispatcher;
+import com.eclipsesource.tabris.internal.ClientCanvasRegistry;
 import com.eclipsesource.tabris.internal.ClientCanvasTestUtil;
+import com.eclipsesource.tabris.internal.CompactDrawingsCodec;
+import com.eclipsesource.tabris.internal.DrawingOperations;
 import com.eclipsesource.tabris.internal.DrawingsCache;
 
 
+@SuppressWarnings("restriction")
 public class ClientCanvasTest {
 
   private ClientCanvas clientCanvas;
@@ -140,6 +156,34 @@ public class ClientCanvasTest {
     verify( paintListener, times( 2 ) ).paintControl( captor.capture() );
   }
 
+  @Test
+  public void testCachesCompactDrawings() {
+    String drawings = ClientCanvasTestUtil.createDrawings( 2 );
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    String compactDrawings = CompactDrawingsCodec.encode( DrawingOperations.fromJson( drawings ) );
+    parameters.put( ClientCanvas.COMPACT_DRAWINGS_PROPERTY, compactDrawings );
+    Fixture.fakeNewRequest();
+    Fixture.fakeNotifyOperation( getId( clientCanvas ), ClientCanvas.DRAWING_EVENT, parameters );
+    Fixture.executeLifeCycleFromServerThread();
+
+    DrawingsCache cache = clientCanvas.getAdapter( DrawingsCache.class );
+    assertEquals( drawings, cache.getCachedDrawings().get( 0 ) );
+  }
+
+  @Test
+  public void testCompactDrawingsAreDisabledByDefault() {
+    assertFalse( clientCanvas.isCompactDrawingsEnabled() );
+    assertNull( clientCanvas.getData( COMPACT_DRAWINGS.getKey() ) );
+  }
+
+  @Test
+  public void testEnablesCompactDrawings() {
+    clientCanvas.setCompactDrawingsEnabled( true );
+
+    assertTrue( clientCanvas.isCompactDrawingsEnabled() );
+    assertEquals( Boolean.TRUE, clientCanvas.getData( COMPACT_DRAWINGS.getKey() ) );
+  }
+
   @Test
   public void testClearTriggersRedraw() {
     CheckPaintListener listener = new CheckPaintListener();
@@ -287,6 +331,168 @@ public class ClientCanvasTest {
     verify( listener, never() ).receivedDrawing();
   }
 
+  @Test
+  public void testHasNoHistoryBudgetByDefault() {
+    assertEquals( 0, clientCanvas.getHistoryBudget() );
+  }
+
+  @Test
+  public void testSetHistoryBudget() {
+    clientCanvas.setHistoryBudget( 1024 );
+
+    assertEquals( 1024, clientCanvas.getHistoryBudget() );
+  }
+
+  @Test
+  public void testHasNoSimplificationToleranceByDefault() {
+    assertEquals( 0, clientCanvas.getSimplificationTolerance() );
+  }
+
+  @Test
+  public void testSetSimplificationTolerance() {
+    clientCanvas.setSimplificationTolerance( 2 );
+
+    assertEquals( 2, clientCanvas.getSimplificationTolerance() );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testSetNegativeSimplificationToleranceFails() {
+    clientCanvas.setSimplificationTolerance( -1 );
+  }
+
+  @Test
+  public void testSimplifiesReceivedDrawings() {
+    clientCanvas.setSimplificationTolerance( 1 );
+    DrawingOperations drawing = new DrawingOperations();
+    drawing.addPolyline( new int[] { 0, 0, 10, 10, 20, 20 } );
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put( ClientCanvas.DRAWINGS_PROPERTY, drawing.toJson() );
+    Fixture.fakeNewRequest();
+    Fixture.fakeNotifyOperation( getId( clientCanvas ), ClientCanvas.DRAWING_EVENT, parameters );
+    Fixture.executeLifeCycleFromServerThread();
+
+    DrawingsCache cache = clientCanvas.getAdapter( DrawingsCache.class );
+    DrawingOperations expected = new DrawingOperations();
+    expected.addPolyline( new int[] { 0, 0, 20, 20 } );
+    assertEquals( expected, cache.getCachedOperations().get( 0 ) );
+  }
+
+  @Test
+  public void testSnapshotHasClientAreaSize() {
+    clientCanvas.setSize( 100, 50 );
+
+    ClientCanvasSnapshot snapshot = clientCanvas.createSnapshot();
+
+    assertEquals( 100, snapshot.getWidth() );
+    assertEquals( 50, snapshot.getHeight() );
+  }
+
+  @Test
+  public void testSnapshotIsSerializable() {
+    assertTrue( Serializable.class.isAssignableFrom( ClientCanvasSnapshot.class ) );
+  }
+
+  @Test
+  public void testSnapshotWritesPng() throws IOException {
+    clientCanvas.setSize( 100, 50 );
+    fakeDrawEvent();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    clientCanvas.createSnapshot().writePng( out );
+
+    BufferedImage image = ImageIO.read( new ByteArrayInputStream( out.toByteArray() ) );
+    assertEquals( 100, image.getWidth() );
+    assertEquals( 50, image.getHeight() );
+  }
+
+  @Test
+  public void testSnapshotIgnoresLaterDrawings() throws IOException {
+    clientCanvas.setSize( 100, 50 );
+    ClientCanvasSnapshot snapshot = clientCanvas.createSnapshot();
+    fakeDrawEvent();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    snapshot.writePng( out );
+
+    BufferedImage image = ImageIO.read( new ByteArrayInputStream( out.toByteArray() ) );
+    assertEquals( 0, image.getRGB( 0, 0 ) );
+  }
+
+  @Test( expected = IllegalStateException.class )
+  public void testSnapshotWithoutSizeFailsToWritePng() throws IOException {
+    clientCanvas.setSize( 0, 0 );
+
+    clientCanvas.createSnapshot().writePng( new ByteArrayOutputStream() );
+  }
+
+  @Test
+  public void testRegistersInSessionRegistry() {
+    ClientCanvasRegistry registry = ClientCanvasRegistry.getInstance();
+
+    assertSame( clientCanvas, registry.getCanvas( getId( clientCanvas ) ) );
+  }
+
+  @Test
+  public void testUnregistersOnDispose() {
+    String id = getId( clientCanvas );
+
+    clientCanvas.dispose();
+
+    assertNull( ClientCanvasRegistry.getInstance().getCanvas( id ) );
+  }
+
+  @Test
+  public void testEraseRemovesIntersectingDrawings() {
+    fakeDrawEvent();
+
+    clientCanvas.erase( 0, 0, 10, 10 );
+
+    DrawingsCache cache = clientCanvas.getAdapter( DrawingsCache.class );
+    assertTrue( cache.getVisibleOperations( null ).isEmpty() );
+    assertTrue( clientCanvas.hasUndo() );
+  }
+
+  @Test
+  public void testEraseCanBeUndone() {
+    fakeDrawEvent();
+    clientCanvas.erase( 0, 0, 10, 10 );
+
+    clientCanvas.undo();
+
+    DrawingsCache cache = clientCanvas.getAdapter( DrawingsCache.class );
+    assertEquals( 1, cache.getVisibleOperations( null ).size() );
+  }
+
+  @Test
+  public void testEraseFiresDrawingReceived() {
+    fakeDrawEvent();
+    ClientDrawListener listener = mock( ClientDrawListener.class );
+    clientCanvas.addClientDrawListener( listener );
+
+    clientCanvas.erase( 0, 0, 10, 10 );
+
+    verify( listener ).receivedDrawing();
+  }
+
+  @Test
+  public void testEraseOutsideDrawingsDoesNothing() {
+    fakeDrawEvent();
+    ClientDrawListener listener = mock( ClientDrawListener.class );
+    clientCanvas.addClientDrawListener( listener );
+
+    clientCanvas.erase( 100, 100, 10, 10 );
+
+    verify( listener, never() ).receivedDrawing();
+  }
+
+  @Test
+  public void testRemovesDispatcherWhenLastCanvasIsDisposed() {
+    clientCanvas.dispose();
+
+    ApplicationContextImpl applicationContext = ContextProvider.getApplicationContext();
+    assertNull( applicationContext.getAttribute( ClientCanvasDispatcher.class.getName() + "#instance" ) );
+  }
+
   private void fakeDrawEvent() {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put( ClientCanvas.DRAWINGS_PROPERTY, ClientCanvasTestUtil.createDrawings( 2 ) );
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.widgets.swipe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class CachingSwipeItemProviderTest {
+
+  private SwipeItemDataProvider<String, String> dataProvider;
+  private SwipeItemDataCache<String, String> cache;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    Fixture.setUp();
+    dataProvider = mock( SwipeItemDataProvider.class );
+    doReturn( "key1" ).when( dataProvider ).getKey( 1 );
+    doReturn( "data1" ).when( dataProvider ).loadData( "key1" );
+    cache = SwipeItemDataCache.getInstance( "test", 10, 60000 );
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testIsSerializable() {
+    assertTrue( Serializable.class.isAssignableFrom( CachingSwipeItemProvider.class ) );
+  }
+
+  @Test
+  public void testIsNoBulkSwipeItemProvider() {
+    assertFalse( BulkSwipeItemProvider.class.isAssignableFrom( CachingSwipeItemProvider.class ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testFailsWithNullDataProvider() {
+    new CachingSwipeItemProvider<String, String>( null, cache );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testFailsWithNullCache() {
+    new CachingSwipeItemProvider<String, String>( dataProvider, null );
+  }
+
+  @Test
+  public void testDelegatesItemCount() {
+    doReturn( Integer.valueOf( 23 ) ).when( dataProvider ).getItemCount();
+    CachingSwipeItemProvider<String, String> provider = createProvider();
+
+    assertEquals( 23, provider.getItemCount() );
+  }
+
+  @Test
+  public void testLoadsAndCachesDataOnMiss() {
+    SwipeItem item = mock( SwipeItem.class );
+    doReturn( item ).when( dataProvider ).createItem( 1, "data1" );
+    CachingSwipeItemProvider<String, String> provider = createProvider();
+
+    SwipeItem actualItem = provider.getItem( 1 );
+
+    assertSame( item, actualItem );
+    verify( dataProvider ).loadData( "key1" );
+    assertEquals( "data1", cache.get( "key1" ) );
+  }
+
+  @Test
+  public void testUsesCachedDataOfOtherSession() {
+    cache.put( "key1", "cachedData" );
+    CachingSwipeItemProvider<String, String> provider = createProvider();
+
+    provider.getItem( 1 );
+
+    verify( dataProvider, never() ).loadData( anyString() );
+    verify( dataProvider ).createItem( 1, "cachedData" );
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testUsesSameCacheAfterDeserialization() throws Exception {
+    dataProvider = mock( SwipeItemDataProvider.class, withSettings().serializable() );
+    cache.put( "key1", "data1" );
+    CachingSwipeItemProvider<String, String> provider = createProvider();
+
+    CachingSwipeItemProvider<String, String> deserializedProvider = serializeAndDeserialize( provider );
+
+    assertSame( cache, deserializedProvider.getCache() );
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T serializeAndDeserialize( T object ) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ObjectOutputStream output = new ObjectOutputStream( bytes );
+    output.writeObject( object );
+    output.close();
+    ObjectInputStream input = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) );
+    return ( T )input.readObject();
+  }
+
+  private CachingSwipeItemProvider<String, String> createProvider() {
+    return new CachingSwipeItemProvider<String, String>( dataProvider, cache );
+  }
+}
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.widgets.swipe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+
+import org.eclipse.swt.SWT;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class DirectionalPreloadingPolicyTest {
+
+  private DirectionalPreloadingPolicy policy;
+
+  @Before
+  public void setUp() {
+    policy = new DirectionalPreloadingPolicy( 2, 1, 4 );
+  }
+
+  @Test
+  public void testIsSerializable() {
+    assertTrue( Serializable.class.isAssignableFrom( DirectionalPreloadingPolicy.class ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testFailsWithZeroAhead() {
+    new DirectionalPreloadingPolicy( 0, 1, 1 );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testFailsWithNegativeBehind() {
+    new DirectionalPreloadingPolicy( 1, -1, 1 );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testFailsWithMaxAheadSmallerThanAhead() {
+    new DirectionalPreloadingPolicy( 2, 1, 1 );
+  }
+
+  @Test
+  public void testDefaultValues() {
+    DirectionalPreloadingPolicy defaultPolicy = new DirectionalPreloadingPolicy();
+
+    assertEquals( SWT.RIGHT, defaultPolicy.getDirection() );
+    assertEquals( 2, defaultPolicy.getPreloadCount( SWT.RIGHT ) );
+    assertEquals( 1, defaultPolicy.getPreloadCount( SWT.LEFT ) );
+  }
+
+  @Test
+  public void testSwipeLeftSwitchesDirection() {
+    policy.itemChanged( 5, 4, 0 );
+
+    assertEquals( SWT.LEFT, policy.getDirection() );
+    assertEquals( 2, policy.getPreloadCount( SWT.LEFT ) );
+    assertEquals( 1, policy.getPreloadCount( SWT.RIGHT ) );
+  }
+
+  @Test
+  public void testFirstItemKeepsDirection() {
+    policy.itemChanged( -1, 4, 0 );
+
+    assertEquals( SWT.RIGHT, policy.getDirection() );
+  }
+
+  @Test
+  public void testFastSwipesIncreaseAhead() {
+    policy.itemChanged( 0, 1, 1000 );
+    policy.itemChanged( 1, 2, 1200 );
+
+    assertEquals( 3, policy.getPreloadCount( SWT.RIGHT ) );
+    assertEquals( 1, policy.getPreloadCount( SWT.LEFT ) );
+  }
+
+  @Test
+  public void testFastSwipesAreLimitedByMaxAhead() {
+    for( int i = 0; i < 10; i++ ) {
+      policy.itemChanged( i, i + 1, i * 100 );
+    }
+
+    assertEquals( 4, policy.getPreloadCount( SWT.RIGHT ) );
+  }
+
+  @Test
+  public void testSlowSwipeResetsAhead() {
+    policy.itemChanged( 0, 1, 1000 );
+    policy.itemChanged( 1, 2, 1200 );
+
+    policy.itemChanged( 2, 3, 1200 + DirectionalPreloadingPolicy.FAST_SWIPE_INTERVAL + 1 );
+
+    assertEquals( 2, policy.getPreloadCount( SWT.RIGHT ) );
+  }
+
+  @Test
+  public void testChangingDirectionResetsAhead() {
+    policy.itemChanged( 0, 1, 1000 );
+    policy.itemChanged( 1, 2, 1100 );
+
+    policy.itemChanged( 2, 1, 1200 );
+
+    assertEquals( 2, policy.getPreloadCount( SWT.LEFT ) );
+    assertEquals( 1, policy.getPreloadCount( SWT.RIGHT ) );
+  }
+
+  @Test
+  public void testJumpResetsAhead() {
+    policy.itemChanged( 0, 1, 1000 );
+    policy.itemChanged( 1, 2, 1100 );
+
+    policy.itemChanged( 2, 10, 1200 );
+
+    assertEquals( SWT.RIGHT, policy.getDirection() );
+    assertEquals( 2, policy.getPreloadCount( SWT.RIGHT ) );
+  }
+}
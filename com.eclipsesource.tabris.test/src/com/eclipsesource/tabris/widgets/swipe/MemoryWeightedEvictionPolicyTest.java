@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.widgets.swipe;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.io.Serializable;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class MemoryWeightedEvictionPolicyTest {
+
+  private MemoryWeightedEvictionPolicy policy;
+
+  @Before
+  public void setUp() {
+    policy = new MemoryWeightedEvictionPolicy( 100, 10 );
+  }
+
+  @Test
+  public void testIsSerializable() {
+    assertTrue( Serializable.class.isAssignableFrom( MemoryWeightedEvictionPolicy.class ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testFailsWithNegativeBudget() {
+    new MemoryWeightedEvictionPolicy( -1 );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testFailsWithNegativeDefaultItemSize() {
+    new MemoryWeightedEvictionPolicy( 100, -1 );
+  }
+
+  @Test
+  public void testUsesDefaultSizeForUnsizedItems() {
+    policy.itemLoaded( 0, mock( SwipeItem.class ) );
+
+    assertEquals( 10, policy.getTotalSize() );
+  }
+
+  @Test
+  public void testUsesEstimatedSize() {
+    policy.itemLoaded( 0, mockSizedItem( 42 ) );
+
+    assertEquals( 42, policy.getTotalSize() );
+  }
+
+  @Test
+  public void testLoadingItemAgainReplacesSize() {
+    policy.itemLoaded( 0, mockSizedItem( 42 ) );
+
+    policy.itemLoaded( 0, mockSizedItem( 12 ) );
+
+    assertEquals( 12, policy.getTotalSize() );
+  }
+
+  @Test
+  public void testRemoveItemReducesSize() {
+    policy.itemLoaded( 0, mockSizedItem( 42 ) );
+    policy.itemLoaded( 1, mockSizedItem( 12 ) );
+
+    policy.itemRemoved( 0 );
+
+    assertEquals( 12, policy.getTotalSize() );
+  }
+
+  @Test
+  public void testEvictsNothingWithinBudget() {
+    policy.itemLoaded( 0, mockSizedItem( 50 ) );
+    policy.itemLoaded( 1, mockSizedItem( 50 ) );
+
+    assertEquals( 0, policy.getItemsToEvict( 1, 1 ).length );
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsedFirst() {
+    policy.itemLoaded( 0, mockSizedItem( 40 ) );
+    policy.itemLoaded( 1, mockSizedItem( 40 ) );
+    policy.itemLoaded( 2, mockSizedItem( 40 ) );
+    policy.itemLoaded( 3, mockSizedItem( 40 ) );
+    policy.itemActivated( 0 );
+
+    int[] evicted = policy.getItemsToEvict( 3, 3 );
+
+    assertArrayEquals( new int[] { 1, 2 }, evicted );
+  }
+
+  @Test
+  public void testDoesNotEvictItemsInRange() {
+    policy.itemLoaded( 0, mockSizedItem( 80 ) );
+    policy.itemLoaded( 1, mockSizedItem( 80 ) );
+
+    int[] evicted = policy.getItemsToEvict( 0, 1 );
+
+    assertEquals( 0, evicted.length );
+  }
+
+  @Test
+  public void testEvictsOnlyUntilBudgetIsMet() {
+    policy.itemLoaded( 0, mockSizedItem( 20 ) );
+    policy.itemLoaded( 1, mockSizedItem( 20 ) );
+    policy.itemLoaded( 2, mockSizedItem( 70 ) );
+    policy.itemLoaded( 3, mockSizedItem( 10 ) );
+
+    int[] evicted = policy.getItemsToEvict( 3, 3 );
+
+    assertArrayEquals( new int[] { 0 }, evicted );
+  }
+
+  private static SwipeItem mockSizedItem( long size ) {
+    SizedSwipeItem item = mock( SizedSwipeItem.class );
+    doReturn( Long.valueOf( size ) ).when( item ).getEstimatedSize();
+    return item;
+  }
+}
@@ -318,4 +318,42 @@ public class SwipeCommunicationTest {
     verify( remoteObject ).set( "active", 0 );
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testSendsSingleUpdateWithBatchUpdates() {
+    SwipeItemProvider itemProvider = mockProvider( 4 );
+    mockSwipeItem( itemProvider, 0, true );
+    mockSwipeItem( itemProvider, 1, true );
+    mockSwipeItem( itemProvider, 2, true );
+    TestItem lastItem = mockSwipeItem( itemProvider, 3, true );
+    Swipe swipe = new Swipe( shell, itemProvider );
+    swipe.setBatchUpdatesEnabled( true );
+    swipe.show( 1 );
+
+    swipe.show( 2 );
+
+    ArgumentCaptor<Map> captor = ArgumentCaptor.forClass( Map.class );
+    verify( remoteObject, times( 2 ) ).call( eq( "update" ), captor.capture() );
+    Map properties = captor.getValue();
+    assertArrayEquals( new int[] { 0 }, ( int[] )properties.get( "removedItems" ) );
+    assertArrayEquals( new int[] { 3 }, ( int[] )properties.get( "addedItems" ) );
+    String lastItemId = WidgetUtil.getId( lastItem.getLoadedComposite() );
+    assertArrayEquals( new String[] { lastItemId }, ( String[] )properties.get( "controls" ) );
+    assertEquals( Integer.valueOf( 2 ), properties.get( "active" ) );
+    verify( remoteObject, never() ).call( eq( "remove" ), anyMap() );
+    verify( remoteObject, never() ).set( "active", 2 );
+  }
+
+  @Test
+  public void testSendsNoUpdateWithoutBatchUpdates() {
+    SwipeItemProvider itemProvider = mockProvider( 2 );
+    mockSwipeItem( itemProvider, 0, true );
+    mockSwipeItem( itemProvider, 1, true );
+    Swipe swipe = new Swipe( shell, itemProvider );
+
+    swipe.show( 1 );
+
+    verify( remoteObject, never() ).call( eq( "update" ), anyMap() );
+  }
+
 }
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.widgets.swipe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.Serializable;
+
+import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.testfixture.Fixture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+@SuppressWarnings("restriction")
+public class SwipeItemDataCacheTest {
+
+  private TestCache cache;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    cache = new TestCache( 2, 1000 );
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testIsNotSerializable() {
+    assertFalse( Serializable.class.isAssignableFrom( SwipeItemDataCache.class ) );
+  }
+
+  @Test
+  public void testGetInstanceCreatesCache() {
+    SwipeItemDataCache<String, String> actualCache = SwipeItemDataCache.getInstance( "foo", 3, 500 );
+
+    assertEquals( "foo", actualCache.getName() );
+    assertEquals( 3, actualCache.getMaxSize() );
+    assertEquals( 500, actualCache.getTimeToLive() );
+    assertEquals( 0, actualCache.size() );
+  }
+
+  @Test
+  public void testGetInstanceReturnsSameCacheForName() {
+    SwipeItemDataCache<String, String> actualCache = SwipeItemDataCache.getInstance( "foo", 3, 500 );
+
+    assertSame( actualCache, SwipeItemDataCache.getInstance( "foo", 5, 1000 ) );
+  }
+
+  @Test
+  public void testGetInstanceReturnsDifferentCachesForDifferentNames() {
+    SwipeItemDataCache<String, String> actualCache = SwipeItemDataCache.getInstance( "foo", 3, 500 );
+
+    assertNotSame( actualCache, SwipeItemDataCache.getInstance( "bar", 3, 500 ) );
+  }
+
+  @Test
+  public void testGetInstanceStoresCacheInApplicationContext() {
+    SwipeItemDataCache<String, String> actualCache = SwipeItemDataCache.getInstance( "foo", 3, 500 );
+
+    ApplicationContextImpl applicationContext = ContextProvider.getApplicationContext();
+    assertSame( actualCache, applicationContext.getAttribute( SwipeItemDataCache.ATTRIBUTE_PREFIX + "foo" ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testGetInstanceFailsWithNullName() {
+    SwipeItemDataCache.getInstance( null, 3, 500 );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testFailsWithZeroMaxSize() {
+    SwipeItemDataCache.getInstance( "foo", 0, 1000 );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testFailsWithZeroTimeToLive() {
+    SwipeItemDataCache.getInstance( "foo", 1, 0 );
+  }
+
+  @Test
+  public void testGetReturnsCachedData() {
+    cache.put( "foo", "bar" );
+
+    assertEquals( "bar", cache.get( "foo" ) );
+    assertEquals( 1, cache.getHitCount() );
+    assertEquals( 0, cache.getMissCount() );
+  }
+
+  @Test
+  public void testGetCountsMiss() {
+    assertNull( cache.get( "foo" ) );
+    assertEquals( 0, cache.getHitCount() );
+    assertEquals( 1, cache.getMissCount() );
+  }
+
+  @Test
+  public void testDoesNotCacheNull() {
+    cache.put( "foo", null );
+
+    assertEquals( 0, cache.size() );
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsed() {
+    cache.put( "a", "1" );
+    cache.put( "b", "2" );
+    cache.get( "a" );
+
+    cache.put( "c", "3" );
+
+    assertEquals( 2, cache.size() );
+    assertEquals( 1, cache.getEvictionCount() );
+    assertNull( cache.get( "b" ) );
+    assertEquals( "1", cache.get( "a" ) );
+    assertEquals( "3", cache.get( "c" ) );
+  }
+
+  @Test
+  public void testExpiresAfterTimeToLive() {
+    cache.put( "foo", "bar" );
+
+    cache.time = 1000;
+
+    assertNull( cache.get( "foo" ) );
+    assertEquals( 1, cache.getEvictionCount() );
+    assertEquals( 1, cache.getMissCount() );
+    assertEquals( 0, cache.size() );
+  }
+
+  @Test
+  public void testDoesNotExpireBeforeTimeToLive() {
+    cache.put( "foo", "bar" );
+
+    cache.time = 999;
+
+    assertEquals( "bar", cache.get( "foo" ) );
+  }
+
+  @Test
+  public void testInvalidate() {
+    cache.put( "foo", "bar" );
+
+    cache.invalidate( "foo" );
+
+    assertNull( cache.get( "foo" ) );
+  }
+
+  @Test
+  public void testClear() {
+    cache.put( "a", "1" );
+    cache.put( "b", "2" );
+
+    cache.clear();
+
+    assertEquals( 0, cache.size() );
+  }
+
+  private static class TestCache extends SwipeItemDataCache<String, String> {
+
+    long time;
+
+    TestCache( int maxSize, long timeToLive ) {
+      super( "test", maxSize, timeToLive );
+    }
+
+    @Override
+    long getCurrentTime() {
+      return time;
+    }
+  }
+}
@@ -13,6 +13,7 @@ package com.eclipsesource.tabris.widgets.swipe;
 import static com.eclipsesource.tabris.internal.DataWhitelist.WhiteListEntry.SWIPE;
 import static com.eclipsesource.tabris.test.TabrisTestUtil.mockRemoteObject;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -29,9 +30,12 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.rap.rwt.testfixture.Fixture;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
@@ -258,6 +262,76 @@ public class SwipeTest {
     verify( nextItem ).load( any( Composite.class ) );
   }
 
+  @Test
+  public void testItemCountChangedLoadsNewItems() {
+    SwipeItemProvider itemProvider = mockProvider( 1 );
+    mockSwipeItem( itemProvider, 0, true );
+    SwipeItem nextItem = mockSwipeItem( itemProvider, 1, true );
+    Swipe swipe = new Swipe( shell, itemProvider );
+
+    mockProviderSize( itemProvider, 2 );
+    swipe.itemCountChanged();
+
+    verify( nextItem ).load( any( Composite.class ) );
+  }
+
+  @Test
+  public void testItemCountChangedRemovesItemsOutOfBounds() {
+    SwipeItemProvider itemProvider = mockProvider( 3 );
+    mockSwipeItem( itemProvider, 0, true );
+    mockSwipeItem( itemProvider, 1, true );
+    mockSwipeItem( itemProvider, 2, true );
+    Swipe swipe = new Swipe( shell, itemProvider );
+    swipe.show( 1 );
+
+    mockProviderSize( itemProvider, 2 );
+    swipe.itemCountChanged();
+
+    assertTrue( swipe.getItemHolder().isLoaded( 0 ) );
+    assertTrue( swipe.getItemHolder().isLoaded( 1 ) );
+    assertFalse( swipe.getItemHolder().isLoaded( 2 ) );
+  }
+
+  @Test
+  public void testItemCountChangedDoesNotActivateCurrentItemAgain() {
+    SwipeItemProvider itemProvider = mockProvider( 2 );
+    SwipeItem currentItem = mockSwipeItem( itemProvider, 0, true );
+    mockSwipeItem( itemProvider, 1, true );
+    Swipe swipe = new Swipe( shell, itemProvider );
+
+    swipe.itemCountChanged();
+
+    verify( currentItem ).load( any( Composite.class ) );
+    verify( currentItem ).activate( any( SwipeContext.class ) );
+  }
+
+  @Test( expected = IllegalStateException.class )
+  public void testItemCountChangedFailsWhenCurrentItemWasRemoved() {
+    SwipeItemProvider itemProvider = mockProvider( 3 );
+    mockSwipeItem( itemProvider, 0, true );
+    mockSwipeItem( itemProvider, 1, true );
+    mockSwipeItem( itemProvider, 2, true );
+    Swipe swipe = new Swipe( shell, itemProvider );
+    swipe.show( 2 );
+
+    mockProviderSize( itemProvider, 2 );
+    swipe.itemCountChanged();
+  }
+
+  @Test
+  public void testShowReadsItemCountOnce() {
+    SwipeItemProvider itemProvider = mockProvider( 5 );
+    for( int i = 0; i < 5; i++ ) {
+      mockSwipeItem( itemProvider, i, true );
+    }
+    Swipe swipe = new Swipe( shell, itemProvider );
+    swipe.setCacheSize( 2 );
+
+    swipe.show( 2 );
+
+    verify( itemProvider, times( 3 ) ).getItemCount();
+  }
+
   @Test
   public void testSetCacheSizeTriggersRefresh() {
     SwipeItemProvider itemProvider = mockProvider( 3 );
@@ -272,6 +346,267 @@ public class SwipeTest {
     verify( itemToLoad ).load( any( Composite.class ) );
   }
 
+  @Test
+  public void testPreloadingPolicyIsNullByDefault() {
+    Swipe swipe = new Swipe( shell, mockProvider( 0 ) );
+
+    assertNull( swipe.getPreloadingPolicy() );
+  }
+
+  @Test
+  public void testSetPreloadingPolicy() {
+    Swipe swipe = new Swipe( shell, mockProvider( 0 ) );
+    SwipePreloadingPolicy policy = mock( SwipePreloadingPolicy.class );
+
+    swipe.setPreloadingPolicy( policy );
+
+    assertSame( policy, swipe.getPreloadingPolicy() );
+  }
+
+  @Test
+  public void testSetCacheSizeRemovesPreloadingPolicy() {
+    Swipe swipe = new Swipe( shell, mockProvider( 0 ) );
+    swipe.setPreloadingPolicy( mock( SwipePreloadingPolicy.class ) );
+
+    swipe.setCacheSize( 2 );
+
+    assertNull( swipe.getPreloadingPolicy() );
+  }
+
+  @Test( expected = IllegalStateException.class )
+  public void testSetPreloadingPolicyAfterDisposeFails() {
+    Swipe swipe = new Swipe( shell, mockProvider( 0 ) );
+    swipe.dispose();
+
+    swipe.setPreloadingPolicy( mock( SwipePreloadingPolicy.class ) );
+  }
+
+  @Test
+  public void testSetPreloadingPolicyTriggersRefresh() {
+    SwipeItemProvider itemProvider = mockProvider( 4 );
+    mockSwipeItem( itemProvider, 0, true );
+    mockSwipeItem( itemProvider, 1, true );
+    SwipeItem itemToLoad = mockSwipeItem( itemProvider, 2, true );
+    SwipeItem itemNotToLoad = mockSwipeItem( itemProvider, 3, true );
+    Swipe swipe = new Swipe( shell, itemProvider );
+    SwipePreloadingPolicy policy = mock( SwipePreloadingPolicy.class );
+    when( Integer.valueOf( policy.getPreloadCount( SWT.RIGHT ) ) ).thenReturn( Integer.valueOf( 2 ) );
+
+    swipe.setPreloadingPolicy( policy );
+
+    verify( itemToLoad ).load( any( Composite.class ) );
+    verify( itemNotToLoad, never() ).load( any( Composite.class ) );
+  }
+
+  @Test
+  public void testDoesNotNotifyPreloadingPolicyOnShow() {
+    SwipeItemProvider itemProvider = mockProvider( 3 );
+    mockSwipeItem( itemProvider, 0, true );
+    mockSwipeItem( itemProvider, 1, true );
+    mockSwipeItem( itemProvider, 2, true );
+    Swipe swipe = new Swipe( shell, itemProvider );
+    SwipePreloadingPolicy policy = mock( SwipePreloadingPolicy.class );
+    swipe.setPreloadingPolicy( policy );
+
+    swipe.show( 1 );
+
+    verify( policy, never() ).itemChanged( anyInt(), anyInt() );
+  }
+
+  @Test
+  public void testDoesNotNotifyPreloadingPolicyOnRefresh() {
+    SwipeItemProvider itemProvider = mockProvider( 3 );
+    mockSwipeItem( itemProvider, 0, true );
+    mockSwipeItem( itemProvider, 1, true );
+    Swipe swipe = new Swipe( shell, itemProvider );
+    SwipePreloadingPolicy policy = mock( SwipePreloadingPolicy.class );
+    swipe.setPreloadingPolicy( policy );
+
+    swipe.refresh();
+
+    verify( policy, never() ).itemChanged( anyInt(), anyInt() );
+  }
+
+  @Test
+  public void testPreloadsAsymmetricWithPreloadingPolicy() {
+    SwipeItemProvider itemProvider = mockProvider( 5 );
+    mockSwipeItem( itemProvider, 0, true );
+    mockSwipeItem( itemProvider, 1, true );
+    mockSwipeItem( itemProvider, 2, true );
+    SwipeItem aheadItem = mockSwipeItem( itemProvider, 3, true );
+    mockSwipeItem( itemProvider, 4, true );
+    Swipe swipe = new Swipe( shell, itemProvider );
+    SwipePreloadingPolicy policy = mock( SwipePreloadingPolicy.class );
+    when( Integer.valueOf( policy.getPreloadCount( SWT.RIGHT ) ) ).thenReturn( Integer.valueOf( 2 ) );
+    swipe.setPreloadingPolicy( policy );
+
+    swipe.show( 1 );
+
+    verify( aheadItem ).load( any( Composite.class ) );
+    assertFalse( swipe.getItemHolder().isLoaded( 0 ) );
+    assertFalse( swipe.getItemHolder().isLoaded( 4 ) );
+  }
+
+  @Test
+  public void testBindsRecycledContentInsteadOfLoading() {
+    SwipeItemProvider itemProvider = mockProvider( 4 );
+    SwipeItem firstItem = mockRecyclableSwipeItem( itemProvider, 0 );
+    mockRecyclableSwipeItem( itemProvider, 1 );
+    mockRecyclableSwipeItem( itemProvider, 2 );
+    RecyclableSwipeItem lastItem = mockRecyclableSwipeItem( itemProvider, 3 );
+    Swipe swipe = new Swipe( shell, itemProvider );
+    Control firstContent = swipe.getItemHolder().getContentForItem( 0 );
+    swipe.show( 1 );
+
+    swipe.show( 2 );
+
+    verify( firstItem ).load( any( Composite.class ) );
+    verify( lastItem ).bind( firstContent, 3 );
+    verify( lastItem, never() ).load( any( Composite.class ) );
+    assertSame( firstContent, swipe.getItemHolder().getContentForItem( 3 ) );
+    assertFalse( firstContent.isDisposed() );
+  }
+
+  @Test
+  public void testRequestsEachItemOnlyOnce() {
+    SwipeItemProvider itemProvider = mockProvider( 3 );
+    mockSwipeItem( itemProvider, 0, true );
+    mockSwipeItem( itemProvider, 1, true );
+    mockSwipeItem( itemProvider, 2, true );
+    Swipe swipe = new Swipe( shell, itemProvider );
+
+    swipe.show( 1 );
+
+    verify( itemProvider ).getItem( 0 );
+    verify( itemProvider ).getItem( 1 );
+    verify( itemProvider ).getItem( 2 );
+  }
+
+  @Test
+  public void testFetchesMissingItemsWithBulkProvider() {
+    BulkSwipeItemProvider itemProvider = mockBulkProvider( 6 );
+    List<SwipeItem> lastItems = createItems( 2 );
+    when( itemProvider.getItems( 0, 2 ) ).thenReturn( createItems( 2 ) );
+    when( itemProvider.getItems( 2, 4 ) ).thenReturn( createItems( 2 ) );
+    when( itemProvider.getItems( 4, 6 ) ).thenReturn( lastItems );
+    Swipe swipe = new Swipe( shell, itemProvider );
+    swipe.setCacheSize( 3 );
+
+    swipe.show( 2 );
+
+    verify( itemProvider ).getItems( 0, 2 );
+    verify( itemProvider ).getItems( 2, 4 );
+    verify( itemProvider ).getItems( 4, 6 );
+    verify( itemProvider, never() ).getItem( anyInt() );
+    assertSame( lastItems.get( 1 ), swipe.getItemHolder().getItem( 5 ) );
+  }
+
+  @Test
+  public void testFetchesOnlyMissingItemsWithBulkProvider() {
+    BulkSwipeItemProvider itemProvider = mockBulkProvider( 6 );
+    when( itemProvider.getItems( 0, 2 ) ).thenReturn( createItems( 2 ) );
+    when( itemProvider.getItems( 2, 3 ) ).thenReturn( createItems( 1 ) );
+    when( itemProvider.getItems( 4, 5 ) ).thenReturn( createItems( 1 ) );
+    Swipe swipe = new Swipe( shell, itemProvider );
+    SwipeItem heldItem = spy( new TestItem() );
+    swipe.getItemHolder().addItem( 3, heldItem );
+
+    swipe.setCacheSize( 4 );
+
+    verify( itemProvider ).getItems( 2, 3 );
+    verify( itemProvider ).getItems( 4, 5 );
+    verify( itemProvider, never() ).getItems( 2, 5 );
+    assertSame( heldItem, swipe.getItemHolder().getItem( 3 ) );
+  }
+
+  @Test( expected = IllegalStateException.class )
+  public void testFailsWhenBulkProviderReturnsTooFewItems() {
+    BulkSwipeItemProvider itemProvider = mockBulkProvider( 3 );
+    when( itemProvider.getItems( 0, 2 ) ).thenReturn( createItems( 1 ) );
+
+    new Swipe( shell, itemProvider );
+  }
+
+  @Test
+  public void testEvictionPolicyIsNullByDefault() {
+    Swipe swipe = new Swipe( shell, mockProvider( 0 ) );
+
+    assertNull( swipe.getEvictionPolicy() );
+  }
+
+  @Test
+  public void testSetEvictionPolicyRegistersLoadedItems() {
+    SwipeItemProvider itemProvider = mockProvider( 2 );
+    SwipeItem firstItem = mockSwipeItem( itemProvider, 0, true );
+    SwipeItem secondItem = mockSwipeItem( itemProvider, 1, true );
+    Swipe swipe = new Swipe( shell, itemProvider );
+    SwipeEvictionPolicy policy = mock( SwipeEvictionPolicy.class );
+
+    swipe.setEvictionPolicy( policy );
+
+    assertSame( policy, swipe.getEvictionPolicy() );
+    verify( policy ).itemLoaded( 0, firstItem );
+    verify( policy ).itemLoaded( 1, secondItem );
+  }
+
+  @Test
+  public void testKeepsItemsOutOfRangeWithEvictionPolicy() {
+    SwipeItemProvider itemProvider = mockProvider( 4 );
+    mockSwipeItem( itemProvider, 0, true );
+    mockSwipeItem( itemProvider, 1, true );
+    mockSwipeItem( itemProvider, 2, true );
+    mockSwipeItem( itemProvider, 3, true );
+    Swipe swipe = new Swipe( shell, itemProvider );
+    SwipeEvictionPolicy policy = mock( SwipeEvictionPolicy.class );
+    when( policy.getItemsToEvict( anyInt(), anyInt() ) ).thenReturn( new int[ 0 ] );
+    swipe.setEvictionPolicy( policy );
+
+    swipe.show( 1 );
+    swipe.show( 2 );
+
+    assertTrue( swipe.getItemHolder().isLoaded( 0 ) );
+    verify( policy ).itemActivated( 2 );
+    verify( policy ).getItemsToEvict( 1, 3 );
+  }
+
+  @Test
+  public void testRemovesEvictedItems() {
+    SwipeItemProvider itemProvider = mockProvider( 4 );
+    mockSwipeItem( itemProvider, 0, true );
+    mockSwipeItem( itemProvider, 1, true );
+    mockSwipeItem( itemProvider, 2, true );
+    mockSwipeItem( itemProvider, 3, true );
+    Swipe swipe = new Swipe( shell, itemProvider );
+    SwipeEvictionPolicy policy = mock( SwipeEvictionPolicy.class );
+    when( policy.getItemsToEvict( anyInt(), anyInt() ) ).thenReturn( new int[ 0 ] );
+    when( policy.getItemsToEvict( 1, 3 ) ).thenReturn( new int[] { 0 } );
+    swipe.setEvictionPolicy( policy );
+    swipe.show( 1 );
+
+    swipe.show( 2 );
+
+    assertFalse( swipe.getItemHolder().isLoaded( 0 ) );
+    verify( policy ).itemRemoved( 0 );
+  }
+
+  @Test
+  public void testRemovingEvictionPolicyRemovesRetainedItems() {
+    SwipeItemProvider itemProvider = mockProvider( 4 );
+    mockSwipeItem( itemProvider, 0, true );
+    mockSwipeItem( itemProvider, 1, true );
+    mockSwipeItem( itemProvider, 2, true );
+    mockSwipeItem( itemProvider, 3, true );
+    Swipe swipe = new Swipe( shell, itemProvider );
+    swipe.setEvictionPolicy( new MemoryWeightedEvictionPolicy( Long.MAX_VALUE ) );
+    swipe.show( 1 );
+    swipe.show( 2 );
+
+    swipe.setEvictionPolicy( null );
+
+    assertFalse( swipe.getItemHolder().isLoaded( 0 ) );
+    assertTrue( swipe.getItemHolder().isLoaded( 1 ) );
+  }
+
   @Test
   public void testDeactivatesPreviousItemAndLoadsNextFromLeft() {
     SwipeItemProvider itemProvider = mockProvider( 3 );
@@ -539,6 +874,39 @@ public class SwipeTest {
     assertSame( item.getLoadedComposite(), layout.getOnTopControl() );
   }
 
+  @Test
+  public void testLaysOutLoadedItemBeforeNotifyingListeners() {
+    SwipeItemProvider itemProvider = mockProvider( 1 );
+    final TestItem item = mockSwipeItem( itemProvider, 0, true );
+    Swipe swipe = new Swipe( shell, itemProvider );
+    swipe.getControl().setSize( 100, 200 );
+    final List<Rectangle> loadedBounds = new ArrayList<Rectangle>();
+    swipe.addSwipeListener( new SwipeAdapter() {
+
+      @Override
+      public void itemLoaded( SwipeItem swipeItem, int index ) {
+        loadedBounds.add( item.getLoadedComposite().getBounds() );
+      }
+    } );
+
+    swipe.show( 0 );
+
+    assertEquals( new Rectangle( 0, 0, 100, 200 ), loadedBounds.get( 0 ) );
+  }
+
+  @Test
+  public void testLaysOutBatchedItemsAfterShow() {
+    SwipeItemProvider itemProvider = mockProvider( 1 );
+    TestItem item = mockSwipeItem( itemProvider, 0, true );
+    Swipe swipe = new Swipe( shell, itemProvider );
+    swipe.getControl().setSize( 100, 200 );
+    swipe.setBatchUpdatesEnabled( true );
+
+    swipe.show( 0 );
+
+    assertEquals( new Rectangle( 0, 0, 100, 200 ), item.getLoadedComposite().getBounds() );
+  }
+
   @Test
   public void testShowSetsTopControlOnStackWithMoultipleItems() {
     SwipeItemProvider itemProvider = mockProvider( 2 );
@@ -914,6 +1282,26 @@ public class SwipeTest {
     return swipeItem;
   }
 
+  public static RecyclableSwipeItem mockRecyclableSwipeItem( SwipeItemProvider itemProvider, int itemIndex ) {
+    RecyclableSwipeItem swipeItem = spy( new TestRecyclableItem() );
+    when( itemProvider.getItem( itemIndex ) ).thenReturn( swipeItem );
+    return swipeItem;
+  }
+
+  private static BulkSwipeItemProvider mockBulkProvider( int itemCount ) {
+    BulkSwipeItemProvider provider = mock( BulkSwipeItemProvider.class );
+    doReturn( Integer.valueOf( itemCount ) ).when( provider ).getItemCount();
+    return provider;
+  }
+
+  private static List<SwipeItem> createItems( int count ) {
+    List<SwipeItem> result = new ArrayList<SwipeItem>();
+    for( int i = 0; i < count; i++ ) {
+      result.add( spy( new TestItem() ) );
+    }
+    return result;
+  }
+
   public static SwipeItemProvider mockProvider( int itemCount ) {
     SwipeItemProvider provider = mock( SwipeItemProvider.class );
     doReturn( Integer.valueOf( itemCount ) ).when( provider ).getItemCount();
@@ -955,4 +1343,13 @@ public class SwipeTest {
 
   }
 
+  public static class TestRecyclableItem extends TestItem implements RecyclableSwipeItem {
+
+    @Override
+    public void bind( Control content, int index ) {
+      // do nothing, used for mocking
+    }
+
+  }
+
 }
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static com.eclipsesource.tabris.internal.Constants.EVENT_DRAWING;
+
+import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
+import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleUtil;
+import org.eclipse.rap.rwt.internal.protocol.ClientMessage;
+import org.eclipse.rap.rwt.internal.protocol.ClientMessage.NotifyOperation;
+import org.eclipse.rap.rwt.internal.protocol.ClientMessage.Operation;
+import org.eclipse.rap.rwt.internal.protocol.ProtocolUtil;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.lifecycle.PhaseEvent;
+import org.eclipse.rap.rwt.lifecycle.PhaseId;
+import org.eclipse.rap.rwt.lifecycle.PhaseListener;
+import org.eclipse.swt.widgets.Control;
+
+
+/**
+ * Redraws the client canvases that received drawings in the current request. There is only one dispatcher per
+ * application as long as there are client canvases; it looks up the targets of the Drawing events of a request in the
+ * {@link ClientCanvasRegistry} of the current session instead of every canvas listening to every request of every
+ * session.
+ */
+@SuppressWarnings("restriction")
+public class ClientCanvasDispatcher implements PhaseListener {
+
+  static final String ATTRIBUTE_DISPATCHER = ClientCanvasDispatcher.class.getName() + "#instance";
+
+  private int canvasCount;
+
+  /**
+   * Installs the dispatcher for a new canvas. Every call needs to be balanced with a call to {@link #uninstall()}.
+   */
+  public static void install() {
+    ApplicationContextImpl applicationContext = ContextProvider.getApplicationContext();
+    synchronized( applicationContext ) {
+      ClientCanvasDispatcher dispatcher = getDispatcher( applicationContext );
+      if( dispatcher == null ) {
+        dispatcher = new ClientCanvasDispatcher();
+        applicationContext.getLifeCycleFactory().getLifeCycle().addPhaseListener( dispatcher );
+        applicationContext.setAttribute( ATTRIBUTE_DISPATCHER, dispatcher );
+      }
+      dispatcher.canvasCount++;
+    }
+  }
+
+  /**
+   * Removes the dispatcher when the last canvas of the application is disposed.
+   */
+  public static void uninstall() {
+    ApplicationContextImpl applicationContext = ContextProvider.getApplicationContext();
+    synchronized( applicationContext ) {
+      ClientCanvasDispatcher dispatcher = getDispatcher( applicationContext );
+      if( dispatcher != null ) {
+        dispatcher.canvasCount--;
+        if( dispatcher.canvasCount <= 0 ) {
+          applicationContext.getLifeCycleFactory().getLifeCycle().removePhaseListener( dispatcher );
+          applicationContext.removeAttribute( ATTRIBUTE_DISPATCHER );
+        }
+      }
+    }
+  }
+
+  private static ClientCanvasDispatcher getDispatcher( ApplicationContextImpl applicationContext ) {
+    return ( ClientCanvasDispatcher )applicationContext.getAttribute( ATTRIBUTE_DISPATCHER );
+  }
+
+  @Override
+  public void beforePhase( PhaseEvent event ) {
+    if( LifeCycleUtil.getSessionDisplay() != null ) {
+      ClientCanvasRegistry registry = ClientCanvasRegistry.findInstance();
+      if( registry != null && registry.size() > 0 ) {
+        redrawDrawingTargets( registry, ProtocolUtil.getClientMessage() );
+      }
+    }
+  }
+
+  private static void redrawDrawingTargets( ClientCanvasRegistry registry, ClientMessage message ) {
+    for( Operation operation : message.getAllOperations() ) {
+      if( isDrawingEvent( operation ) ) {
+        redraw( registry.getCanvas( operation.getTarget() ) );
+      }
+    }
+  }
+
+  private static boolean isDrawingEvent( Operation operation ) {
+    return    operation instanceof NotifyOperation
+           && EVENT_DRAWING.equals( ( ( NotifyOperation )operation ).getEventName() );
+  }
+
+  private static void redraw( Control canvas ) {
+    if( canvas != null && !canvas.isDisposed() ) {
+      canvas.redraw();
+    }
+  }
+
+  @Override
+  public void afterPhase( PhaseEvent event ) {
+    // do nothing
+  }
+
+  @Override
+  public PhaseId getPhaseId() {
+    return PhaseId.PROCESS_ACTION;
+  }
+}
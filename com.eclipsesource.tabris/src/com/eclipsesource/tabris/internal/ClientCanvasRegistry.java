@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.service.UISession;
+import org.eclipse.swt.widgets.Control;
+
+
+/**
+ * Holds the client canvases of a session keyed by their widget id. The {@link ClientCanvasDispatcher} uses it to
+ * find the canvases a request is addressed to.
+ */
+public class ClientCanvasRegistry implements Serializable {
+
+  static final String ATTRIBUTE_REGISTRY = ClientCanvasRegistry.class.getName() + "#instance";
+
+  private final Map<String, Control> canvases;
+
+  public static ClientCanvasRegistry getInstance() {
+    UISession uiSession = RWT.getUISession();
+    synchronized( uiSession ) {
+      ClientCanvasRegistry result = findInstance();
+      if( result == null ) {
+        result = new ClientCanvasRegistry();
+        uiSession.setAttribute( ATTRIBUTE_REGISTRY, result );
+      }
+      return result;
+    }
+  }
+
+  /**
+   * Returns the registry of the current session or <code>null</code> when the session has no client canvases yet.
+   */
+  public static ClientCanvasRegistry findInstance() {
+    return ( ClientCanvasRegistry )RWT.getUISession().getAttribute( ATTRIBUTE_REGISTRY );
+  }
+
+  public ClientCanvasRegistry() {
+    canvases = new HashMap<String, Control>();
+  }
+
+  public synchronized void register( String id, Control canvas ) {
+    canvases.put( id, canvas );
+  }
+
+  public synchronized void unregister( String id ) {
+    canvases.remove( id );
+  }
+
+  public synchronized Control getCanvas( String id ) {
+    return canvases.get( id );
+  }
+
+  public synchronized List<String> getIds() {
+    return new ArrayList<String>( canvases.keySet() );
+  }
+
+  public synchronized int size() {
+    return canvases.size();
+  }
+}
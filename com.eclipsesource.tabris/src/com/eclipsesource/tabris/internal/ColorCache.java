@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static org.eclipse.rap.rwt.SingletonUtil.getSessionInstance;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.widgets.Display;
+
+
+/**
+ * A bounded, least recently used cache of {@link Color}s keyed by their packed RGB value. There is one cache per
+ * session. Its colors belong to the session display and are disposed together with it.
+ */
+public class ColorCache implements Serializable {
+
+  static final int MAX_COLORS = 256;
+
+  private final ColorMap colors;
+  private Device device;
+
+  public static ColorCache getInstance() {
+    return getSessionInstance( ColorCache.class );
+  }
+
+  public ColorCache() {
+    this( MAX_COLORS );
+  }
+
+  ColorCache( int maxColors ) {
+    colors = new ColorMap( maxColors );
+  }
+
+  public synchronized Color getColor( Device device, int red, int green, int blue ) {
+    checkDevice( device );
+    Integer key = Integer.valueOf( ( ( red & 0xFF ) << 16 ) | ( ( green & 0xFF ) << 8 ) | ( blue & 0xFF ) );
+    Color result = colors.get( key );
+    if( result == null || result.isDisposed() ) {
+      result = new Color( device, red, green, blue );
+      colors.put( key, result );
+    }
+    return result;
+  }
+
+  private void checkDevice( Device device ) {
+    if( this.device != device ) {
+      dispose();
+      this.device = device;
+      if( device instanceof Display ) {
+        ( ( Display )device ).disposeExec( new DisposeRunnable( this ) );
+      }
+    }
+  }
+
+  public synchronized int size() {
+    return colors.size();
+  }
+
+  public synchronized void dispose() {
+    List<Color> disposable = new ArrayList<Color>( colors.values() );
+    colors.clear();
+    for( Color color : disposable ) {
+      if( !color.isDisposed() ) {
+        color.dispose();
+      }
+    }
+  }
+
+  private static class ColorMap extends LinkedHashMap<Integer, Color> {
+
+    private final int maxColors;
+
+    public ColorMap( int maxColors ) {
+      super( 16, 0.75F, true );
+      this.maxColors = maxColors;
+    }
+
+    @Override
+    protected boolean removeEldestEntry( Map.Entry<Integer, Color> eldest ) {
+      boolean result = size() > maxColors;
+      if( result ) {
+        // the GC copies the RGB value of a foreground color, recorded operations are not affected
+        eldest.getValue().dispose();
+      }
+      return result;
+    }
+  }
+
+  private static class DisposeRunnable implements Runnable, Serializable {
+
+    private final ColorCache cache;
+
+    public DisposeRunnable( ColorCache cache ) {
+      this.cache = cache;
+    }
+
+    @Override
+    public void run() {
+      cache.dispose();
+    }
+  }
+}
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static com.eclipsesource.tabris.internal.DrawingOperations.OPCODE_FOREGROUND;
+import static com.eclipsesource.tabris.internal.DrawingOperations.OPCODE_LINE_WIDTH;
+import static com.eclipsesource.tabris.internal.DrawingOperations.OPCODE_POLYLINE;
+
+import java.io.ByteArrayOutputStream;
+
+
+/**
+ * Encodes and decodes the compact wire format of client drawings. The payload is Base64 encoded and starts with a
+ * format version byte followed by the operations:
+ * <ul>
+ * <li><code>lineWidth</code>: opcode, width as varint</li>
+ * <li><code>foreground</code>: opcode, red, green, blue and alpha as one byte each</li>
+ * <li><code>path</code>: opcode, number of coordinates as varint, the first point followed by the deltas to the
+ * previous point, all as zigzag varints</li>
+ * </ul>
+ * The opcodes are the ones of {@link DrawingOperations}.
+ */
+public class CompactDrawingsCodec {
+
+  static final int FORMAT_VERSION = 1;
+
+  public static DrawingOperations decode( String drawings ) {
+    byte[] bytes = Base64.decode( drawings );
+    if( bytes == null || bytes.length == 0 || bytes[ 0 ] != FORMAT_VERSION ) {
+      throw new IllegalArgumentException( "Drawings are not valid compact drawings: " + drawings );
+    }
+    try {
+      return new Decoder( bytes ).decode();
+    } catch( ArrayIndexOutOfBoundsException exception ) {
+      throw new IllegalArgumentException( "Drawings are truncated: " + drawings );
+    }
+  }
+
+  public static String encode( DrawingOperations operations ) {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    stream.write( FORMAT_VERSION );
+    int[] buffer = operations.getBuffer();
+    int size = operations.getSize();
+    int position = 0;
+    while( position < size ) {
+      int opcode = buffer[ position ];
+      int argumentCount = buffer[ position + 1 ];
+      int argumentsStart = position + 2;
+      encodeOperation( stream, opcode, buffer, argumentsStart, argumentCount );
+      position = argumentsStart + argumentCount;
+    }
+    return Base64.encodeBytes( stream.toByteArray(), Base64.DONT_BREAK_LINES );
+  }
+
+  private static void encodeOperation( ByteArrayOutputStream stream,
+                                       int opcode,
+                                       int[] buffer,
+                                       int offset,
+                                       int length )
+  {
+    writeVarint( stream, opcode );
+    if( opcode == OPCODE_LINE_WIDTH ) {
+      writeVarint( stream, buffer[ offset ] );
+    } else if( opcode == OPCODE_FOREGROUND ) {
+      for( int i = 0; i < 4; i++ ) {
+        stream.write( buffer[ offset + i ] );
+      }
+    } else if( opcode == OPCODE_POLYLINE ) {
+      writeVarint( stream, length );
+      int previousX = 0;
+      int previousY = 0;
+      for( int i = offset; i + 1 < offset + length; i += 2 ) {
+        writeVarint( stream, zigzag( buffer[ i ] - previousX ) );
+        writeVarint( stream, zigzag( buffer[ i + 1 ] - previousY ) );
+        previousX = buffer[ i ];
+        previousY = buffer[ i + 1 ];
+      }
+    }
+  }
+
+  private static void writeVarint( ByteArrayOutputStream stream, int value ) {
+    int remaining = value;
+    while( ( remaining & ~0x7F ) != 0 ) {
+      stream.write( ( remaining & 0x7F ) | 0x80 );
+      remaining >>>= 7;
+    }
+    stream.write( remaining );
+  }
+
+  private static int zigzag( int value ) {
+    return ( value << 1 ) ^ ( value >> 31 );
+  }
+
+  private static int unzigzag( int value ) {
+    return ( value >>> 1 ) ^ -( value & 1 );
+  }
+
+  private static class Decoder {
+
+    private final byte[] bytes;
+    private int position;
+
+    Decoder( byte[] bytes ) {
+      this.bytes = bytes;
+      this.position = 1;
+    }
+
+    DrawingOperations decode() {
+      DrawingOperations result = new DrawingOperations();
+      while( position < bytes.length ) {
+        int opcode = readVarint();
+        if( opcode == OPCODE_LINE_WIDTH ) {
+          result.addLineWidth( readVarint() );
+        } else if( opcode == OPCODE_FOREGROUND ) {
+          result.addForeground( readByte(), readByte(), readByte(), readByte() );
+        } else if( opcode == OPCODE_POLYLINE ) {
+          decodePolyline( result );
+        } else {
+          throw new IllegalArgumentException( "Unknown drawing operation: " + opcode );
+        }
+      }
+      return result;
+    }
+
+    private void decodePolyline( DrawingOperations result ) {
+      int length = readVarint();
+      if( length < 0 || length % 2 != 0 || length > ( bytes.length - position ) ) {
+        throw new IllegalArgumentException( "Invalid path length: " + length );
+      }
+      result.beginOperation( OPCODE_POLYLINE, length );
+      int x = 0;
+      int y = 0;
+      for( int i = 0; i < length; i += 2 ) {
+        x += unzigzag( readVarint() );
+        y += unzigzag( readVarint() );
+        result.append( x );
+        result.append( y );
+      }
+    }
+
+    private int readByte() {
+      return bytes[ position++ ] & 0xFF;
+    }
+
+    private int readVarint() {
+      int result = 0;
+      int shift = 0;
+      int current;
+      do {
+        if( shift > 28 ) {
+          throw new IllegalArgumentException( "Varint is too long" );
+        }
+        current = bytes[ position++ ];
+        result |= ( current & 0x7F ) << shift;
+        shift += 7;
+      } while( ( current & 0x80 ) != 0 );
+      return result;
+    }
+  }
+
+  private CompactDrawingsCodec() {
+    // prevent instantiation
+  }
+}
@@ -93,10 +93,18 @@ public class Constants {
   public static final String PROPERTY_ITEMS = "items";
   public static final String PROPERTY_ACTIVE = "active";
   public static final String PROPERTY_INDEX = "index";
+  public static final String METHOD_UPDATE = "update";
+  public static final String PROPERTY_REMOVED_ITEMS = "removedItems";
+  public static final String PROPERTY_ADDED_ITEMS = "addedItems";
+  public static final String PROPERTY_CONTROLS = "controls";
+
+  // ClientCanvas Constants
+  public static final String EVENT_DRAWING = "Drawing";
 
   // GC Constants
   public static final String PROPERTY_PATH = "path";
   public static final String PROPERTY_LINE_WIDTH = "lineWidth";
+  public static final String PROPERTY_ERASE = "erase";
 
   // ClientStore Constants
   public static final String TYPE_CLIENT_STORE = "tabris.ClientStore";
@@ -28,6 +28,7 @@ public class DataWhitelist implements WidgetDataWhiteList, Serializable {
     ZOOM( "zoom" ),
     BACK_FOCUS( "backFocus" ),
     CLIENT_CANVAS( "clientCanvas" ),
+    COMPACT_DRAWINGS( "compactDrawings" ),
     SWIPE( "swipe" ),
     SHOW_TOUCH( "showTouch" );
 
@@ -0,0 +1,322 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static com.eclipsesource.tabris.internal.Constants.PROPERTY_ERASE;
+import static com.eclipsesource.tabris.internal.Constants.PROPERTY_FOREGROUND;
+import static com.eclipsesource.tabris.internal.Constants.PROPERTY_LINE_WIDTH;
+import static com.eclipsesource.tabris.internal.Constants.PROPERTY_PATH;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.eclipse.swt.graphics.Rectangle;
+import org.json.JSONArray;
+import org.json.JSONException;
+
+
+/**
+ * A parsed client drawing. All operations live in a single int buffer, each one encoded as
+ * <code>[opcode, argumentCount, arguments...]</code>.
+ */
+@SuppressWarnings("restriction")
+public class DrawingOperations implements Serializable {
+
+  public static final int OPCODE_LINE_WIDTH = 1;
+  public static final int OPCODE_FOREGROUND = 2;
+  public static final int OPCODE_POLYLINE = 3;
+  public static final int OPCODE_ERASE = 4;
+
+  private static final int DEFAULT_CAPACITY = 32;
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private int[] buffer;
+  private int size;
+  private long digest;
+  private boolean digestValid;
+
+  public DrawingOperations() {
+    buffer = new int[ DEFAULT_CAPACITY ];
+  }
+
+  DrawingOperations( int[] buffer, int size ) {
+    this.buffer = buffer;
+    this.size = size;
+  }
+
+  public static DrawingOperations fromJson( String drawings ) {
+    JSONArray operations;
+    try {
+      operations = new JSONArray( drawings );
+    } catch( JSONException jex ) {
+      throw new IllegalArgumentException( "Drawings are not valid json: " + drawings );
+    }
+    try {
+      return parseOperations( operations );
+    } catch( JSONException jex ) {
+      throw new IllegalStateException( "Drawings cannot be parsed. Invalid format: " + drawings );
+    }
+  }
+
+  private static DrawingOperations parseOperations( JSONArray operations ) throws JSONException {
+    DrawingOperations result = new DrawingOperations();
+    for( int i = 0; i < operations.length(); i++ ) {
+      JSONArray operation = operations.getJSONArray( i );
+      parseOperation( result, operation );
+    }
+    return result;
+  }
+
+  private static void parseOperation( DrawingOperations result, JSONArray operation ) throws JSONException {
+    String operationType = operation.getString( 0 );
+    JSONArray parameters = operation.getJSONArray( 1 );
+    if( PROPERTY_LINE_WIDTH.equals( operationType ) ) {
+      result.addLineWidth( parameters.getInt( 0 ) );
+    } else if( PROPERTY_FOREGROUND.equals( operationType ) ) {
+      result.addForeground( parameters.getInt( 0 ),
+                            parameters.getInt( 1 ),
+                            parameters.getInt( 2 ),
+                            parameters.getInt( 3 ) );
+    } else if( PROPERTY_PATH.equals( operationType ) ) {
+      parseArguments( result, OPCODE_POLYLINE, parameters );
+    } else if( PROPERTY_ERASE.equals( operationType ) ) {
+      throw new IllegalArgumentException( "Drawings must not erase other drawings: " + operation );
+    }
+  }
+
+  private static void parseArguments( DrawingOperations result, int opcode, JSONArray parameters )
+    throws JSONException
+  {
+    int length = parameters.length();
+    result.beginOperation( opcode, length );
+    for( int i = 0; i < length; i++ ) {
+      result.append( parameters.getInt( i ) );
+    }
+  }
+
+  public void addLineWidth( int width ) {
+    beginOperation( OPCODE_LINE_WIDTH, 1 );
+    append( width );
+  }
+
+  public void addForeground( int red, int green, int blue, int alpha ) {
+    beginOperation( OPCODE_FOREGROUND, 4 );
+    append( red );
+    append( green );
+    append( blue );
+    append( alpha );
+  }
+
+  public void addPolyline( int[] points ) {
+    beginOperation( OPCODE_POLYLINE, points.length );
+    System.arraycopy( points, 0, buffer, size, points.length );
+    size += points.length;
+  }
+
+  /**
+   * Adds the server side erasure of the cached drawings with the given indices. Such a drawing doesn't paint
+   * anything itself. Erasures are never parsed from client drawings.
+   */
+  public void addErase( int[] drawingIndices ) {
+    beginOperation( OPCODE_ERASE, drawingIndices.length );
+    System.arraycopy( drawingIndices, 0, buffer, size, drawingIndices.length );
+    size += drawingIndices.length;
+  }
+
+  void beginOperation( int opcode, int argumentCount ) {
+    digestValid = false;
+    ensureCapacity( size + 2 + argumentCount );
+    buffer[ size++ ] = opcode;
+    buffer[ size++ ] = argumentCount;
+  }
+
+  void append( int value ) {
+    buffer[ size++ ] = value;
+  }
+
+  private void ensureCapacity( int capacity ) {
+    if( capacity > buffer.length ) {
+      int newLength = Math.max( capacity, buffer.length * 2 );
+      buffer = Arrays.copyOf( buffer, newLength );
+    }
+  }
+
+  public void trimToSize() {
+    if( size < buffer.length ) {
+      buffer = Arrays.copyOf( buffer, size );
+    }
+  }
+
+  /**
+   * Returns the backing buffer. Only the first {@link #getSize()} elements are valid. The array must not be
+   * modified.
+   */
+  public int[] getBuffer() {
+    return buffer;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public boolean isErase() {
+    return size > 0 && buffer[ 0 ] == OPCODE_ERASE;
+  }
+
+  /**
+   * Returns the indices of the erased drawings if this is an erase drawing, an empty array otherwise.
+   */
+  public int[] getErasedIndices() {
+    int[] result = new int[ 0 ];
+    if( isErase() ) {
+      result = Arrays.copyOfRange( buffer, 2, 2 + buffer[ 1 ] );
+    }
+    return result;
+  }
+
+  /**
+   * Returns the area covered by the paths including the line width or <code>null</code> if nothing is painted.
+   */
+  public Rectangle getBounds() {
+    int left = Integer.MAX_VALUE;
+    int top = Integer.MAX_VALUE;
+    int right = Integer.MIN_VALUE;
+    int bottom = Integer.MIN_VALUE;
+    int lineWidth = 1;
+    int position = 0;
+    while( position < size ) {
+      int opcode = buffer[ position ];
+      int argumentCount = buffer[ position + 1 ];
+      int argumentsStart = position + 2;
+      if( opcode == OPCODE_LINE_WIDTH && argumentCount > 0 ) {
+        lineWidth = Math.max( 1, buffer[ argumentsStart ] );
+      } else if( opcode == OPCODE_POLYLINE ) {
+        int margin = lineWidth / 2 + 1;
+        for( int i = argumentsStart; i + 1 < argumentsStart + argumentCount; i += 2 ) {
+          left = Math.min( left, buffer[ i ] - margin );
+          right = Math.max( right, buffer[ i ] + margin );
+          top = Math.min( top, buffer[ i + 1 ] - margin );
+          bottom = Math.max( bottom, buffer[ i + 1 ] + margin );
+        }
+      }
+      position = argumentsStart + argumentCount;
+    }
+    Rectangle result = null;
+    if( left <= right ) {
+      result = new Rectangle( left, top, right - left + 1, bottom - top + 1 );
+    }
+    return result;
+  }
+
+  /**
+   * Returns the estimated heap size of these operations in bytes.
+   */
+  public int getMemorySize() {
+    return buffer.length * 4 + 32;
+  }
+
+  public String toJson() {
+    JSONArray result = new JSONArray();
+    int position = 0;
+    while( position < size ) {
+      int opcode = buffer[ position ];
+      int argumentCount = buffer[ position + 1 ];
+      int argumentsStart = position + 2;
+      result.put( createJsonOperation( opcode, argumentsStart, argumentCount ) );
+      position = argumentsStart + argumentCount;
+    }
+    return result.toString();
+  }
+
+  private JSONArray createJsonOperation( int opcode, int argumentsStart, int argumentCount ) {
+    JSONArray operation = new JSONArray();
+    operation.put( getOperationType( opcode ) );
+    JSONArray parameters = new JSONArray();
+    for( int i = 0; i < argumentCount; i++ ) {
+      parameters.put( buffer[ argumentsStart + i ] );
+    }
+    operation.put( parameters );
+    return operation;
+  }
+
+  private static String getOperationType( int opcode ) {
+    String result;
+    if( opcode == OPCODE_LINE_WIDTH ) {
+      result = PROPERTY_LINE_WIDTH;
+    } else if( opcode == OPCODE_FOREGROUND ) {
+      result = PROPERTY_FOREGROUND;
+    } else if( opcode == OPCODE_ERASE ) {
+      result = PROPERTY_ERASE;
+    } else {
+      result = PROPERTY_PATH;
+    }
+    return result;
+  }
+
+  /**
+   * Returns a 64 bit FNV-1a digest of the operations. It's computed once and cached until the operations change.
+   */
+  public long getDigest() {
+    if( !digestValid ) {
+      digest = computeDigest();
+      digestValid = true;
+    }
+    return digest;
+  }
+
+  private long computeDigest() {
+    long result = FNV_OFFSET_BASIS;
+    for( int i = 0; i < size; i++ ) {
+      int value = buffer[ i ];
+      for( int shift = 0; shift < 32; shift += 8 ) {
+        result ^= ( value >>> shift ) & 0xFF;
+        result *= FNV_PRIME;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public int hashCode() {
+    long value = getDigest();
+    return ( int )( value ^ ( value >>> 32 ) );
+  }
+
+  @Override
+  public boolean equals( Object object ) {
+    if( this == object ) {
+      return true;
+    }
+    if( object == null || getClass() != object.getClass() ) {
+      return false;
+    }
+    DrawingOperations other = ( DrawingOperations )object;
+    if( size != other.size || getDigest() != other.getDigest() ) {
+      return false;
+    }
+    for( int i = 0; i < size; i++ ) {
+      if( buffer[ i ] != other.buffer[ i ] ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return toJson();
+  }
+}
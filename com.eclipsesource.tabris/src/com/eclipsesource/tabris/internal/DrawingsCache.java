@@ -12,54 +12,80 @@ package com.eclipsesource.tabris.internal;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.graphics.Rectangle;
 
 
 public class DrawingsCache implements Serializable {
 
-  private final List<String> cachedDrawings;
-  private final List<String> removedDrawings;
+  private final DrawingsHistory cachedDrawings;
+  private final DrawingsHistory removedDrawings;
+  private final Map<Long, List<Integer>> cachedDrawingsIndex;
+  private final DrawingsSpatialIndex spatialIndex;
+  private final BitSet erasedDrawings;
   private final Object lock = new Object();
+  private int historyBudget;
 
   public DrawingsCache() {
-    cachedDrawings = new ArrayList<String>();
-    removedDrawings = new ArrayList<String>();
+    this( DrawingsHistory.DEFAULT_BLOCK_SIZE );
+  }
+
+  DrawingsCache( int historyBlockSize ) {
+    cachedDrawings = new DrawingsHistory( historyBlockSize );
+    removedDrawings = new DrawingsHistory( historyBlockSize );
+    cachedDrawingsIndex = new HashMap<Long, List<Integer>>();
+    spatialIndex = new DrawingsSpatialIndex();
+    erasedDrawings = new BitSet();
   }
 
   public void clear() {
     synchronized( lock ) {
-      cachedDrawings.clear();
+      clearCached();
       removedDrawings.clear();
     }
   }
 
   public void clearCachedDrawings() {
     synchronized( lock ) {
-      cachedDrawings.clear();
+      clearCached();
     }
   }
 
+  private void clearCached() {
+    cachedDrawings.clear();
+    cachedDrawingsIndex.clear();
+    spatialIndex.clear();
+    erasedDrawings.clear();
+  }
+
   public boolean hasUndo() {
-    return !cachedDrawings.isEmpty();
+    synchronized( lock ) {
+      return !cachedDrawings.isEmpty();
+    }
   }
 
   public void undo() {
     synchronized( lock ) {
-      int lastObjectIndex = cachedDrawings.size() - 1;
-      String lastObject = cachedDrawings.remove( lastObjectIndex );
-      removedDrawings.add( lastObject );
+      DrawingOperations lastObject = removeCached();
+      removedDrawings.push( lastObject );
     }
   }
 
   public boolean hasRedo() {
-    return !removedDrawings.isEmpty();
+    synchronized( lock ) {
+      return !removedDrawings.isEmpty();
+    }
   }
 
   public void redo() {
     synchronized( lock ) {
-      int lastObjectIndex = removedDrawings.size() - 1;
-      String lastObject = removedDrawings.remove( lastObjectIndex );
-      cachedDrawings.add( lastObject );
+      DrawingOperations lastObject = removedDrawings.pop();
+      addCached( lastObject );
     }
   }
 
@@ -70,16 +96,120 @@ public class DrawingsCache implements Serializable {
   }
 
   public void cache( String drawings ) {
+    if( drawings != null ) {
+      cache( DrawingOperations.fromJson( drawings ) );
+    }
+  }
+
+  public void cache( DrawingOperations drawings ) {
+    if( drawings.isErase() ) {
+      throw new IllegalArgumentException( "Drawings must not erase other drawings." );
+    }
+    drawings.trimToSize();
+    // compute the digest outside of the lock
+    drawings.getDigest();
     synchronized( lock ) {
-      if( !cachedDrawings.contains( drawings ) ) {
-        cachedDrawings.add( drawings );
+      if( !isCached( drawings ) ) {
+        addCached( drawings );
+        enforceHistoryBudget();
+      }
+    }
+  }
+
+  // A matching digest is confirmed by comparing the operations, both buffers are trimmed to their size
+  private boolean isCached( DrawingOperations drawings ) {
+    boolean result = false;
+    List<Integer> indices = cachedDrawingsIndex.get( Long.valueOf( drawings.getDigest() ) );
+    if( indices != null ) {
+      BitSet candidates = new BitSet();
+      for( Integer index : indices ) {
+        candidates.set( index.intValue() );
+      }
+      for( DrawingOperations candidate : cachedDrawings.get( candidates, 0, cachedDrawings.size() ) ) {
+        result |= Arrays.equals( drawings.getBuffer(), candidate.getBuffer() );
       }
     }
+    return result;
   }
 
   public void cacheAll( List<String> drawings ) {
+    List<DrawingOperations> operations = parseAll( drawings );
     synchronized( lock ) {
-      cachedDrawings.addAll( drawings );
+      for( DrawingOperations drawing : operations ) {
+        addCached( drawing );
+      }
+      enforceHistoryBudget();
+    }
+  }
+
+  // The index maps digests to the indices of the drawings so that compressed drawings don't need to stay on the heap
+  private void addCached( DrawingOperations drawing ) {
+    int[] erasedIndices = drawing.getErasedIndices();
+    checkErasedIndices( erasedIndices );
+    Long key = Long.valueOf( drawing.getDigest() );
+    List<Integer> indices = cachedDrawingsIndex.get( key );
+    if( indices == null ) {
+      indices = new ArrayList<Integer>( 1 );
+      cachedDrawingsIndex.put( key, indices );
+    }
+    indices.add( Integer.valueOf( cachedDrawings.size() ) );
+    cachedDrawings.push( drawing );
+    spatialIndex.push( drawing.getBounds() );
+    for( int index : erasedIndices ) {
+      erasedDrawings.set( index );
+    }
+  }
+
+  private void checkErasedIndices( int[] erasedIndices ) {
+    for( int index : erasedIndices ) {
+      if( index < 0 || index >= cachedDrawings.size() ) {
+        throw new IllegalArgumentException( "Erased drawing does not exist: " + index );
+      }
+    }
+  }
+
+  private DrawingOperations removeCached() {
+    DrawingOperations drawing = cachedDrawings.pop();
+    Long key = Long.valueOf( drawing.getDigest() );
+    List<Integer> indices = cachedDrawingsIndex.get( key );
+    if( indices != null ) {
+      // the popped drawing has the highest index
+      indices.remove( indices.size() - 1 );
+      if( indices.isEmpty() ) {
+        cachedDrawingsIndex.remove( key );
+      }
+    }
+    spatialIndex.pop();
+    for( int index : drawing.getErasedIndices() ) {
+      erasedDrawings.clear( index );
+    }
+    return drawing;
+  }
+
+  /**
+   * Erases all visible drawings that intersect the given area. The erasure is cached as a drawing of its own so
+   * that it can be undone.
+   *
+   * @return whether any drawing was erased
+   */
+  public boolean erase( Rectangle area ) {
+    synchronized( lock ) {
+      BitSet intersecting = spatialIndex.query( area );
+      intersecting.andNot( erasedDrawings );
+      boolean result = !intersecting.isEmpty();
+      if( result ) {
+        int[] indices = new int[ intersecting.cardinality() ];
+        int position = 0;
+        for( int i = intersecting.nextSetBit( 0 ); i >= 0; i = intersecting.nextSetBit( i + 1 ) ) {
+          indices[ position++ ] = i;
+        }
+        DrawingOperations erasure = new DrawingOperations();
+        erasure.addErase( indices );
+        erasure.trimToSize();
+        addCached( erasure );
+        enforceHistoryBudget();
+      }
+      return result;
     }
   }
 
@@ -90,16 +220,138 @@ public class DrawingsCache implements Serializable {
   }
 
   public void addAllRemoved( List<String> removedDrawings ) {
+    List<DrawingOperations> operations = parseAll( removedDrawings );
     synchronized( lock ) {
-      this.removedDrawings.addAll( removedDrawings );
+      for( DrawingOperations drawing : operations ) {
+        this.removedDrawings.push( drawing );
+      }
+      enforceHistoryBudget();
     }
   }
 
+  // missing (null) drawings are skipped
+  private static List<DrawingOperations> parseAll( List<String> drawings ) {
+    List<DrawingOperations> result = new ArrayList<DrawingOperations>( drawings.size() );
+    for( String drawing : drawings ) {
+      if( drawing != null ) {
+        DrawingOperations operations = DrawingOperations.fromJson( drawing );
+        operations.trimToSize();
+        operations.getDigest();
+        result.add( operations );
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Limits the estimated heap size of the undo and redo history including its compressed part. Beyond the budget the
+   * oldest drawings are compressed in blocks; they are inflated again when undo or redo reaches them. A budget of
+   * <code>0</code> means unlimited.
+   */
+  public void setHistoryBudget( int historyBudget ) {
+    if( historyBudget < 0 ) {
+      throw new IllegalArgumentException( "History budget must be 0 or positive." );
+    }
+    synchronized( lock ) {
+      this.historyBudget = historyBudget;
+      enforceHistoryBudget();
+    }
+  }
+
+  public int getHistoryBudget() {
+    return historyBudget;
+  }
+
+  public long getHistoryMemorySize() {
+    synchronized( lock ) {
+      return cachedDrawings.getMemorySize() + removedDrawings.getMemorySize();
+    }
+  }
+
+  private void enforceHistoryBudget() {
+    if( historyBudget > 0 ) {
+      long excess = getHistoryMemorySize() - historyBudget;
+      if( excess > 0 ) {
+        // the bottom of the redo stack is the least likely to be needed again
+        excess -= removedDrawings.compress( excess );
+      }
+      if( excess > 0 ) {
+        cachedDrawings.compress( excess );
+      }
+    }
+  }
+
+  public List<DrawingOperations> getCachedOperations() {
+    synchronized( lock ) {
+      return cachedDrawings.getAll();
+    }
+  }
+
+  public List<DrawingOperations> getCachedOperations( int fromIndex ) {
+    synchronized( lock ) {
+      return cachedDrawings.getRange( fromIndex, cachedDrawings.size() );
+    }
+  }
+
+  /**
+   * Returns the drawings that paint something in the given area and were not erased. An area of <code>null</code>
+   * matches all drawings. Only the compressed blocks that hold such drawings are inflated.
+   */
+  public List<DrawingOperations> getVisibleOperations( Rectangle area ) {
+    synchronized( lock ) {
+      int size = cachedDrawings.size();
+      BitSet visible;
+      if( area == null ) {
+        visible = new BitSet( size );
+        for( int i = 0; i < size; i++ ) {
+          if( spatialIndex.getBounds( i ) != null ) {
+            visible.set( i );
+          }
+        }
+      } else {
+        visible = spatialIndex.query( area );
+      }
+      visible.andNot( erasedDrawings );
+      return cachedDrawings.get( visible, 0, size );
+    }
+  }
+
+  public List<DrawingOperations> getRemovedOperations() {
+    synchronized( lock ) {
+      return removedDrawings.getAll();
+    }
+  }
+
+  /**
+   * Returns the drawings that were not erased as JSON. Erasures are applied instead of being returned so that the
+   * result can be passed to {@link #cacheAll(List)} again.
+   */
   public List<String> getCachedDrawings() {
-    return new ArrayList<String>( cachedDrawings );
+    List<DrawingOperations> operations;
+    BitSet erased;
+    synchronized( lock ) {
+      operations = cachedDrawings.getAll();
+      erased = ( BitSet )erasedDrawings.clone();
+    }
+    return toJson( operations, erased );
   }
 
+  /**
+   * Returns the undone drawings as JSON. Undone erasures are left out as their indices refer to drawings that
+   * {@link #getCachedDrawings()} doesn't return.
+   */
   public List<String> getRemovedDrawings() {
-    return new ArrayList<String>( removedDrawings );
+    return toJson( getRemovedOperations(), new BitSet() );
+  }
+
+  private static List<String> toJson( List<DrawingOperations> operations, BitSet erased ) {
+    List<String> result = new ArrayList<String>( operations.size() );
+    for( int i = 0; i < operations.size(); i++ ) {
+      DrawingOperations drawing = operations.get( i );
+      if( !drawing.isErase() && !erased.get( i ) ) {
+        result.add( drawing.toJson() );
+      }
+    }
+    return result;
   }
 }
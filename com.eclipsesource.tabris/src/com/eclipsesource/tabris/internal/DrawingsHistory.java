@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+
+/**
+ * A stack of drawings. To save memory the bottom of the stack can be compressed into blocks of at least
+ * <code>blockSize</code> uncompressed bytes. A block is inflated again when the stack is popped down to it; reading
+ * drawings that are compressed inflates their blocks only temporarily.
+ */
+public class DrawingsHistory implements Serializable {
+
+  static final int DEFAULT_BLOCK_SIZE = 16 * 1024;
+
+  private final List<CompressedBlock> blocks;
+  private final List<DrawingOperations> drawings;
+  private final int blockSize;
+  private int compressedCount;
+  private long memorySize;
+  private long compressedSize;
+
+  public DrawingsHistory() {
+    this( DEFAULT_BLOCK_SIZE );
+  }
+
+  DrawingsHistory( int blockSize ) {
+    this.blockSize = Math.max( 1, blockSize );
+    blocks = new ArrayList<CompressedBlock>();
+    drawings = new ArrayList<DrawingOperations>();
+  }
+
+  public int size() {
+    return compressedCount + drawings.size();
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  public void push( DrawingOperations drawing ) {
+    drawings.add( drawing );
+    memorySize += drawing.getMemorySize();
+  }
+
+  public DrawingOperations pop() {
+    if( drawings.isEmpty() ) {
+      inflateLastBlock();
+    }
+    DrawingOperations result = drawings.remove( drawings.size() - 1 );
+    memorySize -= result.getMemorySize();
+    return result;
+  }
+
+  public void clear() {
+    blocks.clear();
+    drawings.clear();
+    compressedCount = 0;
+    memorySize = 0;
+    compressedSize = 0;
+  }
+
+  /**
+   * Returns the estimated heap size of the drawings including the compressed blocks.
+   */
+  public long getMemorySize() {
+    return memorySize + compressedSize;
+  }
+
+  public int getCompressedCount() {
+    return compressedCount;
+  }
+
+  public List<DrawingOperations> getAll() {
+    return getRange( 0, size() );
+  }
+
+  public List<DrawingOperations> getRange( int fromIndex, int toIndex ) {
+    if( fromIndex < 0 || toIndex > size() || fromIndex > toIndex ) {
+      throw new IndexOutOfBoundsException( "Invalid range " + fromIndex + " to " + toIndex + ", size " + size() );
+    }
+    List<DrawingOperations> result = new ArrayList<DrawingOperations>( toIndex - fromIndex );
+    int blockStart = 0;
+    for( CompressedBlock block : blocks ) {
+      int blockEnd = blockStart + block.getCount();
+      if( blockEnd > fromIndex && blockStart < toIndex ) {
+        List<DrawingOperations> inflated = block.inflate();
+        int from = Math.max( fromIndex, blockStart ) - blockStart;
+        int to = Math.min( toIndex, blockEnd ) - blockStart;
+        result.addAll( inflated.subList( from, to ) );
+      }
+      blockStart = blockEnd;
+    }
+    int from = Math.max( fromIndex, compressedCount ) - compressedCount;
+    int to = toIndex - compressedCount;
+    if( from < to ) {
+      result.addAll( drawings.subList( from, to ) );
+    }
+    return result;
+  }
+
+  /**
+   * Returns the drawings of the given indices within the given range. Compressed blocks that don't contain any of the
+   * indices are not inflated.
+   */
+  public List<DrawingOperations> get( BitSet indices, int fromIndex, int toIndex ) {
+    if( fromIndex < 0 || toIndex > size() || fromIndex > toIndex ) {
+      throw new IndexOutOfBoundsException( "Invalid range " + fromIndex + " to " + toIndex + ", size " + size() );
+    }
+    List<DrawingOperations> result = new ArrayList<DrawingOperations>();
+    int blockStart = 0;
+    for( CompressedBlock block : blocks ) {
+      int blockEnd = Math.min( toIndex, blockStart + block.getCount() );
+      int first = indices.nextSetBit( Math.max( fromIndex, blockStart ) );
+      if( first >= 0 && first < blockEnd ) {
+        List<DrawingOperations> inflated = block.inflate();
+        for( int i = first; i >= 0 && i < blockEnd; i = indices.nextSetBit( i + 1 ) ) {
+          result.add( inflated.get( i - blockStart ) );
+        }
+      }
+      blockStart += block.getCount();
+    }
+    int first = indices.nextSetBit( Math.max( fromIndex, compressedCount ) );
+    for( int i = first; i >= 0 && i < toIndex; i = indices.nextSetBit( i + 1 ) ) {
+      result.add( drawings.get( i - compressedCount ) );
+    }
+    return result;
+  }
+
+  /**
+   * Compresses the oldest uncompressed drawings into blocks until at least the given number of bytes is freed. Each
+   * block holds at least <code>blockSize</code> uncompressed bytes, drawings that don't fill a block stay
+   * uncompressed. The top most drawing is never compressed.
+   *
+   * @return the freed bytes
+   */
+  public long compress( long bytesToFree ) {
+    long freed = 0;
+    int count = getNextBlockCount();
+    while( freed < bytesToFree && count > 0 ) {
+      freed += compressBlock( count );
+      count = getNextBlockCount();
+    }
+    return Math.max( 0, freed );
+  }
+
+  private int getNextBlockCount() {
+    long size = 0;
+    int count = 0;
+    while( size < blockSize && count < drawings.size() - 1 ) {
+      size += drawings.get( count ).getMemorySize();
+      count++;
+    }
+    return size >= blockSize ? count : 0;
+  }
+
+  private long compressBlock( int count ) {
+    List<DrawingOperations> compressed = drawings.subList( 0, count );
+    long size = 0;
+    for( DrawingOperations drawing : compressed ) {
+      size += drawing.getMemorySize();
+    }
+    CompressedBlock block = CompressedBlock.deflate( compressed );
+    blocks.add( block );
+    compressedCount += count;
+    compressed.clear();
+    memorySize -= size;
+    compressedSize += block.getMemorySize();
+    return size - block.getMemorySize();
+  }
+
+  private void inflateLastBlock() {
+    CompressedBlock block = blocks.remove( blocks.size() - 1 );
+    compressedSize -= block.getMemorySize();
+    List<DrawingOperations> inflated = block.inflate();
+    compressedCount -= inflated.size();
+    for( DrawingOperations drawing : inflated ) {
+      memorySize += drawing.getMemorySize();
+    }
+    drawings.addAll( 0, inflated );
+  }
+
+  private static class CompressedBlock implements Serializable {
+
+    private final byte[] data;
+    private final int count;
+
+    private CompressedBlock( byte[] data, int count ) {
+      this.data = data;
+      this.count = count;
+    }
+
+    static CompressedBlock deflate( List<DrawingOperations> drawings ) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream stream = new DataOutputStream( new BufferedOutputStream( new DeflaterOutputStream( bytes ) ) );
+      try {
+        for( DrawingOperations drawing : drawings ) {
+          int size = drawing.getSize();
+          int[] buffer = drawing.getBuffer();
+          stream.writeInt( size );
+          for( int i = 0; i < size; i++ ) {
+            stream.writeInt( buffer[ i ] );
+          }
+        }
+        stream.close();
+      } catch( IOException exception ) {
+        throw new IllegalStateException( "Could not compress drawings", exception );
+      }
+      return new CompressedBlock( bytes.toByteArray(), drawings.size() );
+    }
+
+    List<DrawingOperations> inflate() {
+      List<DrawingOperations> result = new ArrayList<DrawingOperations>( count );
+      InflaterInputStream inflater = new InflaterInputStream( new ByteArrayInputStream( data ) );
+      DataInputStream stream = new DataInputStream( new BufferedInputStream( inflater ) );
+      try {
+        for( int i = 0; i < count; i++ ) {
+          int size = stream.readInt();
+          int[] buffer = new int[ size ];
+          for( int j = 0; j < size; j++ ) {
+            buffer[ j ] = stream.readInt();
+          }
+          result.add( new DrawingOperations( buffer, size ) );
+        }
+        stream.close();
+      } catch( IOException exception ) {
+        throw new IllegalStateException( "Could not inflate drawings", exception );
+      }
+      return result;
+    }
+
+    int getCount() {
+      return count;
+    }
+
+    int getMemorySize() {
+      return data.length + 32;
+    }
+  }
+}
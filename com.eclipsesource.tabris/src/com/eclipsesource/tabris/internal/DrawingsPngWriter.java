@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.BitSet;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.graphics.Rectangle;
+
+
+/**
+ * Writes drawings as a RGBA PNG image. The image is rasterized in tiles of full width and a fixed height which are
+ * deflated into the PNG stream one after another, so only one tile is held in memory at a time. Each tile only
+ * rasterizes the drawings that intersect it. Does not access any widget and can be used from any thread.
+ */
+public class DrawingsPngWriter {
+
+  static final int DEFAULT_TILE_HEIGHT = 128;
+
+  private static final byte[] SIGNATURE = new byte[] { ( byte )0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+  private static final int MAX_CHUNK_SIZE = 32 * 1024;
+  private static final int BIT_DEPTH = 8;
+  private static final int COLOR_TYPE_RGBA = 6;
+  private static final int FILTER_NONE = 0;
+
+  private final int width;
+  private final int height;
+  private final int tileHeight;
+  private final RGB defaultForeground;
+
+  public DrawingsPngWriter( int width, int height, RGB defaultForeground ) {
+    this( width, height, defaultForeground, DEFAULT_TILE_HEIGHT );
+  }
+
+  DrawingsPngWriter( int width, int height, RGB defaultForeground, int tileHeight ) {
+    if( width <= 0 || height <= 0 ) {
+      throw new IllegalArgumentException( "Image size must be positive but was " + width + "x" + height );
+    }
+    this.width = width;
+    this.height = height;
+    this.tileHeight = tileHeight;
+    this.defaultForeground = defaultForeground;
+  }
+
+  public void write( List<DrawingOperations> drawings, OutputStream out ) throws IOException {
+    DataOutputStream stream = new DataOutputStream( out );
+    stream.write( SIGNATURE );
+    writeHeader( stream );
+    writeImageData( drawings, stream );
+    writeChunk( stream, "IEND", new byte[ 0 ], 0 );
+    stream.flush();
+  }
+
+  private void writeHeader( DataOutputStream stream ) throws IOException {
+    byte[] header = new byte[] {
+      ( byte )( width >>> 24 ), ( byte )( width >>> 16 ), ( byte )( width >>> 8 ), ( byte )width,
+      ( byte )( height >>> 24 ), ( byte )( height >>> 16 ), ( byte )( height >>> 8 ), ( byte )height,
+      BIT_DEPTH, COLOR_TYPE_RGBA, 0, 0, 0
+    };
+    writeChunk( stream, "IHDR", header, header.length );
+  }
+
+  private void writeImageData( List<DrawingOperations> drawings, DataOutputStream stream ) throws IOException {
+    DrawingsSpatialIndex index = createIndex( drawings );
+    Deflater deflater = new Deflater();
+    try {
+      DeflaterOutputStream imageData = new DeflaterOutputStream( new ImageDataOutputStream( stream ), deflater );
+      int[] rgbs = new int[ width ];
+      byte[] alphas = new byte[ width ];
+      byte[] scanline = new byte[ 1 + width * 4 ];
+      scanline[ 0 ] = FILTER_NONE;
+      for( int tileTop = 0; tileTop < height; tileTop += tileHeight ) {
+        int rows = Math.min( tileHeight, height - tileTop );
+        DrawingsRasterizer rasterizer = new DrawingsRasterizer( 0, tileTop, width, rows, defaultForeground );
+        BitSet intersecting = index.query( new Rectangle( 0, tileTop, width, rows ) );
+        for( int i = intersecting.nextSetBit( 0 ); i >= 0; i = intersecting.nextSetBit( i + 1 ) ) {
+          rasterizer.draw( drawings.get( i ) );
+        }
+        for( int row = 0; row < rows; row++ ) {
+          rasterizer.writeRow( row, rgbs, alphas );
+          fillScanline( scanline, rgbs, alphas );
+          imageData.write( scanline );
+        }
+      }
+      imageData.close();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static DrawingsSpatialIndex createIndex( List<DrawingOperations> drawings ) {
+    DrawingsSpatialIndex result = new DrawingsSpatialIndex();
+    for( DrawingOperations drawing : drawings ) {
+      result.push( drawing.getBounds() );
+    }
+    return result;
+  }
+
+  private static void fillScanline( byte[] scanline, int[] rgbs, byte[] alphas ) {
+    int index = 1;
+    for( int column = 0; column < rgbs.length; column++ ) {
+      int rgb = rgbs[ column ];
+      scanline[ index++ ] = ( byte )( rgb >> 16 );
+      scanline[ index++ ] = ( byte )( rgb >> 8 );
+      scanline[ index++ ] = ( byte )rgb;
+      scanline[ index++ ] = alphas[ column ];
+    }
+  }
+
+  private static void writeChunk( DataOutputStream stream, String type, byte[] data, int length )
+    throws IOException
+  {
+    byte[] typeBytes = type.getBytes( "US-ASCII" );
+    CRC32 crc = new CRC32();
+    crc.update( typeBytes );
+    crc.update( data, 0, length );
+    stream.writeInt( length );
+    stream.write( typeBytes );
+    stream.write( data, 0, length );
+    stream.writeInt( ( int )crc.getValue() );
+  }
+
+  /**
+   * Splits the deflated image data into IDAT chunks. Closing it writes the last chunk but leaves the underlying
+   * stream open.
+   */
+  private static class ImageDataOutputStream extends OutputStream {
+
+    private final DataOutputStream stream;
+    private final byte[] buffer;
+    private int count;
+
+    ImageDataOutputStream( DataOutputStream stream ) {
+      this.stream = stream;
+      this.buffer = new byte[ MAX_CHUNK_SIZE ];
+    }
+
+    @Override
+    public void write( int value ) throws IOException {
+      if( count == buffer.length ) {
+        writeImageDataChunk();
+      }
+      buffer[ count++ ] = ( byte )value;
+    }
+
+    @Override
+    public void write( byte[] bytes, int offset, int length ) throws IOException {
+      int position = offset;
+      int remaining = length;
+      while( remaining > 0 ) {
+        if( count == buffer.length ) {
+          writeImageDataChunk();
+        }
+        int copied = Math.min( remaining, buffer.length - count );
+        System.arraycopy( bytes, position, buffer, count, copied );
+        count += copied;
+        position += copied;
+        remaining -= copied;
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if( count > 0 ) {
+        writeImageDataChunk();
+      }
+    }
+
+    private void writeImageDataChunk() throws IOException {
+      writeChunk( stream, "IDAT", buffer, count );
+      count = 0;
+    }
+  }
+}
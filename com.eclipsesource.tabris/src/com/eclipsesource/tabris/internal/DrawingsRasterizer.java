@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static com.eclipsesource.tabris.internal.DrawingOperations.OPCODE_FOREGROUND;
+import static com.eclipsesource.tabris.internal.DrawingOperations.OPCODE_LINE_WIDTH;
+import static com.eclipsesource.tabris.internal.DrawingOperations.OPCODE_POLYLINE;
+
+import java.util.Arrays;
+
+import org.eclipse.swt.graphics.RGB;
+
+
+/**
+ * Renders {@link DrawingOperations} into an ARGB pixel buffer on the server. A RAP <code>GC</code> can only
+ * record operations for the client, so rasterizing client drawings has to be done in software. The raster covers
+ * the area <code>(x, y, width, height)</code> of the canvas; everything outside is clipped.
+ */
+public class DrawingsRasterizer {
+
+  private static final int OPAQUE = 255;
+
+  private final int x;
+  private final int y;
+  private final int width;
+  private final int height;
+  private final int[] pixels;
+  private final int defaultColor;
+  private byte[] mask;
+  private int lineWidth;
+  private int color;
+  private int alpha;
+
+  public DrawingsRasterizer( int x, int y, int width, int height, RGB defaultForeground ) {
+    if( width <= 0 || height <= 0 ) {
+      throw new IllegalArgumentException( "Raster size must be positive but was " + width + "x" + height );
+    }
+    this.x = x;
+    this.y = y;
+    this.width = width;
+    this.height = height;
+    this.pixels = new int[ width * height ];
+    this.defaultColor = toInt( defaultForeground );
+    this.mask = new byte[ 0 ];
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  public void clear() {
+    Arrays.fill( pixels, 0 );
+  }
+
+  public void draw( DrawingOperations operations ) {
+    resetState();
+    int[] buffer = operations.getBuffer();
+    int size = operations.getSize();
+    int position = 0;
+    while( position < size ) {
+      int opcode = buffer[ position ];
+      int argumentCount = buffer[ position + 1 ];
+      int argumentsStart = position + 2;
+      drawOperation( opcode, buffer, argumentsStart, argumentCount );
+      position = argumentsStart + argumentCount;
+    }
+  }
+
+  private void resetState() {
+    lineWidth = 1;
+    color = defaultColor;
+    alpha = OPAQUE;
+  }
+
+  private void drawOperation( int opcode, int[] buffer, int offset, int length ) {
+    if( opcode == OPCODE_LINE_WIDTH ) {
+      lineWidth = Math.max( 1, buffer[ offset ] );
+    } else if( opcode == OPCODE_FOREGROUND ) {
+      color = ( ( buffer[ offset ] & 0xFF ) << 16 )
+              | ( ( buffer[ offset + 1 ] & 0xFF ) << 8 )
+              | ( buffer[ offset + 2 ] & 0xFF );
+      alpha = Math.min( OPAQUE, Math.max( 0, buffer[ offset + 3 ] ) );
+    } else if( opcode == OPCODE_POLYLINE ) {
+      drawPolyline( buffer, offset, length );
+    }
+  }
+
+  private void drawPolyline( int[] buffer, int offset, int length ) {
+    if( length < 2 || alpha == 0 ) {
+      return;
+    }
+    double radius = lineWidth / 2.0;
+    int margin = ( int )Math.ceil( radius ) + 1;
+    int left = Integer.MAX_VALUE;
+    int top = Integer.MAX_VALUE;
+    int right = Integer.MIN_VALUE;
+    int bottom = Integer.MIN_VALUE;
+    for( int i = offset; i + 1 < offset + length; i += 2 ) {
+      left = Math.min( left, buffer[ i ] );
+      right = Math.max( right, buffer[ i ] );
+      top = Math.min( top, buffer[ i + 1 ] );
+      bottom = Math.max( bottom, buffer[ i + 1 ] );
+    }
+    int maskLeft = Math.max( x, left - margin );
+    int maskTop = Math.max( y, top - margin );
+    int maskRight = Math.min( x + width - 1, right + margin );
+    int maskBottom = Math.min( y + height - 1, bottom + margin );
+    if( maskLeft > maskRight || maskTop > maskBottom ) {
+      return;
+    }
+    int maskWidth = maskRight - maskLeft + 1;
+    int maskHeight = maskBottom - maskTop + 1;
+    prepareMask( maskWidth * maskHeight );
+    // Collect the stroke coverage first so that overlapping segments are blended only once, like a GC does
+    if( length == 2 ) {
+      markSegment( buffer[ offset ], buffer[ offset + 1 ], buffer[ offset ], buffer[ offset + 1 ],
+                   radius, maskLeft, maskTop, maskWidth, maskHeight );
+    }
+    for( int i = offset; i + 3 < offset + length; i += 2 ) {
+      markSegment( buffer[ i ], buffer[ i + 1 ], buffer[ i + 2 ], buffer[ i + 3 ],
+                   radius, maskLeft, maskTop, maskWidth, maskHeight );
+    }
+    blendMask( maskLeft, maskTop, maskWidth, maskHeight );
+  }
+
+  private void prepareMask( int size ) {
+    if( mask.length < size ) {
+      mask = new byte[ size ];
+    } else {
+      Arrays.fill( mask, 0, size, ( byte )0 );
+    }
+  }
+
+  private void markSegment( int x1, int y1, int x2, int y2,
+                            double radius, int maskLeft, int maskTop, int maskWidth, int maskHeight )
+  {
+    int margin = ( int )Math.ceil( radius ) + 1;
+    int fromX = Math.max( maskLeft, Math.min( x1, x2 ) - margin );
+    int toX = Math.min( maskLeft + maskWidth - 1, Math.max( x1, x2 ) + margin );
+    int fromY = Math.max( maskTop, Math.min( y1, y2 ) - margin );
+    int toY = Math.min( maskTop + maskHeight - 1, Math.max( y1, y2 ) + margin );
+    double dx = x2 - x1;
+    double dy = y2 - y1;
+    double lengthSquared = dx * dx + dy * dy;
+    // a minimum reach of half a pixel diagonal keeps thin lines free of gaps
+    double reach = Math.max( radius, 0.71 );
+    double reachSquared = reach * reach;
+    for( int py = fromY; py <= toY; py++ ) {
+      int maskRow = ( py - maskTop ) * maskWidth;
+      for( int px = fromX; px <= toX; px++ ) {
+        if( distanceSquared( px, py, x1, y1, dx, dy, lengthSquared ) <= reachSquared ) {
+          mask[ maskRow + px - maskLeft ] = 1;
+        }
+      }
+    }
+  }
+
+  private static double distanceSquared( int px, int py, int x1, int y1, double dx, double dy, double lengthSquared ) {
+    double t = 0;
+    if( lengthSquared > 0 ) {
+      t = ( ( px - x1 ) * dx + ( py - y1 ) * dy ) / lengthSquared;
+      t = Math.max( 0, Math.min( 1, t ) );
+    }
+    double nearestX = x1 + t * dx - px;
+    double nearestY = y1 + t * dy - py;
+    return nearestX * nearestX + nearestY * nearestY;
+  }
+
+  private void blendMask( int maskLeft, int maskTop, int maskWidth, int maskHeight ) {
+    for( int row = 0; row < maskHeight; row++ ) {
+      int maskRow = row * maskWidth;
+      int pixelRow = ( maskTop - y + row ) * width + maskLeft - x;
+      for( int column = 0; column < maskWidth; column++ ) {
+        if( mask[ maskRow + column ] != 0 ) {
+          int index = pixelRow + column;
+          pixels[ index ] = blend( pixels[ index ], color, alpha );
+        }
+      }
+    }
+  }
+
+  static int blend( int destination, int sourceColor, int sourceAlpha ) {
+    int destinationAlpha = destination >>> 24;
+    if( sourceAlpha == OPAQUE || destinationAlpha == 0 ) {
+      return ( sourceAlpha << 24 ) | sourceColor;
+    }
+    int remaining = destinationAlpha * ( OPAQUE - sourceAlpha ) / OPAQUE;
+    int resultAlpha = sourceAlpha + remaining;
+    int red = blendChannel( sourceColor >> 16, sourceAlpha, destination >> 16, remaining, resultAlpha );
+    int green = blendChannel( sourceColor >> 8, sourceAlpha, destination >> 8, remaining, resultAlpha );
+    int blue = blendChannel( sourceColor, sourceAlpha, destination, remaining, resultAlpha );
+    return ( resultAlpha << 24 ) | ( red << 16 ) | ( green << 8 ) | blue;
+  }
+
+  private static int blendChannel( int source, int sourceWeight, int destination, int destinationWeight, int total ) {
+    return ( ( source & 0xFF ) * sourceWeight + ( destination & 0xFF ) * destinationWeight ) / total;
+  }
+
+  /**
+   * Returns the ARGB (not premultiplied) value of a pixel in canvas coordinates.
+   */
+  public int getPixel( int pixelX, int pixelY ) {
+    return pixels[ ( pixelY - y ) * width + pixelX - x ];
+  }
+
+  /**
+   * Writes the RGB values and alphas of one raster row into the given arrays.
+   */
+  public void writeRow( int row, int[] rgbs, byte[] alphas ) {
+    int rowStart = row * width;
+    for( int column = 0; column < width; column++ ) {
+      int pixel = pixels[ rowStart + column ];
+      rgbs[ column ] = pixel & 0xFFFFFF;
+      alphas[ column ] = ( byte )( pixel >>> 24 );
+    }
+  }
+
+  private static int toInt( RGB rgb ) {
+    return ( ( rgb.red & 0xFF ) << 16 ) | ( ( rgb.green & 0xFF ) << 8 ) | ( rgb.blue & 0xFF );
+  }
+}
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.graphics.Rectangle;
+
+
+/**
+ * A uniform grid over the bounds of a stack of drawings. Like the drawings history it only grows and shrinks at
+ * the top. Drawings that would span too many cells are kept in a separate list that every query checks.
+ */
+public class DrawingsSpatialIndex implements Serializable {
+
+  static final int CELL_SIZE = 64;
+  static final int MAX_CELLS_PER_DRAWING = 256;
+
+  private final List<Rectangle> bounds;
+  private final Map<Long, Cell> cells;
+  private final Cell oversized;
+
+  public DrawingsSpatialIndex() {
+    bounds = new ArrayList<Rectangle>();
+    cells = new HashMap<Long, Cell>();
+    oversized = new Cell();
+  }
+
+  public int size() {
+    return bounds.size();
+  }
+
+  /**
+   * Adds the bounds of the next drawing. Drawings without bounds (<code>null</code>) are never found.
+   */
+  public void push( Rectangle drawingBounds ) {
+    int index = bounds.size();
+    bounds.add( drawingBounds );
+    if( drawingBounds != null ) {
+      if( isOversized( drawingBounds ) ) {
+        oversized.add( index );
+      } else {
+        int fromX = cellOf( drawingBounds.x );
+        int toX = cellOf( drawingBounds.x + drawingBounds.width - 1 );
+        int fromY = cellOf( drawingBounds.y );
+        int toY = cellOf( drawingBounds.y + drawingBounds.height - 1 );
+        for( int cellY = fromY; cellY <= toY; cellY++ ) {
+          for( int cellX = fromX; cellX <= toX; cellX++ ) {
+            getOrCreateCell( cellX, cellY ).add( index );
+          }
+        }
+      }
+    }
+  }
+
+  public void pop() {
+    int index = bounds.size() - 1;
+    Rectangle drawingBounds = bounds.remove( index );
+    if( drawingBounds != null ) {
+      if( isOversized( drawingBounds ) ) {
+        oversized.remove( index );
+      } else {
+        int fromX = cellOf( drawingBounds.x );
+        int toX = cellOf( drawingBounds.x + drawingBounds.width - 1 );
+        int fromY = cellOf( drawingBounds.y );
+        int toY = cellOf( drawingBounds.y + drawingBounds.height - 1 );
+        for( int cellY = fromY; cellY <= toY; cellY++ ) {
+          for( int cellX = fromX; cellX <= toX; cellX++ ) {
+            removeFromCell( cellX, cellY, index );
+          }
+        }
+      }
+    }
+  }
+
+  public void clear() {
+    bounds.clear();
+    cells.clear();
+    oversized.clear();
+  }
+
+  public Rectangle getBounds( int index ) {
+    return bounds.get( index );
+  }
+
+  /**
+   * Returns the indices of all drawings whose bounds intersect the given area. The bits are set in drawing order.
+   */
+  public BitSet query( Rectangle area ) {
+    BitSet result = new BitSet( bounds.size() );
+    collect( oversized, area, result );
+    if( !area.isEmpty() ) {
+      int fromX = cellOf( area.x );
+      int toX = cellOf( area.x + area.width - 1 );
+      int fromY = cellOf( area.y );
+      int toY = cellOf( area.y + area.height - 1 );
+      if( ( long )( toX - fromX + 1 ) * ( toY - fromY + 1 ) > cells.size() ) {
+        for( Cell cell : cells.values() ) {
+          collect( cell, area, result );
+        }
+      } else {
+        for( int cellY = fromY; cellY <= toY; cellY++ ) {
+          for( int cellX = fromX; cellX <= toX; cellX++ ) {
+            Cell cell = cells.get( getKey( cellX, cellY ) );
+            if( cell != null ) {
+              collect( cell, area, result );
+            }
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  private void collect( Cell cell, Rectangle area, BitSet result ) {
+    for( int i = 0; i < cell.size; i++ ) {
+      int index = cell.indices[ i ];
+      if( !result.get( index ) && bounds.get( index ).intersects( area ) ) {
+        result.set( index );
+      }
+    }
+  }
+
+  private Cell getOrCreateCell( int cellX, int cellY ) {
+    Long key = getKey( cellX, cellY );
+    Cell result = cells.get( key );
+    if( result == null ) {
+      result = new Cell();
+      cells.put( key, result );
+    }
+    return result;
+  }
+
+  private void removeFromCell( int cellX, int cellY, int index ) {
+    Long key = getKey( cellX, cellY );
+    Cell cell = cells.get( key );
+    if( cell != null ) {
+      cell.remove( index );
+      if( cell.size == 0 ) {
+        cells.remove( key );
+      }
+    }
+  }
+
+  private static boolean isOversized( Rectangle drawingBounds ) {
+    long columns = cellOf( drawingBounds.x + drawingBounds.width - 1 ) - ( long )cellOf( drawingBounds.x ) + 1;
+    long rows = cellOf( drawingBounds.y + drawingBounds.height - 1 ) - ( long )cellOf( drawingBounds.y ) + 1;
+    return columns * rows > MAX_CELLS_PER_DRAWING;
+  }
+
+  private static int cellOf( int coordinate ) {
+    return coordinate >= 0 ? coordinate / CELL_SIZE : ( ( coordinate + 1 ) / CELL_SIZE ) - 1;
+  }
+
+  private static Long getKey( int cellX, int cellY ) {
+    return Long.valueOf( ( ( long )cellX << 32 ) | ( cellY & 0xFFFFFFFFL ) );
+  }
+
+  private static class Cell implements Serializable {
+
+    private int[] indices = new int[ 4 ];
+    private int size;
+
+    void add( int index ) {
+      if( size == indices.length ) {
+        int[] grown = new int[ size * 2 ];
+        System.arraycopy( indices, 0, grown, 0, size );
+        indices = grown;
+      }
+      indices[ size++ ] = index;
+    }
+
+    // indices are added in ascending order and removed from the top, so the match is the last one
+    void remove( int index ) {
+      for( int i = size - 1; i >= 0; i-- ) {
+        if( indices[ i ] == index ) {
+          System.arraycopy( indices, i + 1, indices, i, size - i - 1 );
+          size--;
+          return;
+        }
+      }
+    }
+
+    void clear() {
+      size = 0;
+    }
+  }
+}
@@ -10,43 +10,31 @@
  ******************************************************************************/
 package com.eclipsesource.tabris.internal;
 
-import static com.eclipsesource.tabris.internal.Constants.PROPERTY_FOREGROUND;
-import static com.eclipsesource.tabris.internal.Constants.PROPERTY_LINE_WIDTH;
-import static com.eclipsesource.tabris.internal.Constants.PROPERTY_PATH;
+import static com.eclipsesource.tabris.internal.DrawingOperations.OPCODE_FOREGROUND;
+import static com.eclipsesource.tabris.internal.DrawingOperations.OPCODE_LINE_WIDTH;
+import static com.eclipsesource.tabris.internal.DrawingOperations.OPCODE_POLYLINE;
 
 import java.io.Serializable;
 
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.GC;
-import org.eclipse.swt.graphics.RGB;
-import org.json.JSONArray;
-import org.json.JSONException;
 
 
-@SuppressWarnings("restriction")
 public class GCOperationDispatcher implements Serializable {
 
   private final GC gc;
-  private JSONArray drawings;
+  private final DrawingOperations operations;
 
   public GCOperationDispatcher( GC gc, String drawings ) {
-    this.gc = gc;
-    try {
-      this.drawings = new JSONArray( drawings );
-    } catch( JSONException jex ) {
-      throw new IllegalArgumentException( "Drawings are not valid json: " + drawings );
-    }
+    this( gc, DrawingOperations.fromJson( drawings ) );
   }
 
-  public void dispatch() {
-    try {
-      doDispatch();
-    } catch( JSONException e ) {
-      throw new IllegalStateException( "Drawings cannot be dispatch. Invalid format: " + drawings );
-    }
+  public GCOperationDispatcher( GC gc, DrawingOperations operations ) {
+    this.gc = gc;
+    this.operations = operations;
   }
 
-  private void doDispatch() throws JSONException {
+  public void dispatch() {
     int lineWidth = gc.getLineWidth();
     Color foreground = gc.getForeground();
     int alpha = gc.getAlpha();
@@ -54,10 +42,17 @@ public class GCOperationDispatcher implements Serializable {
     restoreLastSettings( lineWidth, foreground, alpha );
   }
 
-  private void dispatchOperations() throws JSONException {
-    for( int i = 0; i < drawings.length(); i++ ) {
-      JSONArray operation = drawings.getJSONArray( i );
-      dispatchOperation( operation );
+  private void dispatchOperations() {
+    ColorCache colorCache = ColorCache.getInstance();
+    int[] buffer = operations.getBuffer();
+    int size = operations.getSize();
+    int position = 0;
+    while( position < size ) {
+      int opcode = buffer[ position ];
+      int argumentCount = buffer[ position + 1 ];
+      int argumentsStart = position + 2;
+      dispatchOperation( colorCache, opcode, buffer, argumentsStart, argumentCount );
+      position = argumentsStart + argumentCount;
     }
   }
 
@@ -67,37 +62,38 @@ public class GCOperationDispatcher implements Serializable {
     gc.setAlpha( alpha );
   }
 
-  private void dispatchOperation( JSONArray operation ) throws JSONException {
-    String operationType = operation.getString( 0 );
-    JSONArray parameters = operation.getJSONArray( 1 );
-    if( PROPERTY_LINE_WIDTH.equals( operationType ) ) {
-      dispatchLineWidth( parameters );
-    } else if( PROPERTY_FOREGROUND.equals( operationType ) ) {
-      dispatchSetForeground( parameters );
-    } else if( PROPERTY_PATH.equals( operationType ) ) {
-      dispatchDrawPolyline( parameters );
+  private void dispatchOperation( ColorCache colorCache,
+                                  int opcode,
+                                  int[] buffer,
+                                  int offset,
+                                  int length )
+  {
+    if( opcode == OPCODE_LINE_WIDTH ) {
+      dispatchLineWidth( buffer, offset );
+    } else if( opcode == OPCODE_FOREGROUND ) {
+      dispatchSetForeground( colorCache, buffer, offset );
+    } else if( opcode == OPCODE_POLYLINE ) {
+      dispatchDrawPolyline( buffer, offset, length );
     }
   }
 
-  private void dispatchLineWidth( JSONArray parameters ) throws JSONException {
-    int width = parameters.getInt( 0 );
-    gc.setLineWidth( width );
+  private void dispatchLineWidth( int[] buffer, int offset ) {
+    gc.setLineWidth( buffer[ offset ] );
   }
 
-  private void dispatchSetForeground( JSONArray parameters ) throws JSONException {
-    int r = parameters.getInt( 0 );
-    int g = parameters.getInt( 1 );
-    int b = parameters.getInt( 2 );
-    int a = parameters.getInt( 3 );
-    gc.setForeground( new Color( gc.getDevice(), new RGB( r, g, b ) ) );
+  private void dispatchSetForeground( ColorCache colorCache, int[] buffer, int offset ) {
+    int r = buffer[ offset ];
+    int g = buffer[ offset + 1 ];
+    int b = buffer[ offset + 2 ];
+    int a = buffer[ offset + 3 ];
+    gc.setForeground( colorCache.getColor( gc.getDevice(), r, g, b ) );
     gc.setAlpha( a );
   }
 
-  private void dispatchDrawPolyline( JSONArray parameters ) throws JSONException {
-    int[] polyline = new int[ parameters.length() ];
-    for( int i = 0; i < parameters.length(); i++ ) {
-      polyline[ i ] = parameters.getInt( i );
-    }
+  private void dispatchDrawPolyline( int[] buffer, int offset, int length ) {
+    // GC#drawPolyline has no offset/length variant, the points need an exact sized array
+    int[] polyline = new int[ length ];
+    System.arraycopy( buffer, offset, polyline, 0, length );
     gc.drawPolyline( polyline );
   }
 }
@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+
+/**
+ * A map with primitive <code>int</code> keys using open addressing with linear probing. Keys are not boxed and the
+ * table shrinks again when entries are removed, so its size follows the number of entries and not the largest
+ * key. <code>Integer.MIN_VALUE</code> can't be used as a key.
+ */
+public class IntObjectMap<V> implements Serializable {
+
+  private static final int FREE = Integer.MIN_VALUE;
+  private static final int MIN_CAPACITY = 8;
+
+  private int[] keys;
+  private Object[] values;
+  private int size;
+
+  public IntObjectMap() {
+    allocate( MIN_CAPACITY );
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public boolean containsKey( int key ) {
+    return findSlot( key ) >= 0;
+  }
+
+  @SuppressWarnings("unchecked")
+  public V get( int key ) {
+    int slot = findSlot( key );
+    return slot >= 0 ? ( V )values[ slot ] : null;
+  }
+
+  @SuppressWarnings("unchecked")
+  public V put( int key, V value ) {
+    verifyKey( key );
+    int slot = getStartSlot( key );
+    while( keys[ slot ] != FREE ) {
+      if( keys[ slot ] == key ) {
+        V oldValue = ( V )values[ slot ];
+        values[ slot ] = value;
+        return oldValue;
+      }
+      slot = nextSlot( slot );
+    }
+    keys[ slot ] = key;
+    values[ slot ] = value;
+    size++;
+    if( size * 4 > keys.length * 3 ) {
+      rehash( keys.length * 2 );
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  public V remove( int key ) {
+    int slot = findSlot( key );
+    V result = null;
+    if( slot >= 0 ) {
+      result = ( V )values[ slot ];
+      removeSlot( slot );
+      size--;
+      if( keys.length > MIN_CAPACITY && size * 8 < keys.length ) {
+        rehash( keys.length / 2 );
+      }
+    }
+    return result;
+  }
+
+  public void clear() {
+    if( keys.length > MIN_CAPACITY ) {
+      allocate( MIN_CAPACITY );
+    } else {
+      Arrays.fill( keys, FREE );
+      Arrays.fill( values, null );
+    }
+    size = 0;
+  }
+
+  /**
+   * Copies the keys into the given array which needs to hold at least {@link #size()} elements. The order is
+   * undefined.
+   *
+   * @return the number of keys
+   */
+  public int getKeys( int[] result ) {
+    int count = 0;
+    for( int slot = 0; slot < keys.length; slot++ ) {
+      if( keys[ slot ] != FREE ) {
+        result[ count++ ] = keys[ slot ];
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the smallest key or <code>defaultValue</code> when the map is empty.
+   */
+  public int getMinKey( int defaultValue ) {
+    int result = defaultValue;
+    boolean found = false;
+    for( int slot = 0; slot < keys.length; slot++ ) {
+      if( keys[ slot ] != FREE && ( !found || keys[ slot ] < result ) ) {
+        result = keys[ slot ];
+        found = true;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the largest key or <code>defaultValue</code> when the map is empty.
+   */
+  public int getMaxKey( int defaultValue ) {
+    int result = defaultValue;
+    boolean found = false;
+    for( int slot = 0; slot < keys.length; slot++ ) {
+      if( keys[ slot ] != FREE && ( !found || keys[ slot ] > result ) ) {
+        result = keys[ slot ];
+        found = true;
+      }
+    }
+    return result;
+  }
+
+  private int findSlot( int key ) {
+    if( key != FREE ) {
+      int slot = getStartSlot( key );
+      while( keys[ slot ] != FREE ) {
+        if( keys[ slot ] == key ) {
+          return slot;
+        }
+        slot = nextSlot( slot );
+      }
+    }
+    return -1;
+  }
+
+  // Backward shift deletion: moves following entries of the probe sequence into the gap, no tombstones needed
+  private void removeSlot( int slot ) {
+    int gap = slot;
+    int current = nextSlot( slot );
+    while( keys[ current ] != FREE ) {
+      int home = getStartSlot( keys[ current ] );
+      if( isOutsideRange( home, gap, current ) ) {
+        keys[ gap ] = keys[ current ];
+        values[ gap ] = values[ current ];
+        gap = current;
+      }
+      current = nextSlot( current );
+    }
+    keys[ gap ] = FREE;
+    values[ gap ] = null;
+  }
+
+  // whether home lies cyclically outside of (gap, current]
+  private static boolean isOutsideRange( int home, int gap, int current ) {
+    boolean result;
+    if( gap <= current ) {
+      result = home <= gap || home > current;
+    } else {
+      result = home <= gap && home > current;
+    }
+    return result;
+  }
+
+  private void rehash( int capacity ) {
+    int[] oldKeys = keys;
+    Object[] oldValues = values;
+    allocate( capacity );
+    for( int i = 0; i < oldKeys.length; i++ ) {
+      if( oldKeys[ i ] != FREE ) {
+        int slot = getStartSlot( oldKeys[ i ] );
+        while( keys[ slot ] != FREE ) {
+          slot = nextSlot( slot );
+        }
+        keys[ slot ] = oldKeys[ i ];
+        values[ slot ] = oldValues[ i ];
+      }
+    }
+  }
+
+  private void allocate( int capacity ) {
+    keys = new int[ capacity ];
+    values = new Object[ capacity ];
+    Arrays.fill( keys, FREE );
+  }
+
+  private int getStartSlot( int key ) {
+    // spread consecutive indexes over the table
+    int hash = key * 0x9E3779B9;
+    return ( hash ^ ( hash >>> 16 ) ) & ( keys.length - 1 );
+  }
+
+  private int nextSlot( int slot ) {
+    return ( slot + 1 ) & ( keys.length - 1 );
+  }
+
+  private static void verifyKey( int key ) {
+    if( key == FREE ) {
+      throw new IllegalArgumentException( "Key must not be " + FREE );
+    }
+  }
+}
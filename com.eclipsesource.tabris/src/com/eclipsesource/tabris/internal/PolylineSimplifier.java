@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static com.eclipsesource.tabris.internal.DrawingOperations.OPCODE_POLYLINE;
+
+import java.io.Serializable;
+
+
+/**
+ * Simplifies the paths of drawings using the Douglas-Peucker algorithm. A point is dropped when it is not farther
+ * away than the tolerance from the simplified path.
+ */
+public class PolylineSimplifier implements Serializable {
+
+  private final int tolerance;
+  private final long toleranceSquare;
+
+  public PolylineSimplifier( int tolerance ) {
+    if( tolerance < 0 ) {
+      throw new IllegalArgumentException( "Tolerance must be >= 0 but was " + tolerance );
+    }
+    this.tolerance = tolerance;
+    this.toleranceSquare = ( long )tolerance * tolerance;
+  }
+
+  public int getTolerance() {
+    return tolerance;
+  }
+
+  public DrawingOperations simplify( DrawingOperations operations ) {
+    DrawingOperations result = operations;
+    if( tolerance > 0 ) {
+      result = new DrawingOperations();
+      int[] buffer = operations.getBuffer();
+      int size = operations.getSize();
+      int position = 0;
+      while( position < size ) {
+        int opcode = buffer[ position ];
+        int argumentCount = buffer[ position + 1 ];
+        int argumentsStart = position + 2;
+        if( opcode == OPCODE_POLYLINE ) {
+          simplifyPolyline( result, buffer, argumentsStart, argumentCount );
+        } else {
+          copyOperation( result, opcode, buffer, argumentsStart, argumentCount );
+        }
+        position = argumentsStart + argumentCount;
+      }
+    }
+    return result;
+  }
+
+  private void simplifyPolyline( DrawingOperations result, int[] buffer, int offset, int length ) {
+    int pointCount = length / 2;
+    if( pointCount <= 2 || length % 2 != 0 ) {
+      copyOperation( result, OPCODE_POLYLINE, buffer, offset, length );
+    } else {
+      boolean[] keep = markPoints( buffer, offset, pointCount );
+      int keptCount = 0;
+      for( int i = 0; i < pointCount; i++ ) {
+        if( keep[ i ] ) {
+          keptCount++;
+        }
+      }
+      result.beginOperation( OPCODE_POLYLINE, keptCount * 2 );
+      for( int i = 0; i < pointCount; i++ ) {
+        if( keep[ i ] ) {
+          result.append( buffer[ offset + i * 2 ] );
+          result.append( buffer[ offset + i * 2 + 1 ] );
+        }
+      }
+    }
+  }
+
+  private boolean[] markPoints( int[] buffer, int offset, int pointCount ) {
+    boolean[] keep = new boolean[ pointCount ];
+    keep[ 0 ] = true;
+    keep[ pointCount - 1 ] = true;
+    int[] stack = new int[ pointCount * 2 ];
+    int stackSize = 0;
+    stack[ stackSize++ ] = 0;
+    stack[ stackSize++ ] = pointCount - 1;
+    while( stackSize > 0 ) {
+      int last = stack[ --stackSize ];
+      int first = stack[ --stackSize ];
+      long maxDistance = toleranceSquare;
+      int farthest = -1;
+      for( int i = first + 1; i < last; i++ ) {
+        long distance = distanceSquare( buffer, offset, i, first, last );
+        if( distance > maxDistance ) {
+          maxDistance = distance;
+          farthest = i;
+        }
+      }
+      if( farthest != -1 ) {
+        keep[ farthest ] = true;
+        stack[ stackSize++ ] = first;
+        stack[ stackSize++ ] = farthest;
+        stack[ stackSize++ ] = farthest;
+        stack[ stackSize++ ] = last;
+      }
+    }
+    return keep;
+  }
+
+  private static long distanceSquare( int[] buffer, int offset, int point, int first, int last ) {
+    long x = buffer[ offset + point * 2 ];
+    long y = buffer[ offset + point * 2 + 1 ];
+    long x1 = buffer[ offset + first * 2 ];
+    long y1 = buffer[ offset + first * 2 + 1 ];
+    long dx = buffer[ offset + last * 2 ] - x1;
+    long dy = buffer[ offset + last * 2 + 1 ] - y1;
+    long lengthSquare = dx * dx + dy * dy;
+    long result;
+    if( lengthSquare == 0 ) {
+      result = ( x - x1 ) * ( x - x1 ) + ( y - y1 ) * ( y - y1 );
+    } else {
+      long projection = ( x - x1 ) * dx + ( y - y1 ) * dy;
+      if( projection <= 0 ) {
+        result = ( x - x1 ) * ( x - x1 ) + ( y - y1 ) * ( y - y1 );
+      } else if( projection >= lengthSquare ) {
+        long x2 = x1 + dx;
+        long y2 = y1 + dy;
+        result = ( x - x2 ) * ( x - x2 ) + ( y - y2 ) * ( y - y2 );
+      } else {
+        double cross = ( x - x1 ) * dy - ( y - y1 ) * dx;
+        result = ( long )Math.ceil( cross * cross / lengthSquare );
+      }
+    }
+    return result;
+  }
+
+  private static void copyOperation( DrawingOperations result, int opcode, int[] buffer, int offset, int length ) {
+    result.beginOperation( opcode, length );
+    for( int i = offset; i < offset + length; i++ ) {
+      result.append( buffer[ i ] );
+    }
+  }
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.swt.widgets.Control;
+
+
+/**
+ * Keeps detached contents of recyclable swipe items for reuse. Pooled contents are hidden but stay children of the
+ * swipe container. Contents are pooled per item class and the pool holds at most capacity contents in total.
+ */
+public class SwipeContentPool implements Serializable {
+
+  private final Map<Class<?>, List<Control>> contents;
+  private int capacity;
+  private int size;
+
+  public SwipeContentPool( int capacity ) {
+    this.contents = new HashMap<Class<?>, List<Control>>();
+    setCapacity( capacity );
+  }
+
+  public void setCapacity( int capacity ) {
+    if( capacity < 0 ) {
+      throw new IllegalArgumentException( "Capacity must be >= 0 but was " + capacity );
+    }
+    this.capacity = capacity;
+    if( size > capacity ) {
+      clear();
+    }
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Adds the content to the pool unless it's full.
+   *
+   * @return whether the content was pooled. If not, the caller stays responsible for disposing it.
+   */
+  public boolean offer( Class<?> type, Control content ) {
+    boolean result = false;
+    if( size < capacity && !content.isDisposed() ) {
+      content.setVisible( false );
+      getContents( type ).add( content );
+      size++;
+      result = true;
+    }
+    return result;
+  }
+
+  /**
+   * Removes a pooled content for the given type and makes it visible again.
+   *
+   * @return the content or <code>null</code> when none is pooled.
+   */
+  public Control take( Class<?> type ) {
+    Control result = null;
+    List<Control> pooled = contents.get( type );
+    while( result == null && pooled != null && !pooled.isEmpty() ) {
+      Control content = pooled.remove( pooled.size() - 1 );
+      size--;
+      if( !content.isDisposed() ) {
+        result = content;
+        result.setVisible( true );
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Disposes all pooled contents.
+   */
+  public void clear() {
+    for( List<Control> pooled : contents.values() ) {
+      for( Control content : pooled ) {
+        content.dispose();
+      }
+    }
+    contents.clear();
+    size = 0;
+  }
+
+  private List<Control> getContents( Class<?> type ) {
+    List<Control> result = contents.get( type );
+    if( result == null ) {
+      result = new ArrayList<Control>();
+      contents.put( type, result );
+    }
+    return result;
+  }
+}
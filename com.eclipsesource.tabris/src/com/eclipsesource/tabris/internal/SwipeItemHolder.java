@@ -12,26 +12,32 @@ package com.eclipsesource.tabris.internal;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
 
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 
+import com.eclipsesource.tabris.widgets.swipe.RecyclableSwipeItem;
 import com.eclipsesource.tabris.widgets.swipe.SwipeItem;
 
 
 public class SwipeItemHolder implements Serializable {
 
-  private final Map<Integer, SwipeItem> items;
-  private final Map<Integer, Control> contentHolder;
+  static final int DEFAULT_POOL_CAPACITY = 3;
+
+  private final IntObjectMap<SwipeItem> items;
+  private final IntObjectMap<Control> contentHolder;
+  private final SwipeContentPool contentPool;
+  private int lowestLoaded;
+  private int highestLoaded;
+  private boolean loadedBoundsDirty;
 
   public SwipeItemHolder() {
-    items = new HashMap<Integer, SwipeItem>();
-    contentHolder = new HashMap<Integer, Control>();
+    items = new IntObjectMap<SwipeItem>();
+    contentHolder = new IntObjectMap<Control>();
+    contentPool = new SwipeContentPool( DEFAULT_POOL_CAPACITY );
+    lowestLoaded = -1;
+    highestLoaded = -1;
   }
 
   public void addItem( int index, SwipeItem item, Composite content ) {
@@ -40,61 +46,137 @@ public class SwipeItemHolder implements Serializable {
   }
 
   public void addItem( int index, SwipeItem item ) {
-    if( items.containsKey( getKey( index ) ) ) {
+    if( items.containsKey( index ) ) {
       throw new IllegalStateException( "Item for index " + index + " already exists." );
     }
-    items.put( getKey( index ), item );
+    items.put( index, item );
   }
 
   public void removeItem( int index ) {
-    items.remove( getKey( index ) );
-    removeContentForItem( index );
+    SwipeItem item = items.remove( index );
+    releaseContent( item, removeContent( index ) );
   }
 
   public void removeAllItems() {
-    HashMap<Integer, SwipeItem> itemsCopy = new HashMap<Integer, SwipeItem>( items );
-    for( Entry<Integer, SwipeItem> entry : itemsCopy.entrySet() ) {
-      removeItem( entry.getKey().intValue() );
+    int[] indexes = new int[ items.size() ];
+    int count = items.getKeys( indexes );
+    for( int i = 0; i < count; i++ ) {
+      removeItem( indexes[ i ] );
     }
+    contentPool.clear();
   }
 
   public SwipeItem getItem( int index ) {
-    return items.get( getKey( index ) );
+    return items.get( index );
   }
 
   public boolean hasItem( int index ) {
-    return items.containsKey( getKey( index ) );
+    return items.containsKey( index );
   }
 
   public void setContentForItem( int index, Control content ) {
-    if( !items.containsKey( getKey( index ) ) ) {
+    if( !items.containsKey( index ) ) {
       throw new IllegalStateException( "Item for index " + index + " does not exist." );
     }
-    contentHolder.put( getKey( index ), content );
+    contentHolder.put( index, content );
+    if( !loadedBoundsDirty ) {
+      lowestLoaded = lowestLoaded == -1 ? index : Math.min( lowestLoaded, index );
+      highestLoaded = Math.max( highestLoaded, index );
+    }
   }
 
   public boolean isLoaded( int index ) {
-    return contentHolder.containsKey( getKey( index ) );
+    return contentHolder.containsKey( index );
   }
 
   public List<Integer> getLoadedItems() {
-    Set<Integer> keySet = contentHolder.keySet();
-    return new ArrayList<Integer>( keySet );
+    int[] indexes = new int[ contentHolder.size() ];
+    int count = contentHolder.getKeys( indexes );
+    List<Integer> result = new ArrayList<Integer>( count );
+    for( int i = 0; i < count; i++ ) {
+      result.add( Integer.valueOf( indexes[ i ] ) );
+    }
+    return result;
+  }
+
+  /**
+   * Returns the lowest index of all loaded items or -1 when no item is loaded.
+   */
+  public int getLowestLoadedIndex() {
+    updateLoadedBounds();
+    return lowestLoaded;
+  }
+
+  /**
+   * Returns the highest index of all loaded items or -1 when no item is loaded.
+   */
+  public int getHighestLoadedIndex() {
+    updateLoadedBounds();
+    return highestLoaded;
+  }
+
+  // the bounds only need to be searched again after the lowest or highest item was removed
+  private void updateLoadedBounds() {
+    if( loadedBoundsDirty ) {
+      lowestLoaded = contentHolder.getMinKey( -1 );
+      highestLoaded = contentHolder.getMaxKey( -1 );
+      loadedBoundsDirty = false;
+    }
+  }
+
+  private Control removeContent( int index ) {
+    if( index == lowestLoaded || index == highestLoaded ) {
+      loadedBoundsDirty = true;
+    }
+    return contentHolder.remove( index );
+  }
+
+  public int getLoadedItemCount() {
+    return contentHolder.size();
+  }
+
+  /**
+   * Copies the indexes of the loaded items into the given array which needs to hold at least
+   * {@link #getLoadedItemCount()} elements.
+   *
+   * @return the number of loaded items
+   */
+  public int getLoadedItems( int[] result ) {
+    return contentHolder.getKeys( result );
   }
 
   public Control getContentForItem( int index ) {
-    return contentHolder.get( getKey( index ) );
+    return contentHolder.get( index );
   }
 
   public void removeContentForItem( int index ) {
-    Control content = contentHolder.remove( getKey( index ) );
-    if( content != null ) {
+    releaseContent( items.get( index ), removeContent( index ) );
+  }
+
+  /**
+   * Returns a pooled content that was released by another item of the same class or <code>null</code> when the
+   * item is not recyclable or no content is pooled.
+   */
+  public Control takeRecycledContent( SwipeItem item ) {
+    Control result = null;
+    if( item instanceof RecyclableSwipeItem ) {
+      result = contentPool.take( item.getClass() );
+    }
+    return result;
+  }
+
+  public SwipeContentPool getContentPool() {
+    return contentPool;
+  }
+
+  private void releaseContent( SwipeItem item, Control content ) {
+    if( content != null && !recycle( item, content ) ) {
       content.dispose();
     }
   }
 
-  private Integer getKey( int index ) {
-    return Integer.valueOf( index );
+  private boolean recycle( SwipeItem item, Control content ) {
+    return item instanceof RecyclableSwipeItem && contentPool.offer( item.getClass(), content );
   }
 
 }
@@ -12,18 +12,34 @@ package com.eclipsesource.tabris.internal;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 
+/**
+ * Computes which items to pre load and which to remove around the current item. The loaded items always form the
+ * window <code>[current - rangeBefore, current + rangeAfter]</code>, so all results are computed from the window
+ * bounds. The window of the old item is recorded when the current item changes, so the ranges can change between
+ * two items without leaking loaded items. The
+ * variants that take an <code>int[]</code> fill the given buffer and return the number of indexes; they don't
+ * allocate anything. The buffer needs to hold at least {@link #getMaxIndexCount()} indexes.
+ */
 public class SwipeItemIndexer implements Serializable {
 
+  private static final int[] EMPTY = new int[ 0 ];
+
   private int currentIndex;
-  private int range;
+  private int rangeBefore;
+  private int rangeAfter;
   private int oldIndex;
+  private int oldWindowStart;
+  private int oldWindowEnd;
   private boolean dirty;
+  private transient int[] buffer;
 
   public SwipeItemIndexer() {
-    range = 1;
+    rangeBefore = 1;
+    rangeAfter = 1;
     reset();
   }
 
@@ -36,17 +52,47 @@ public class SwipeItemIndexer implements Serializable {
     if( range <= 0 ) {
       throw new IllegalArgumentException( "Range must be 0 or positive." );
     }
-    this.range = range;
+    this.rangeBefore = range;
+    this.rangeAfter = range;
+  }
+
+  /**
+   * Sets different ranges for the items before (lower indexes) and after (higher indexes) the current item.
+   */
+  public void setRanges( int rangeBefore, int rangeAfter ) {
+    if( rangeBefore < 0 || rangeAfter < 0 ) {
+      throw new IllegalArgumentException( "Ranges must be 0 or positive." );
+    }
+    this.rangeBefore = rangeBefore;
+    this.rangeAfter = rangeAfter;
   }
 
   public int getRange() {
-    return range;
+    return Math.max( rangeBefore, rangeAfter );
+  }
+
+  public int getRangeBefore() {
+    return rangeBefore;
+  }
+
+  public int getRangeAfter() {
+    return rangeAfter;
+  }
+
+  /**
+   * Returns the maximum number of indexes a single computation can return.
+   */
+  public int getMaxIndexCount() {
+    int oldWindowSize = oldIndex == -1 ? 0 : oldWindowEnd - oldWindowStart + 1;
+    return Math.max( rangeBefore + rangeAfter + 1, oldWindowSize );
   }
 
   public void setCurrent( int index ) {
     dirty = true;
     verifyNewIndex( index );
     oldIndex = currentIndex;
+    oldWindowStart = getWindowStart( currentIndex );
+    oldWindowEnd = getWindowEnd( currentIndex );
     currentIndex = index;
   }
 
@@ -65,114 +111,112 @@ public class SwipeItemIndexer implements Serializable {
   }
 
   public int[] getPrevious() {
-    int[] result = getEmptyRange();
-    if( range > 0 ) {
-      int[] newRange = getRange( currentIndex );
-      result = computePreviousIndexes( newRange );
-    }
-    return result;
+    int[] indexes = getBuffer();
+    return copy( indexes, getPrevious( indexes ) );
   }
 
-  private int[] computePreviousIndexes( int[] newRange ) {
-    int[] result = new int[ range ];
-    if( currentIndex > 0 || oldIndex > 0) {
+  public int getPrevious( int[] result ) {
+    int count = 0;
+    if( currentIndex > 0 || oldIndex > 0 ) {
       if( currentIndex >= oldIndex || isAJump() ) {
-        result = computeFollowUps( newRange );
+        count = fillBelowCurrent( result );
       } else {
-        result = computeInvertedFollowUps( newRange );
+        count = fillAboveCurrent( result );
       }
-    } else {
-      result = getEmptyRange();
     }
-    return result;
+    return count;
   }
 
   public int[] getNext() {
-    int[] result = getEmptyRange();
-    if( range > 0 ) {
-      int[] newRange = getRange( currentIndex );
-      result = computeNextIndexes( newRange );
-    }
-    return result;
-  }
-
-  private int[] getRange( int index ) {
-    List<Integer> rangeItems = new ArrayList<Integer>();
-    for( int i = ( index - range ); i <= ( index + range ); i++ ) {
-      if( i >= 0 ) {
-        rangeItems.add( Integer.valueOf( i ) );
-      }
-    }
-    return getAsArray( rangeItems );
+    int[] indexes = getBuffer();
+    return copy( indexes, getNext( indexes ) );
   }
 
-  private int[] computeNextIndexes( int[] newRange ) {
-    int[] result = new int[ range + 1 ];
+  public int getNext( int[] result ) {
+    int count = 0;
     if( currentIndex > oldIndex || isAJump() ) {
-      result = computeInvertedFollowUps( newRange );
-    } else {
-      if( currentIndex > 0 ) {
-        result = computeFollowUps( newRange );
-      } else {
-        result = getEmptyRange();
-      }
+      count = fillAboveCurrent( result );
+    } else if( currentIndex > 0 ) {
+      count = fillBelowCurrent( result );
     }
-    return result;
+    return count;
   }
 
   private boolean isAJump() {
     return ( currentIndex - oldIndex ) > 1 || ( oldIndex - currentIndex ) > 1;
   }
 
-  private int[] computeInvertedFollowUps( int[] indexes ) {
-    List<Integer> result = new ArrayList<Integer>();
-    for( int i = 0; i < indexes.length; i++ ) {
-      if( indexes[ i ] > currentIndex ) {
-        result.add( Integer.valueOf( indexes[ i ] ) );
-      }
-    }
-    return getAsArray( result );
+  private int fillBelowCurrent( int[] result ) {
+    return fill( result, 0, getWindowStart( currentIndex ), currentIndex - 1 );
   }
 
-  private int[] computeFollowUps( int[] indexes ) {
-    List<Integer> result = new ArrayList<Integer>();
-    for( int i = 0; i < indexes.length; i++ ) {
-      if( indexes[ i ] < currentIndex ) {
-        result.add( Integer.valueOf( indexes[ i ] ) );
-      }
-    }
-    return getAsArray( result );
+  private int fillAboveCurrent( int[] result ) {
+    return fill( result, 0, Math.max( 0, currentIndex + 1 ), getWindowEnd( currentIndex ) );
   }
 
   public int[] popOutOfRangeIndexes() {
-    int[] result = getEmptyRange();
+    int[] indexes = getBuffer();
+    return copy( indexes, popOutOfRangeIndexes( indexes ) );
+  }
+
+  public int popOutOfRangeIndexes( int[] result ) {
+    int count = 0;
     if( dirty && oldIndex != -1 ) {
-      result = computeOutOfRangeIndexes();
+      count = computeOutOfRangeIndexes( result );
       dirty = false;
     }
-    return result;
+    return count;
   }
 
-  private int[] getEmptyRange() {
-    return new int[] {};
+  // the old window minus the new window, at most one interval on each side of the new window
+  private int computeOutOfRangeIndexes( int[] result ) {
+    int oldStart = oldWindowStart;
+    int oldEnd = oldWindowEnd;
+    int newStart = getWindowStart( currentIndex );
+    int newEnd = getWindowEnd( currentIndex );
+    int count = fill( result, 0, oldStart, Math.min( oldEnd, newStart - 1 ) );
+    return fill( result, count, Math.max( oldStart, newEnd + 1 ), oldEnd );
   }
 
-  private int[] computeOutOfRangeIndexes() {
-    int[] newRange = getRange( currentIndex );
-    int[] oldRange = getRange( oldIndex );
-    return computeDelta( oldRange, newRange );
+  /**
+   * Returns the lowest index of the current window.
+   */
+  public int getWindowStart() {
+    return getWindowStart( currentIndex );
   }
 
-  private int[] computeDelta( int[] oldRange, int[] newRange ) {
-    List<Integer> delta = new ArrayList<Integer>();
-    List<Integer> oldIndexes = getAsList( oldRange );
-    List<Integer> newIndexes = getAsList( newRange );
-    for( Integer index : oldIndexes ) {
-      if( !newIndexes.contains( index ) ) {
-        delta.add( index );
-      }
+  /**
+   * Returns the highest index of the current window. It's not limited by the amount of items.
+   */
+  public int getWindowEnd() {
+    return getWindowEnd( currentIndex );
+  }
+
+  private int getWindowStart( int index ) {
+    return Math.max( 0, index - rangeBefore );
+  }
+
+  private int getWindowEnd( int index ) {
+    return index + rangeAfter;
+  }
+
+  private static int fill( int[] result, int offset, int from, int to ) {
+    int count = offset;
+    for( int i = from; i <= to; i++ ) {
+      result[ count++ ] = i;
     }
-    return getAsArray( delta );
+    return count;
+  }
+
+  private int[] getBuffer() {
+    if( buffer == null || buffer.length < getMaxIndexCount() ) {
+      buffer = new int[ getMaxIndexCount() ];
+    }
+    return buffer;
+  }
+
+  private static int[] copy( int[] indexes, int count ) {
+    return count == 0 ? EMPTY : Arrays.copyOf( indexes, count );
   }
 
   public static List<Integer> getAsList( int[] indexes ) {
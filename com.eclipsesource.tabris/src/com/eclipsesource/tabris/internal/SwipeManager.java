@@ -17,7 +17,9 @@ import java.io.Serializable;
 import org.eclipse.swt.SWT;
 
 import com.eclipsesource.tabris.widgets.swipe.SwipeContext;
+import com.eclipsesource.tabris.widgets.swipe.SwipeEvictionPolicy;
 import com.eclipsesource.tabris.widgets.swipe.SwipeItemProvider;
+import com.eclipsesource.tabris.widgets.swipe.SwipePreloadingPolicy;
 
 
 public class SwipeManager implements Serializable {
@@ -28,6 +30,8 @@ public class SwipeManager implements Serializable {
   private final SwipeItemIndexer indexer;
   private int leftLock;
   private int rightLock;
+  private SwipeEvictionPolicy evictionPolicy;
+  private SwipePreloadingPolicy preloadingPolicy;
 
   public SwipeManager( SwipeItemProvider provider ) {
     checkArgumentNotNull( provider, "SwipeItemProvier" );
@@ -55,6 +59,22 @@ public class SwipeManager implements Serializable {
     return indexer;
   }
 
+  public SwipeEvictionPolicy getEvictionPolicy() {
+    return evictionPolicy;
+  }
+
+  public void setEvictionPolicy( SwipeEvictionPolicy evictionPolicy ) {
+    this.evictionPolicy = evictionPolicy;
+  }
+
+  public SwipePreloadingPolicy getPreloadingPolicy() {
+    return preloadingPolicy;
+  }
+
+  public void setPreloadingPolicy( SwipePreloadingPolicy preloadingPolicy ) {
+    this.preloadingPolicy = preloadingPolicy;
+  }
+
   public void lock( int direction, int index, boolean locked ) {
     if( locked ) {
       lock( direction, index );
@@ -19,15 +19,19 @@ import java.util.Map;
 import org.eclipse.rap.rwt.remote.AbstractOperationHandler;
 
 import com.eclipsesource.tabris.widgets.swipe.Swipe;
+import com.eclipsesource.tabris.widgets.swipe.SwipePreloadingPolicy;
 
 
 public class SwipeOperationHandler extends AbstractOperationHandler {
 
   private final Swipe swipe;
+  private final SwipeManager manager;
 
-  public SwipeOperationHandler( Swipe swipe ) {
+  public SwipeOperationHandler( Swipe swipe, SwipeManager manager ) {
     checkArgumentNotNull( swipe, "Swipe" );
+    checkArgumentNotNull( manager, "SwipeManager" );
     this.swipe = swipe;
+    this.manager = manager;
   }
 
   @Override
@@ -35,10 +39,20 @@ public class SwipeOperationHandler extends AbstractOperationHandler {
     if( EVENT_SWIPE.equals( event ) ) {
       verifyHasItemProperty( properties );
       Integer itemIndex = ( Integer )properties.get( PROPERTY_ITEM );
+      notifyPreloadingPolicy( itemIndex.intValue() );
       swipe.show( itemIndex.intValue() );
     }
   }
 
+  // only swipes of the user are reported, programmatic calls to show don't change the preloading
+  private void notifyPreloadingPolicy( int index ) {
+    SwipePreloadingPolicy policy = manager.getPreloadingPolicy();
+    int current = manager.getIndexer().getCurrent();
+    if( policy != null && index != current ) {
+      policy.itemChanged( current, index );
+    }
+  }
+
   private void verifyHasItemProperty( Map<String, Object> properties ) {
     checkArgumentNotNull( properties, "Properties" );
     if( !properties.containsKey( PROPERTY_ITEM ) ) {
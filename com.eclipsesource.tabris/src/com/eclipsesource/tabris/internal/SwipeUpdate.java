@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal;
+
+import static com.eclipsesource.tabris.internal.Constants.PROPERTY_ACTIVE;
+import static com.eclipsesource.tabris.internal.Constants.PROPERTY_ADDED_ITEMS;
+import static com.eclipsesource.tabris.internal.Constants.PROPERTY_CONTROLS;
+import static com.eclipsesource.tabris.internal.Constants.PROPERTY_REMOVED_ITEMS;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Collects the item changes of a swipe during one show or refresh so they can be sent as a single update. The
+ * client applies the removals first, then the additions and then activates the item.
+ */
+public class SwipeUpdate implements Serializable {
+
+  private int[] removedItems;
+  private int removedCount;
+  private int[] addedItems;
+  private String[] controls;
+  private int addedCount;
+  private int activeItem;
+
+  public SwipeUpdate() {
+    removedItems = new int[ 4 ];
+    addedItems = new int[ 4 ];
+    controls = new String[ 4 ];
+    activeItem = -1;
+  }
+
+  public void removeItem( int index ) {
+    int added = indexOf( addedItems, addedCount, index );
+    if( added != -1 ) {
+      // the client has never seen this addition
+      removeAddition( added );
+    } else if( indexOf( removedItems, removedCount, index ) == -1 ) {
+      if( removedCount == removedItems.length ) {
+        removedItems = Arrays.copyOf( removedItems, removedCount * 2 );
+      }
+      removedItems[ removedCount++ ] = index;
+    }
+  }
+
+  public void addItem( int index, String controlId ) {
+    if( addedCount == addedItems.length ) {
+      addedItems = Arrays.copyOf( addedItems, addedCount * 2 );
+      controls = Arrays.copyOf( controls, addedCount * 2 );
+    }
+    addedItems[ addedCount ] = index;
+    controls[ addedCount ] = controlId;
+    addedCount++;
+  }
+
+  public void activateItem( int index ) {
+    activeItem = index;
+  }
+
+  public boolean isEmpty() {
+    return removedCount == 0 && addedCount == 0 && activeItem == -1;
+  }
+
+  public boolean hasAddedItems() {
+    return addedCount > 0;
+  }
+
+  public Map<String, Object> toProperties() {
+    Map<String, Object> result = new HashMap<String, Object>();
+    if( removedCount > 0 ) {
+      result.put( PROPERTY_REMOVED_ITEMS, Arrays.copyOf( removedItems, removedCount ) );
+    }
+    if( addedCount > 0 ) {
+      result.put( PROPERTY_ADDED_ITEMS, Arrays.copyOf( addedItems, addedCount ) );
+      result.put( PROPERTY_CONTROLS, Arrays.copyOf( controls, addedCount ) );
+    }
+    if( activeItem != -1 ) {
+      result.put( PROPERTY_ACTIVE, Integer.valueOf( activeItem ) );
+    }
+    return result;
+  }
+
+  public void clear() {
+    removedCount = 0;
+    Arrays.fill( controls, 0, addedCount, null );
+    addedCount = 0;
+    activeItem = -1;
+  }
+
+  private void removeAddition( int position ) {
+    int moved = addedCount - position - 1;
+    System.arraycopy( addedItems, position + 1, addedItems, position, moved );
+    System.arraycopy( controls, position + 1, controls, position, moved );
+    addedCount--;
+    controls[ addedCount ] = null;
+  }
+
+  private static int indexOf( int[] indexes, int count, int index ) {
+    for( int i = 0; i < count; i++ ) {
+      if( indexes[ i ] == index ) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
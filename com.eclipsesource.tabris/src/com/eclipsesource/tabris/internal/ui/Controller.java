@@ -31,16 +31,20 @@ public class Controller implements Serializable {
 
   private final UIDescriptor uiDescriptor;
   private final Shell shell;
-  private final List<RemoteAction> globalActions;
+  private final Map<String, RemoteAction> globalActions;
+  private final Map<String, RemoteAction> pageActions;
   private final Map<PageDescriptor, RemotePage> rootPages;
   private final RemoteUI remoteUI;
+  private final PageCache pageCache;
   private PageFlow currentFlow;
 
   public Controller( Shell shell, RemoteUI remoteUI, UIDescriptor uiDescriptor ) {
     this.shell = shell;
     this.remoteUI = remoteUI;
     this.uiDescriptor = uiDescriptor;
-    this.globalActions = new ArrayList<RemoteAction>();
+    this.globalActions = new HashMap<String, RemoteAction>();
+    this.pageActions = new HashMap<String, RemoteAction>();
+    this.pageCache = new PageCache();
     this.rootPages = new HashMap<PageDescriptor, RemotePage>();
   }
 
@@ -51,18 +55,19 @@ public class Controller implements Serializable {
     showRoot( ui, pages.get( 0 ), new PageData() );
   }
 
+  // the client needs all root pages for its menu, their content is created when a root is shown the first time
   private void createRootRemotePages( UIImpl ui, List<PageDescriptor> pages ) {
     for( PageDescriptor descriptor : pages ) {
       RemotePage remotePage = new RemotePage( ui, descriptor, remoteUI.getRemoteUIId(), new PageData() );
       rootPages.put( descriptor, remotePage );
-      remotePage.createControl( shell );
     }
   }
 
   public void createGlobalActions( UIImpl ui ) {
     List<ActionDescriptor> actions = uiDescriptor.getGlobalActions();
     for( ActionDescriptor actionDescriptor : actions ) {
-      globalActions.add( new RemoteAction( ui, actionDescriptor, remoteUI.getRemoteUIId() ) );
+      RemoteAction action = new RemoteAction( ui, actionDescriptor, remoteUI.getRemoteUIId() );
+      globalActions.put( actionDescriptor.getId(), action );
     }
   }
 
@@ -93,7 +98,7 @@ public class Controller implements Serializable {
   private RemotePage cleanupOldRoot( UIImpl ui, RemotePage root ) {
     RemotePage oldRoot = currentFlow.getCurrentPage();
     fireTransitionBeforeEvent( ui, oldRoot, root );
-    oldRoot.destroyActions();
+    oldRoot.destroyActions( pageActions );
     oldRoot.getPage().deactivate();
     currentFlow.destroy();
     return oldRoot;
@@ -101,8 +106,9 @@ public class Controller implements Serializable {
 
   private void initializeNewRoot( UIImpl ui, RemotePage oldRoot, RemotePage newRoot ) {
     currentFlow = new PageFlow( newRoot );
+    newRoot.createControl( shell );
     remoteUI.activate( newRoot.getRemotePageId() );
-    newRoot.createActions();
+    newRoot.createActions( pageActions );
     newRoot.getPage().activate();
     makeControlVisible( currentFlow.getCurrentPage().getControl() );
     fireTransitionAfterEvent( ui, oldRoot, newRoot );
@@ -115,7 +121,7 @@ public class Controller implements Serializable {
 
   private RemotePage cleanupOldPage( UIImpl ui ) {
     RemotePage oldPage = currentFlow.getCurrentPage();
-    oldPage.destroyActions();
+    oldPage.destroyActions( pageActions );
     oldPage.getPage().deactivate();
     return oldPage;
   }
@@ -125,10 +131,15 @@ public class Controller implements Serializable {
                                         RemotePage oldRemotePage,
                                         PageData data )
   {
-    RemotePage newRemotePage = new RemotePage( ui, newPage, remoteUI.getRemoteUIId(), data );
+    RemotePage newRemotePage = newPage.isReusable() ? pageCache.take( newPage ) : null;
+    if( newRemotePage == null ) {
+      newRemotePage = new RemotePage( ui, newPage, remoteUI.getRemoteUIId(), data );
+    } else {
+      newRemotePage.reattach( data );
+    }
     fireTransitionBeforeEvent( ui, oldRemotePage, newRemotePage );
     currentFlow.add( newRemotePage );
-    newRemotePage.createActions();
+    newRemotePage.createActions( pageActions );
     newRemotePage.createControl( shell );
     remoteUI.activate( newRemotePage.getRemotePageId() );
     newRemotePage.getPage().activate();
@@ -154,15 +165,23 @@ public class Controller implements Serializable {
 
   private RemotePage cleanUpCurrentPage( UIImpl ui ) {
     RemotePage removedPage = currentFlow.pop();
-    removedPage.destroy();
-    removedPage.destroyActions();
+    boolean reusable = removedPage.getDescriptor().isReusable();
+    if( reusable ) {
+      removedPage.detach();
+    } else {
+      removedPage.destroy();
+    }
+    removedPage.destroyActions( pageActions );
     removedPage.getPage().deactivate();
+    if( reusable ) {
+      pageCache.put( removedPage );
+    }
     return removedPage;
   }
 
   private void initializePreviousPage( UIImpl ui, RemotePage previousPage ) {
     remoteUI.activate( previousPage.getRemotePageId() );
-    previousPage.createActions();
+    previousPage.createActions( pageActions );
     previousPage.getPage().activate();
     makeControlVisible( previousPage.getControl() );
   }
@@ -237,44 +256,16 @@ public class Controller implements Serializable {
     action.setVisible( visible );
   }
 
+  // global actions win over page actions with the same id
   private RemoteAction findRemoteAction( String id ) {
-    RemoteAction result = findActionInGlobalActions( id );
+    RemoteAction result = globalActions.get( id );
     if( result == null ) {
-      result = findActionInPageActions( id );
+      result = pageActions.get( id );
     }
     checkState( result, "Action with id " + id + " does not exist." );
     return result;
   }
 
-  private RemoteAction findActionInGlobalActions( String id ) {
-    for( RemoteAction action : globalActions ) {
-      if( action.getDescriptor().getId().equals( id ) ) {
-        return action;
-      }
-    }
-    return null;
-  }
-
-  private RemoteAction findActionInPageActions( String id ) {
-    if( currentFlow != null ) {
-      return findActionInCurrentFlow( id );
-    }
-    return null;
-  }
-
-  private RemoteAction findActionInCurrentFlow( String id ) {
-    List<RemotePage> allPages = currentFlow.getAllPages();
-    for( RemotePage page : allPages ) {
-      List<RemoteAction> actions = page.getActions();
-      for( RemoteAction remoteAction : actions ) {
-        if( remoteAction.getDescriptor().getId().equals( id ) ) {
-          return remoteAction;
-        }
-      }
-    }
-    return null;
-  }
-
   void fireTransitionBeforeEvent( UIImpl ui, RemotePage from, RemotePage to ) {
     UIDescriptor uiDescriptor = ui.getConfiguration().getAdapter( UIDescriptor.class );
     List<TransitionListener> listeners = new ArrayList<TransitionListener>( uiDescriptor.getTransitionListeners() );
@@ -295,6 +286,10 @@ public class Controller implements Serializable {
     }
   }
 
+  PageCache getPageCache() {
+    return pageCache;
+  }
+
   Map<PageDescriptor, RemotePage> getRootPages() {
     return rootPages;
   }
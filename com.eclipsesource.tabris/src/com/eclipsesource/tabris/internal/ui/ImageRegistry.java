@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal.ui;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.internal.graphics.ImageFactory;
+
+
+/**
+ * An application wide, least recently used registry of the images of pages and actions keyed by the content of their
+ * bytes. Every distinct image is decoded and registered as resource only once while it stays in the registry. Evicting
+ * an image only drops its entry, the resource stays registered.
+ */
+@SuppressWarnings("restriction")
+public class ImageRegistry {
+
+  static final int DEFAULT_CAPACITY = 64;
+  static final String ATTRIBUTE_REGISTRY = ImageRegistry.class.getName() + "#instance";
+
+  private static final Object LOCK = new Object();
+
+  private final ImageMap images;
+
+  public static ImageRegistry getInstance() {
+    ApplicationContextImpl applicationContext = ContextProvider.getApplicationContext();
+    synchronized( LOCK ) {
+      ImageRegistry result = ( ImageRegistry )applicationContext.getAttribute( ATTRIBUTE_REGISTRY );
+      if( result == null ) {
+        result = new ImageRegistry();
+        applicationContext.setAttribute( ATTRIBUTE_REGISTRY, result );
+      }
+      return result;
+    }
+  }
+
+  public ImageRegistry() {
+    this( DEFAULT_CAPACITY );
+  }
+
+  ImageRegistry( int capacity ) {
+    this.images = new ImageMap( capacity );
+  }
+
+  /**
+   * Returns the registered image for the given bytes. The bytes are only decoded when no image with the same content
+   * is in the registry.
+   */
+  public synchronized RegisteredImage getImage( Device device, byte[] bytes ) {
+    ImageKey key = new ImageKey( bytes );
+    RegisteredImage result = images.get( key );
+    if( result == null ) {
+      result = register( device, bytes );
+      images.put( new ImageKey( bytes.clone() ), result );
+    }
+    return result;
+  }
+
+  public synchronized int size() {
+    return images.size();
+  }
+
+  private static RegisteredImage register( Device device, byte[] bytes ) {
+    Image image = new Image( device, new ByteArrayInputStream( bytes ) );
+    try {
+      Rectangle bounds = image.getBounds();
+      return new RegisteredImage( ImageFactory.getImagePath( image ), bounds.width, bounds.height );
+    } finally {
+      // the registered resource outlives the image
+      image.dispose();
+    }
+  }
+
+  public static class RegisteredImage {
+
+    private final String path;
+    private final int width;
+    private final int height;
+
+    RegisteredImage( String path, int width, int height ) {
+      this.path = path;
+      this.width = width;
+      this.height = height;
+    }
+
+    public String getPath() {
+      return path;
+    }
+
+    public int getWidth() {
+      return width;
+    }
+
+    public int getHeight() {
+      return height;
+    }
+  }
+
+  private static class ImageMap extends LinkedHashMap<ImageKey, RegisteredImage> {
+
+    private final int capacity;
+
+    public ImageMap( int capacity ) {
+      super( 16, 0.75F, true );
+      this.capacity = capacity;
+    }
+
+    @Override
+    protected boolean removeEldestEntry( Map.Entry<ImageKey, RegisteredImage> eldest ) {
+      return size() > capacity;
+    }
+  }
+
+  private static class ImageKey {
+
+    private final byte[] bytes;
+    private final int hash;
+
+    public ImageKey( byte[] bytes ) {
+      this.bytes = bytes;
+      this.hash = Arrays.hashCode( bytes );
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals( Object object ) {
+      if( this == object ) {
+        return true;
+      }
+      if( !( object instanceof ImageKey ) ) {
+        return false;
+      }
+      ImageKey other = ( ImageKey )object;
+      return hash == other.hash && Arrays.equals( bytes, other.bytes );
+    }
+  }
+}
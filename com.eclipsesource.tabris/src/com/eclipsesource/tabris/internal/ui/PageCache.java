@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.internal.ui;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.LinkedList;
+
+import org.eclipse.swt.widgets.Control;
+
+
+/**
+ * Keeps closed and detached pages of a session for reuse. When the capacity is exceeded the least recently closed
+ * page is evicted and its control gets disposed.
+ */
+public class PageCache implements Serializable {
+
+  static final int DEFAULT_CAPACITY = 5;
+
+  private final LinkedList<RemotePage> pages;
+  private final int capacity;
+
+  public PageCache() {
+    this( DEFAULT_CAPACITY );
+  }
+
+  public PageCache( int capacity ) {
+    if( capacity < 0 ) {
+      throw new IllegalArgumentException( "Capacity must be >= 0 but was " + capacity );
+    }
+    this.capacity = capacity;
+    this.pages = new LinkedList<RemotePage>();
+  }
+
+  public void put( RemotePage page ) {
+    pages.addFirst( page );
+    while( pages.size() > capacity ) {
+      dispose( pages.removeLast() );
+    }
+  }
+
+  /**
+   * Returns the most recently closed page for the given descriptor or <code>null</code> when there is none.
+   */
+  public RemotePage take( PageDescriptor descriptor ) {
+    Iterator<RemotePage> iterator = pages.iterator();
+    while( iterator.hasNext() ) {
+      RemotePage page = iterator.next();
+      if( page.getDescriptor().equals( descriptor ) ) {
+        iterator.remove();
+        if( !page.getControl().isDisposed() ) {
+          return page;
+        }
+      }
+    }
+    return null;
+  }
+
+  public int size() {
+    return pages.size();
+  }
+
+  public void clear() {
+    for( RemotePage page : pages ) {
+      dispose( page );
+    }
+    pages.clear();
+  }
+
+  private static void dispose( RemotePage page ) {
+    Control control = page.getControl();
+    if( control != null && !control.isDisposed() ) {
+      control.dispose();
+    }
+  }
+}
@@ -32,6 +32,7 @@ public class PageDescriptor implements Serializable {
   private final PageStyle[] style;
   private final String title;
   private final byte[] image;
+  private boolean reusable;
 
   public PageDescriptor( String id,
                              Class<? extends Page> pageType,
@@ -83,6 +84,14 @@ public class PageDescriptor implements Serializable {
     return image;
   }
 
+  public void setReusable( boolean reusable ) {
+    this.reusable = reusable;
+  }
+
+  public boolean isReusable() {
+    return reusable;
+  }
+
   // Generated by eclipse. Sufficient for the moment.
 
   @Override
@@ -17,16 +17,13 @@ import static com.eclipsesource.tabris.internal.Constants.PROPERTY_PARENT;
 import static com.eclipsesource.tabris.internal.Constants.PROPERTY_TITLE;
 import static com.eclipsesource.tabris.internal.Constants.PROPERTY_VISIBILITY;
 
-import java.io.ByteArrayInputStream;
 import java.util.Map;
 
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.remote.AbstractOperationHandler;
 import org.eclipse.rap.rwt.remote.RemoteObject;
-import org.eclipse.swt.graphics.Image;
-import org.eclipse.swt.graphics.Rectangle;
-import org.eclipse.swt.internal.graphics.ImageFactory;
 
+import com.eclipsesource.tabris.internal.ui.ImageRegistry.RegisteredImage;
 import com.eclipsesource.tabris.ui.UI;
 
 
@@ -54,21 +51,14 @@ public class RemoteAction extends AbstractOperationHandler {
   }
 
   private void setImage() {
-    Image image = createImage( descriptor.getImage() );
-    if( image != null ) {
-      Rectangle bounds = image.getBounds();
-      Object[] imageData = new Object[] { ImageFactory.getImagePath( image ),
-                                          Integer.valueOf( bounds.width ),
-                                          Integer.valueOf( bounds.height ) };
-      remoteObject.set( PROPERTY_IMAGE, imageData );
-    }
-  }
-
-  private Image createImage( byte[] bytes ) {
+    byte[] bytes = descriptor.getImage();
     if( bytes != null ) {
-      return new Image( ui.getDisplay(), new ByteArrayInputStream( bytes ) );
+      RegisteredImage image = ImageRegistry.getInstance().getImage( ui.getDisplay(), bytes );
+      Object[] imageData = new Object[] { image.getPath(),
+                                          Integer.valueOf( image.getWidth() ),
+                                          Integer.valueOf( image.getHeight() ) };
+      remoteObject.set( PROPERTY_IMAGE, imageData );
     }
-    return null;
   }
 
   private void setDefaultEnabled() {
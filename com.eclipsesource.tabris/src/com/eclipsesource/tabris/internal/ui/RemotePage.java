@@ -17,25 +17,24 @@ import static com.eclipsesource.tabris.internal.Constants.PROPERTY_STYLE;
 import static com.eclipsesource.tabris.internal.Constants.PROPERTY_TITLE;
 import static com.eclipsesource.tabris.internal.Constants.PROPERTY_TOP_LEVEL;
 
-import java.io.ByteArrayInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.internal.remote.RemoteObjectImpl;
 import org.eclipse.rap.rwt.lifecycle.WidgetUtil;
 import org.eclipse.swt.SWT;
-import org.eclipse.swt.graphics.Image;
-import org.eclipse.swt.graphics.Rectangle;
-import org.eclipse.swt.internal.graphics.ImageFactory;
 import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 
+import com.eclipsesource.tabris.internal.ui.ImageRegistry.RegisteredImage;
 import com.eclipsesource.tabris.ui.Page;
 import com.eclipsesource.tabris.ui.PageData;
 import com.eclipsesource.tabris.ui.PageStyle;
+import com.eclipsesource.tabris.ui.ReusablePage;
 import com.eclipsesource.tabris.ui.UI;
 
 
@@ -43,26 +42,29 @@ import com.eclipsesource.tabris.ui.UI;
 public class RemotePage implements Serializable {
 
   private final PageDescriptor descriptor;
-  private final RemoteObjectImpl remoteObject;
+  private RemoteObjectImpl remoteObject;
   private final List<RemoteAction> remoteActions;
   private final UI ui;
   private final String parentId;
-  private final Page page;
-  private final PageData data;
+  private Page page;
+  private PageData data;
   private Control control;
 
   public RemotePage( UI ui, PageDescriptor descriptor, String parentId, PageData data ) {
     this.ui = ui;
     this.parentId = parentId;
     this.data = data;
-    this.remoteObject = ( RemoteObjectImpl )RWT.getUISession().getConnection().createRemoteObject( "tabris.Page" );
+    this.remoteObject = createRemoteObject();
     this.descriptor = descriptor;
-    this.page = InstanceCreator.createInstance( descriptor.getPageType() );
     this.remoteActions = new ArrayList<RemoteAction>();
     setTitle( descriptor.getTitle() );
     setAttributes();
   }
 
+  private static RemoteObjectImpl createRemoteObject() {
+    return ( RemoteObjectImpl )RWT.getUISession().getConnection().createRemoteObject( "tabris.Page" );
+  }
+
   public String getRemotePageId() {
     return remoteObject.getId();
   }
@@ -87,27 +89,25 @@ public class RemotePage implements Serializable {
   }
 
   private void setImage() {
-    Image image = createImage( descriptor.getImage() );
-    if( image != null ) {
-      Rectangle bounds = image.getBounds();
-      Object[] imageData = new Object[] { ImageFactory.getImagePath( image ),
-                                          Integer.valueOf( bounds.width ),
-                                          Integer.valueOf( bounds.height ) };
-      remoteObject.set( PROPERTY_IMAGE, imageData );
-    }
-  }
-
-  private Image createImage( byte[] bytes ) {
+    byte[] bytes = descriptor.getImage();
     if( bytes != null ) {
-      return new Image( ui.getDisplay(), new ByteArrayInputStream( bytes ) );
+      RegisteredImage image = ImageRegistry.getInstance().getImage( ui.getDisplay(), bytes );
+      Object[] imageData = new Object[] { image.getPath(),
+                                          Integer.valueOf( image.getWidth() ),
+                                          Integer.valueOf( image.getHeight() ) };
+      remoteObject.set( PROPERTY_IMAGE, imageData );
     }
-    return null;
   }
 
-  public void createActions() {
+  /**
+   * Creates the actions of this page and registers them by id in the given index.
+   */
+  public void createActions( Map<String, RemoteAction> actionIndex ) {
     List<ActionDescriptor> actions = descriptor.getActions();
     for( ActionDescriptor actionDescriptor : actions ) {
-      remoteActions.add( new RemoteAction( ui, actionDescriptor, parentId ) );
+      RemoteAction action = new RemoteAction( ui, actionDescriptor, parentId );
+      remoteActions.add( action );
+      actionIndex.put( actionDescriptor.getId(), action );
     }
   }
 
@@ -123,7 +123,13 @@ public class RemotePage implements Serializable {
     return descriptor;
   }
 
+  /**
+   * Returns the page object. It will be created with the first call.
+   */
   public Page getPage() {
+    if( page == null ) {
+      page = InstanceCreator.createInstance( descriptor.getPageType() );
+    }
     return page;
   }
 
@@ -131,7 +137,7 @@ public class RemotePage implements Serializable {
     if( control == null ) {
       Composite container = new Composite( parent, SWT.NONE );
       container.setLayout( new FillLayout() );
-      page.createContent( container, ui );
+      getPage().createContent( container, ui );
       control = container;
       remoteObject.set( PROPERTY_CONTROL, WidgetUtil.getId( control ) );
     }
@@ -150,8 +156,39 @@ public class RemotePage implements Serializable {
     remoteObject.destroy();
   }
 
-  public void destroyActions() {
+  /**
+   * Destroys the remote page but keeps the page object and its hidden control to be reattached later.
+   */
+  public void detach() {
+    control.setVisible( false );
+    remoteObject.destroy();
+  }
+
+  /**
+   * Creates a new remote page for a detached page and passes the new data to the page. The title is reset to the
+   * configured one like for a new page.
+   */
+  public void reattach( PageData data ) {
+    this.data = data;
+    remoteObject = createRemoteObject();
+    setTitle( descriptor.getTitle() );
+    setAttributes();
+    remoteObject.set( PROPERTY_CONTROL, WidgetUtil.getId( control ) );
+    control.setVisible( true );
+    if( page instanceof ReusablePage ) {
+      ( ( ReusablePage )page ).reuse( data );
+    }
+  }
+
+  /**
+   * Destroys the actions of this page and removes them from the given index.
+   */
+  public void destroyActions( Map<String, RemoteAction> actionIndex ) {
     for( RemoteAction action : remoteActions ) {
+      String id = action.getDescriptor().getId();
+      if( actionIndex.get( id ) == action ) {
+        actionIndex.remove( id );
+      }
       action.destroy();
     }
     remoteActions.clear();
@@ -12,75 +12,78 @@ package com.eclipsesource.tabris.internal.ui;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.eclipsesource.tabris.ui.TransitionListener;
 
 
+/**
+ * Holds the pages and actions of a <code>UIConfiguration</code>. It's shared by all sessions, so lookups by id use
+ * hash indexes and the root pages are computed when a page is added and not on every call.
+ */
 public class UIDescriptor implements Serializable {
 
   private final List<PageDescriptor> pageDescriptors;
+  private final Map<String, PageDescriptor> pageIndex;
   private final List<ActionDescriptor> actionDescriptors;
+  private final Map<String, ActionDescriptor> actionIndex;
   private final List<TransitionListener> transitionListeners;
+  private volatile List<PageDescriptor> rootPages;
 
   public UIDescriptor() {
     pageDescriptors = new ArrayList<PageDescriptor>();
+    pageIndex = new HashMap<String, PageDescriptor>();
     actionDescriptors = new ArrayList<ActionDescriptor>();
+    actionIndex = new HashMap<String, ActionDescriptor>();
     transitionListeners = new ArrayList<TransitionListener>();
+    rootPages = Collections.emptyList();
   }
 
   public void add( PageDescriptor descriptor ) {
     verifyPageDescriptorIsUnique( descriptor );
     pageDescriptors.add( descriptor );
+    pageIndex.put( descriptor.getId(), descriptor );
+    if( descriptor.isTopLevel() ) {
+      List<PageDescriptor> newRootPages = new ArrayList<PageDescriptor>( rootPages );
+      newRootPages.add( descriptor );
+      rootPages = Collections.unmodifiableList( newRootPages );
+    }
   }
 
   private void verifyPageDescriptorIsUnique( PageDescriptor descriptor ) {
-    for( PageDescriptor pageDescriptor : pageDescriptors ) {
-      if( pageDescriptor.getId().equals( descriptor.getId() ) ) {
-        throw new IllegalStateException( "Page with id " + descriptor.getId() + " allready exist." );
-      }
+    if( pageIndex.containsKey( descriptor.getId() ) ) {
+      throw new IllegalStateException( "Page with id " + descriptor.getId() + " allready exist." );
     }
   }
 
   public PageDescriptor getPageDescriptor( String id ) {
-    for( PageDescriptor pageDescriptor : pageDescriptors ) {
-      if( pageDescriptor.getId().equals( id ) ) {
-        return pageDescriptor;
-      }
-    }
-    return null;
+    return pageIndex.get( id );
   }
 
   public void add( ActionDescriptor descriptor ) {
     verifyActionDescriptorIsUnique( descriptor );
     actionDescriptors.add( descriptor );
+    actionIndex.put( descriptor.getId(), descriptor );
   }
 
   private void verifyActionDescriptorIsUnique( ActionDescriptor descriptor ) {
-    for( ActionDescriptor actionDescriptor : actionDescriptors ) {
-      if( actionDescriptor.getId().equals( descriptor.getId() ) ) {
-        throw new IllegalStateException( "Action with id " + descriptor.getId() + " allready exist." );
-      }
+    if( actionIndex.containsKey( descriptor.getId() ) ) {
+      throw new IllegalStateException( "Action with id " + descriptor.getId() + " allready exist." );
     }
   }
 
   public ActionDescriptor getActionDescriptor( String id ) {
-    for( ActionDescriptor actionDescriptor : actionDescriptors ) {
-      if( actionDescriptor.getId().equals( id ) ) {
-        return actionDescriptor;
-      }
-    }
-    return null;
+    return actionIndex.get( id );
   }
 
+  /**
+   * Returns the top level pages in the order they were added. The list is immutable.
+   */
   public List<PageDescriptor> getRootPages() {
-    List<PageDescriptor> result = new ArrayList<PageDescriptor>();
-    for( PageDescriptor pageDescriptor : pageDescriptors ) {
-      if( pageDescriptor.isTopLevel() ) {
-        result.add( pageDescriptor );
-      }
-    }
-    return result;
+    return rootPages;
   }
 
   public List<ActionDescriptor> getGlobalActions() {
@@ -48,6 +48,7 @@ public class PageConfiguration implements Adaptable, Serializable {
   protected String title;
   protected PageStyle[] style;
   protected boolean topLevel;
+  protected boolean reusable;
   protected List<ActionConfiguration> actions;
   private InputStream image;
 
@@ -84,6 +85,26 @@ public class PageConfiguration implements Adaptable, Serializable {
     return this;
   }
 
+  /**
+   * <p>
+   * Marks the page to be reusable. A closed reusable page will be kept with its content in a small cache of the
+   * session and reused the next time this page is opened. The page type needs to implement {@link ReusablePage}. Top
+   * level pages are always kept and don't need to be reusable.
+   * </p>
+   *
+   * @throws IllegalStateException when the page type does not implement {@link ReusablePage}.
+   *
+   * @since 1.1
+   */
+  public PageConfiguration setReusable( boolean reusable ) throws IllegalStateException {
+    if( reusable && !ReusablePage.class.isAssignableFrom( pageType ) ) {
+      throw new IllegalStateException( "Page type " + pageType.getName() + " does not implement "
+                                       + ReusablePage.class.getSimpleName() );
+    }
+    this.reusable = reusable;
+    return this;
+  }
+
   /**
    * <p>
    * Defines the title of the page.
@@ -151,6 +172,7 @@ public class PageConfiguration implements Adaptable, Serializable {
 
   private PageDescriptor createDescriptor() {
     PageDescriptor pageDescriptor = new PageDescriptor( id, pageType, title, image, topLevel, style );
+    pageDescriptor.setReusable( reusable );
     for( ActionConfiguration configuration : actions ) {
       pageDescriptor.addAction( configuration );
     }
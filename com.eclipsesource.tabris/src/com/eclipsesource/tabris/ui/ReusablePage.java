@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.ui;
+
+
+/**
+ * <p>
+ * A {@link ReusablePage} can be used again after it was closed. When the {@link PageConfiguration} of such a page is
+ * marked as reusable the Tabris UI keeps a closed page with its content in a small cache. When a page with the same
+ * configuration is opened later it will be reused instead of creating a new {@link Page} and calling
+ * {@link Page#createContent(org.eclipse.swt.widgets.Composite, UI)} again.
+ * </p>
+ *
+ * @see PageConfiguration#setReusable(boolean)
+ *
+ * @since 1.1
+ */
+public interface ReusablePage extends Page {
+
+  /**
+   * <p>
+   * Will be called when a closed page is opened again. The existing content needs to be updated to show the new
+   * data. The title has already been reset to the configured one, a page that derives its title from the data needs
+   * to set it again. {@link #activate()} will be called afterwards as usual.
+   * </p>
+   *
+   * @param data the data the page was opened with.
+   */
+  void reuse( PageData data );
+
+}
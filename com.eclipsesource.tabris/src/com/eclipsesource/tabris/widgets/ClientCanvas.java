@@ -10,31 +10,37 @@
  ******************************************************************************/
 package com.eclipsesource.tabris.widgets;
 
+import static com.eclipsesource.tabris.internal.Constants.EVENT_DRAWING;
 import static com.eclipsesource.tabris.internal.DataWhitelist.WhiteListEntry.CLIENT_CANVAS;
+import static com.eclipsesource.tabris.internal.DataWhitelist.WhiteListEntry.COMPACT_DRAWINGS;
 import static org.eclipse.rap.rwt.internal.protocol.ProtocolUtil.readEventPropertyValueAsString;
 import static org.eclipse.rap.rwt.internal.protocol.ProtocolUtil.wasEventSent;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import org.eclipse.rap.rwt.RWT;
-import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleUtil;
-import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.lifecycle.PhaseEvent;
 import org.eclipse.rap.rwt.lifecycle.PhaseId;
 import org.eclipse.rap.rwt.lifecycle.PhaseListener;
 import org.eclipse.rap.rwt.lifecycle.WidgetUtil;
 import org.eclipse.rap.rwt.service.UISessionEvent;
 import org.eclipse.rap.rwt.service.UISessionListener;
+import org.eclipse.swt.events.DisposeEvent;
+import org.eclipse.swt.events.DisposeListener;
 import org.eclipse.swt.events.PaintEvent;
 import org.eclipse.swt.events.PaintListener;
 import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Canvas;
 import org.eclipse.swt.widgets.Composite;
-import org.eclipse.swt.widgets.Display;
 
+import com.eclipsesource.tabris.internal.ClientCanvasDispatcher;
+import com.eclipsesource.tabris.internal.ClientCanvasRegistry;
+import com.eclipsesource.tabris.internal.CompactDrawingsCodec;
+import com.eclipsesource.tabris.internal.DrawingOperations;
 import com.eclipsesource.tabris.internal.DrawingsCache;
 import com.eclipsesource.tabris.internal.GCOperationDispatcher;
+import com.eclipsesource.tabris.internal.PolylineSimplifier;
 
 
 /**
@@ -51,20 +57,23 @@ import com.eclipsesource.tabris.internal.GCOperationDispatcher;
 @SuppressWarnings("restriction")
 public class ClientCanvas extends Canvas implements PhaseListener, UISessionListener {
 
-  static final String DRAWING_EVENT = "Drawing";
+  static final String DRAWING_EVENT = EVENT_DRAWING;
   static final String DRAWINGS_PROPERTY = "drawings";
+  static final String COMPACT_DRAWINGS_PROPERTY = "compactDrawings";
 
   private final List<ClientDrawListener> drawListeners;
   private final DrawingsCache cache;
   private PaintListener paintListener;
+  private PolylineSimplifier simplifier;
 
   public ClientCanvas( Composite parent, int style ) {
     super( parent, style );
     drawListeners = new ArrayList<ClientDrawListener>();
     cache = new DrawingsCache();
-    ContextProvider.getApplicationContext().getLifeCycleFactory().getLifeCycle().addPhaseListener( this );
-    RWT.getUISession().addUISessionListener( this );
+    simplifier = new PolylineSimplifier( 0 );
     addDispatchPaintListener();
+    addCanvasDisposeListener();
+    registerCanvas();
     setData( CLIENT_CANVAS.getKey(), Boolean.TRUE );
   }
 
@@ -73,13 +82,28 @@ public class ClientCanvas extends Canvas implements PhaseListener, UISessionList
       @Override
       public void paintControl( PaintEvent event ) {
         GC gc = event.gc;
-        processClientDrawings( gc );
+        processClientDrawings( gc, new Rectangle( event.x, event.y, event.width, event.height ) );
         gc.drawPoint( -1, -1 ); //TODO: This is a workaround to force updates, see RAP bug 377070
       }
     };
     super.addPaintListener( paintListener );
   }
 
+  private void addCanvasDisposeListener() {
+    addDisposeListener( new DisposeListener() {
+      @Override
+      public void widgetDisposed( DisposeEvent event ) {
+        ClientCanvasRegistry.getInstance().unregister( WidgetUtil.getId( ClientCanvas.this ) );
+        ClientCanvasDispatcher.uninstall();
+      }
+    } );
+  }
+
+  private void registerCanvas() {
+    ClientCanvasDispatcher.install();
+    ClientCanvasRegistry.getInstance().register( WidgetUtil.getId( this ), this );
+  }
+
   /**
    * <p>
    * Adds a <code>ClientDrawListener</code> that gets called when a client draws.
@@ -130,6 +154,22 @@ public class ClientCanvas extends Canvas implements PhaseListener, UISessionList
     }
   }
 
+  /**
+   * <p>
+   * Erases all client side drawings that intersect the given area. Erasing can be undone like a drawing.
+   * </p>
+   *
+   * @since 1.1
+   */
+  public void erase( int x, int y, int width, int height ) {
+    checkWidget();
+    if( cache.erase( new Rectangle( x, y, width, height ) ) ) {
+      cache.clearRemoved();
+      redraw();
+      fireDrawEvent();
+    }
+  }
+
   /**
    * <p>
    * returns if a undo can be performed.
@@ -163,6 +203,105 @@ public class ClientCanvas extends Canvas implements PhaseListener, UISessionList
     return cache.hasRedo();
   }
 
+  /**
+   * <p>
+   * Enables a compact encoding for the drawings a client sends to the server. Coordinates are delta encoded as
+   * varints and sent Base64 encoded instead of JSON. Clients that don't support the compact encoding keep sending
+   * JSON. Disabled by default.
+   * </p>
+   *
+   * @since 1.1
+   */
+  public void setCompactDrawingsEnabled( boolean enabled ) {
+    checkWidget();
+    setData( COMPACT_DRAWINGS.getKey(), Boolean.valueOf( enabled ) );
+  }
+
+  /**
+   * <p>
+   * Returns whether clients are allowed to send drawings in the compact encoding.
+   * </p>
+   *
+   * @since 1.1
+   */
+  public boolean isCompactDrawingsEnabled() {
+    checkWidget();
+    return Boolean.TRUE.equals( getData( COMPACT_DRAWINGS.getKey() ) );
+  }
+
+  /**
+   * <p>
+   * Sets the number of bytes the undo and redo history of this canvas may occupy on the heap, including its
+   * compressed part. Older drawings beyond this budget will be compressed in blocks and kept compressed until an undo
+   * or redo reaches them. A budget of <code>0</code> means unlimited which is the default.
+   * </p>
+   * <p>
+   * Compressed drawings need to be inflated to be painted. Blocks that hold no drawing visible in the repainted
+   * area, e.g. only erased ones, stay compressed.
+   * </p>
+   *
+   * @since 1.1
+   */
+  public void setHistoryBudget( int bytes ) {
+    checkWidget();
+    cache.setHistoryBudget( bytes );
+  }
+
+  /**
+   * <p>
+   * Returns the number of bytes the undo and redo history of this canvas may occupy on the heap.
+   * </p>
+   *
+   * @since 1.1
+   */
+  public int getHistoryBudget() {
+    checkWidget();
+    return cache.getHistoryBudget();
+  }
+
+  /**
+   * <p>
+   * Sets the tolerance in pixels used to simplify the paths of client side drawings when they are received. Points
+   * that are not farther away than the tolerance from the simplified path will be dropped. This reduces the memory
+   * needed for the drawing history and the time needed to repaint it. A tolerance of <code>0</code> disables the
+   * simplification which is the default.
+   * </p>
+   *
+   * @since 1.1
+   */
+  public void setSimplificationTolerance( int tolerance ) {
+    checkWidget();
+    simplifier = new PolylineSimplifier( tolerance );
+  }
+
+  /**
+   * <p>
+   * Returns the tolerance in pixels used to simplify the paths of client side drawings.
+   * </p>
+   *
+   * @since 1.1
+   */
+  public int getSimplificationTolerance() {
+    checkWidget();
+    return simplifier.getTolerance();
+  }
+
+  /**
+   * <p>
+   * Creates a snapshot of the current client side drawings. The snapshot can be exported as an image from any
+   * thread while the user keeps drawing.
+   * </p>
+   *
+   * @see ClientCanvasSnapshot
+   * @since 1.1
+   */
+  public ClientCanvasSnapshot createSnapshot() {
+    checkWidget();
+    Rectangle clientArea = getClientArea();
+    List<DrawingOperations> drawings = cache.getVisibleOperations( null );
+    return new ClientCanvasSnapshot( drawings, clientArea.width, clientArea.height, getForeground().getRGB() );
+  }
+
   @Override
   public void addPaintListener( PaintListener listener ) {
     removePaintListener( paintListener );
@@ -170,14 +309,29 @@ public class ClientCanvas extends Canvas implements PhaseListener, UISessionList
     super.addPaintListener( paintListener );
   }
 
-  private void processClientDrawings( GC gc ) {
-    String drawings = readEventPropertyValueAsString( WidgetUtil.getId( this ), DRAWING_EVENT, DRAWINGS_PROPERTY );
+  private void processClientDrawings( GC gc, Rectangle paintArea ) {
+    DrawingOperations drawings = readDrawings();
     if( drawings != null ) {
       cacheDrawings( drawings );
       cache.clearRemoved();
       fireDrawEvent();
     }
-    dispatchDrawings( gc );
+    dispatchDrawings( gc, paintArea );
+  }
+
+  private DrawingOperations readDrawings() {
+    String id = WidgetUtil.getId( this );
+    DrawingOperations result = null;
+    String compactDrawings = readEventPropertyValueAsString( id, DRAWING_EVENT, COMPACT_DRAWINGS_PROPERTY );
+    if( compactDrawings != null ) {
+      result = CompactDrawingsCodec.decode( compactDrawings );
+    } else {
+      String drawings = readEventPropertyValueAsString( id, DRAWING_EVENT, DRAWINGS_PROPERTY );
+      if( drawings != null ) {
+        result = DrawingOperations.fromJson( drawings );
+      }
+    }
+    return result;
   }
 
   private void fireDrawEvent() {
@@ -189,12 +343,12 @@ public class ClientCanvas extends Canvas implements PhaseListener, UISessionList
     }
   }
 
-  private void cacheDrawings( String drawings ) {
-    cache.cache( drawings );
+  private void cacheDrawings( DrawingOperations drawings ) {
+    cache.cache( simplifier.simplify( drawings ) );
   }
 
-  private void dispatchDrawings( GC gc ) {
-    for( String drawing : cache.getCachedDrawings() ) {
+  private void dispatchDrawings( GC gc, Rectangle paintArea ) {
+    for( DrawingOperations drawing : cache.getVisibleOperations( paintArea ) ) {
       if( drawing != null ) {
         GCOperationDispatcher dispatcher = new GCOperationDispatcher( gc, drawing );
         dispatcher.dispatch();
@@ -202,30 +356,43 @@ public class ClientCanvas extends Canvas implements PhaseListener, UISessionList
     }
   }
 
+  /**
+   * @deprecated the canvas is no longer registered as phase listener, the drawings of all canvases are dispatched by
+   *             one shared listener. Redraws the canvas when it received drawings in the current request.
+   */
+  @Deprecated
   @Override
   public void beforePhase( PhaseEvent event ) {
-    Display sessionDisplay = LifeCycleUtil.getSessionDisplay();
-    if( getDisplay() == sessionDisplay ) {
-      if( wasEventSent( WidgetUtil.getId( this ), DRAWING_EVENT ) ) {
-        redraw();
-      }
+    if( !isDisposed() && wasEventSent( WidgetUtil.getId( this ), DRAWING_EVENT ) ) {
+      redraw();
     }
   }
 
+  /**
+   * @deprecated the canvas is no longer registered as phase listener.
+   */
+  @Deprecated
   @Override
   public void afterPhase( PhaseEvent event ) {
     // do nothing
   }
 
+  /**
+   * @deprecated the canvas is no longer registered as phase listener.
+   */
+  @Deprecated
   @Override
   public PhaseId getPhaseId() {
     return PhaseId.PROCESS_ACTION;
   }
 
+  /**
+   * @deprecated the canvas is no longer registered as session listener, it unregisters itself when disposed.
+   */
+  @Deprecated
   @Override
   public void beforeDestroy( UISessionEvent event ) {
-    ContextProvider.getApplicationContext().getLifeCycleFactory().getLifeCycle().removePhaseListener( this );
-    RWT.getUISession().removeUISessionListener( this );
+    // do nothing
   }
 
   @SuppressWarnings("unchecked")
@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2012 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.widgets;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.swt.graphics.RGB;
+
+import com.eclipsesource.tabris.internal.DrawingOperations;
+import com.eclipsesource.tabris.internal.DrawingsPngWriter;
+
+
+/**
+ * <p>
+ * A <code>ClientCanvasSnapshot</code> holds the client side drawings of a <code>ClientCanvas</code> at the time it
+ * was created. Drawings made afterwards are not reflected. A snapshot does not access the canvas and can be
+ * exported from any thread, e.g. to archive a signature without blocking the UI thread.
+ * </p>
+ *
+ * @see ClientCanvas#createSnapshot()
+ * @since 1.1
+ */
+public class ClientCanvasSnapshot implements Serializable {
+
+  private final List<DrawingOperations> drawings;
+  private final int width;
+  private final int height;
+  private final RGB foreground;
+
+  ClientCanvasSnapshot( List<DrawingOperations> drawings, int width, int height, RGB foreground ) {
+    this.drawings = new ArrayList<DrawingOperations>( drawings );
+    this.width = width;
+    this.height = height;
+    this.foreground = foreground;
+  }
+
+  /**
+   * <p>
+   * Returns the width of the snapshot in pixels.
+   * </p>
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * <p>
+   * Returns the height of the snapshot in pixels.
+   * </p>
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * <p>
+   * Writes the client side drawings as a PNG image with a transparent background to the given stream. The image is
+   * rendered and encoded tile by tile, so the full bitmap is never held in memory. The stream will not be closed.
+   * </p>
+   *
+   * @throws IllegalStateException when the snapshot has no size.
+   */
+  public void writePng( OutputStream out ) throws IOException {
+    if( out == null ) {
+      throw new IllegalArgumentException( "OutputStream must not be null" );
+    }
+    if( width <= 0 || height <= 0 ) {
+      throw new IllegalStateException( "Can not export a canvas without size: " + width + "x" + height );
+    }
+    DrawingsPngWriter writer = new DrawingsPngWriter( width, height, foreground );
+    writer.write( drawings, out );
+  }
+
+}
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.widgets.swipe;
+
+import java.util.List;
+
+
+/**
+ * <p>
+ * A <code>BulkSwipeItemProvider</code> is a {@link SwipeItemProvider} that can create a range of items at once. A
+ * {@link Swipe} uses it to fetch each range of missing items around the current item with a single call, e.g. with
+ * one query when the items are backed by a database. Single items will still be requested using the getItem method.
+ * </p>
+ *
+ * @see SwipeItemProvider
+ * @see Swipe
+ *
+ * @since 1.1
+ */
+public interface BulkSwipeItemProvider extends SwipeItemProvider {
+
+  /**
+   * <p>
+   * Should return the items from the index <code>from</code> (inclusive) to the index <code>to</code> (exclusive).
+   * The returned list must contain exactly <code>to - from</code> items in index order.
+   * </p>
+   */
+  List<SwipeItem> getItems( int from, int to );
+
+}
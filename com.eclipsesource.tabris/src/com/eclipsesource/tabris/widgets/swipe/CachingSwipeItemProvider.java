@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.widgets.swipe;
+
+import static com.eclipsesource.tabris.internal.Preconditions.checkArgumentNotNull;
+
+
+/**
+ * <p>
+ * A <code>CachingSwipeItemProvider</code> is a {@link SwipeItemProvider} that takes the data of its items from a
+ * {@link SwipeItemDataCache} shared by all sessions and only asks the {@link SwipeItemDataProvider} to load the data
+ * when it's not cached. The items themselves are still created per session.
+ * </p>
+ * <p>
+ * When two sessions miss the same key at the same time, the data may be loaded twice.
+ * </p>
+ * <p>
+ * A <code>CachingSwipeItemProvider</code> is no {@link BulkSwipeItemProvider}. Missing data is loaded key by key,
+ * even when the {@link SwipeItemDataProvider} could load ranges.
+ * </p>
+ *
+ * @see SwipeItemDataCache
+ * @see SwipeItemDataProvider
+ *
+ * @since 1.1
+ */
+public class CachingSwipeItemProvider<K, V> implements SwipeItemProvider {
+
+  private final SwipeItemDataProvider<K, V> dataProvider;
+  private final String cacheName;
+  private final int cacheMaxSize;
+  private final long cacheTimeToLive;
+  private transient SwipeItemDataCache<K, V> cache;
+
+  public CachingSwipeItemProvider( SwipeItemDataProvider<K, V> dataProvider, SwipeItemDataCache<K, V> cache ) {
+    checkArgumentNotNull( dataProvider, "SwipeItemDataProvider" );
+    checkArgumentNotNull( cache, "SwipeItemDataCache" );
+    this.dataProvider = dataProvider;
+    this.cache = cache;
+    this.cacheName = cache.getName();
+    this.cacheMaxSize = cache.getMaxSize();
+    this.cacheTimeToLive = cache.getTimeToLive();
+  }
+
+  @Override
+  public SwipeItem getItem( int index ) {
+    K key = dataProvider.getKey( index );
+    SwipeItemDataCache<K, V> dataCache = getCache();
+    V data = dataCache.get( key );
+    if( data == null ) {
+      data = dataProvider.loadData( key );
+      dataCache.put( key, data );
+    }
+    return dataProvider.createItem( index, data );
+  }
+
+  @Override
+  public int getItemCount() {
+    return dataProvider.getItemCount();
+  }
+
+  // the shared cache is not serialized with the session, a deserialized provider takes it from the application again
+  public SwipeItemDataCache<K, V> getCache() {
+    if( cache == null ) {
+      cache = SwipeItemDataCache.getInstance( cacheName, cacheMaxSize, cacheTimeToLive );
+    }
+    return cache;
+  }
+
+}
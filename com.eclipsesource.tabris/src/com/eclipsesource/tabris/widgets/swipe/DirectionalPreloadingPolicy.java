@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.widgets.swipe;
+
+import org.eclipse.swt.SWT;
+
+
+/**
+ * <p>
+ * A <code>DirectionalPreloadingPolicy</code> pre loads more items in the direction the user is swiping to and less
+ * items behind. When the user swipes fast in the same direction the amount of items pre loaded ahead grows with
+ * every swipe until the maximum is reached. A slow swipe resets it, a swipe in the other direction also switches
+ * what is ahead and what is behind.
+ * </p>
+ * <p>
+ * Before the first swipe the items with higher indexes are considered to be ahead.
+ * </p>
+ *
+ * @see Swipe#setPreloadingPolicy(SwipePreloadingPolicy)
+ *
+ * @since 1.1
+ */
+public class DirectionalPreloadingPolicy implements SwipePreloadingPolicy {
+
+  static final long FAST_SWIPE_INTERVAL = 700;
+
+  private final int ahead;
+  private final int behind;
+  private final int maxAhead;
+  private int direction;
+  private int boost;
+  private long lastChange;
+
+  /**
+   * <p>
+   * Creates a policy that pre loads 2 items ahead, up to 5 items when swiping fast and 1 item behind.
+   * </p>
+   */
+  public DirectionalPreloadingPolicy() {
+    this( 2, 1, 5 );
+  }
+
+  /**
+   * @param ahead the amount of items to pre load in the swipe direction. Must be > 0.
+   * @param behind the amount of items to keep loaded in the opposite direction. Must be >= 0.
+   * @param maxAhead the maximum amount of items to pre load in the swipe direction when swiping fast. Must be >=
+   *        ahead.
+   *
+   * @throws IllegalArgumentException when one of the amounts is not valid.
+   */
+  public DirectionalPreloadingPolicy( int ahead, int behind, int maxAhead ) throws IllegalArgumentException {
+    if( ahead <= 0 ) {
+      throw new IllegalArgumentException( "Ahead must be > 0 but was " + ahead );
+    }
+    if( behind < 0 ) {
+      throw new IllegalArgumentException( "Behind must be >= 0 but was " + behind );
+    }
+    if( maxAhead < ahead ) {
+      throw new IllegalArgumentException( "MaxAhead must be >= " + ahead + " but was " + maxAhead );
+    }
+    this.ahead = ahead;
+    this.behind = behind;
+    this.maxAhead = maxAhead;
+    this.direction = SWT.RIGHT;
+  }
+
+  @Override
+  public void itemChanged( int previousIndex, int index ) {
+    itemChanged( previousIndex, index, System.currentTimeMillis() );
+  }
+
+  void itemChanged( int previousIndex, int index, long time ) {
+    if( previousIndex != -1 && previousIndex != index ) {
+      int newDirection = index > previousIndex ? SWT.RIGHT : SWT.LEFT;
+      boolean isSwipe = Math.abs( index - previousIndex ) == 1;
+      if( isSwipe && newDirection == direction && time - lastChange <= FAST_SWIPE_INTERVAL ) {
+        boost = Math.min( boost + 1, maxAhead - ahead );
+      } else {
+        boost = 0;
+      }
+      direction = newDirection;
+    }
+    lastChange = time;
+  }
+
+  @Override
+  public int getPreloadCount( int direction ) {
+    return direction == this.direction ? ahead + boost : behind;
+  }
+
+  /**
+   * <p>
+   * Returns the direction of the last swipe, <code>SWT.LEFT</code> or <code>SWT.RIGHT</code>.
+   * </p>
+   */
+  public int getDirection() {
+    return direction;
+  }
+
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.widgets.swipe;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map.Entry;
+
+
+/**
+ * <p>
+ * A <code>MemoryWeightedEvictionPolicy</code> keeps the most recently used items loaded as long as the estimated
+ * size of all loaded items fits into a budget. When the budget is exceeded, the least recently used items outside of
+ * the pre loading range will be evicted first. The size of an item is taken from
+ * {@link SizedSwipeItem#getEstimatedSize()}, items that don't implement it count with a default size.
+ * </p>
+ * <p>
+ * The items in the pre loading range are always kept, even if they exceed the budget on their own.
+ * </p>
+ *
+ * @see SizedSwipeItem
+ * @see Swipe#setEvictionPolicy(SwipeEvictionPolicy)
+ *
+ * @since 1.1
+ */
+public class MemoryWeightedEvictionPolicy implements SwipeEvictionPolicy {
+
+  /**
+   * <p>
+   * The size used for items that don't implement {@link SizedSwipeItem}: 256 KB.
+   * </p>
+   */
+  public static final long DEFAULT_ITEM_SIZE = 256 * 1024;
+
+  private static final int[] NO_ITEMS = new int[ 0 ];
+
+  private final long budget;
+  private final long defaultItemSize;
+  private final LinkedHashMap<Integer, Long> sizes;
+  private long totalSize;
+
+  /**
+   * @param budget the maximum estimated size of all loaded items in bytes. Must be >= 0.
+   */
+  public MemoryWeightedEvictionPolicy( long budget ) {
+    this( budget, DEFAULT_ITEM_SIZE );
+  }
+
+  /**
+   * @param budget the maximum estimated size of all loaded items in bytes. Must be >= 0.
+   * @param defaultItemSize the size in bytes of items that don't implement {@link SizedSwipeItem}. Must be >= 0.
+   */
+  public MemoryWeightedEvictionPolicy( long budget, long defaultItemSize ) {
+    if( budget < 0 ) {
+      throw new IllegalArgumentException( "Budget must be >= 0 but was " + budget );
+    }
+    if( defaultItemSize < 0 ) {
+      throw new IllegalArgumentException( "Default item size must be >= 0 but was " + defaultItemSize );
+    }
+    this.budget = budget;
+    this.defaultItemSize = defaultItemSize;
+    this.sizes = new LinkedHashMap<Integer, Long>( 16, 0.75F, true );
+  }
+
+  @Override
+  public void itemLoaded( int index, SwipeItem item ) {
+    long size = getSize( item );
+    Long oldSize = sizes.put( Integer.valueOf( index ), Long.valueOf( size ) );
+    if( oldSize != null ) {
+      totalSize -= oldSize.longValue();
+    }
+    totalSize += size;
+  }
+
+  @Override
+  public void itemActivated( int index ) {
+    // a get moves the item to the end of the access order
+    sizes.get( Integer.valueOf( index ) );
+  }
+
+  @Override
+  public void itemRemoved( int index ) {
+    Long size = sizes.remove( Integer.valueOf( index ) );
+    if( size != null ) {
+      totalSize -= size.longValue();
+    }
+  }
+
+  @Override
+  public int[] getItemsToEvict( int rangeStart, int rangeEnd ) {
+    int[] result = NO_ITEMS;
+    if( totalSize > budget ) {
+      List<Integer> evicted = new ArrayList<Integer>();
+      long remainingSize = totalSize;
+      for( Entry<Integer, Long> entry : sizes.entrySet() ) {
+        if( remainingSize <= budget ) {
+          break;
+        }
+        int index = entry.getKey().intValue();
+        if( index < rangeStart || index > rangeEnd ) {
+          evicted.add( entry.getKey() );
+          remainingSize -= entry.getValue().longValue();
+        }
+      }
+      result = new int[ evicted.size() ];
+      for( int i = 0; i < result.length; i++ ) {
+        result[ i ] = evicted.get( i ).intValue();
+      }
+    }
+    return result;
+  }
+
+  /**
+   * <p>
+   * Returns the estimated size of all loaded items in bytes.
+   * </p>
+   */
+  public long getTotalSize() {
+    return totalSize;
+  }
+
+  public long getBudget() {
+    return budget;
+  }
+
+  private long getSize( SwipeItem item ) {
+    long result = defaultItemSize;
+    if( item instanceof SizedSwipeItem ) {
+      result = Math.max( 0, ( ( SizedSwipeItem )item ).getEstimatedSize() );
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.widgets.swipe;
+
+import org.eclipse.swt.widgets.Control;
+
+
+/**
+ * <p>
+ * A <code>RecyclableSwipeItem</code> is a {@link SwipeItem} whose content can be reused by other items. When such an
+ * item leaves the range of pre loaded items, its content will not be disposed but kept in a small pool. When another
+ * item of the same class needs to be loaded, the pooled content will be passed to its bind method instead of
+ * calling its load method. This saves creating and disposing identical widget trees on every swipe, e.g. in a
+ * gallery.
+ * </p>
+ * <p>
+ * Contents are only reused between items of the same class. The load method is still called when no pooled content
+ * is available.
+ * </p>
+ *
+ * @see SwipeItem
+ * @see Swipe
+ *
+ * @since 1.1
+ */
+public interface RecyclableSwipeItem extends SwipeItem {
+
+  /**
+   * <p>
+   * Will be called instead of the load method with a content that was created by another item of the same class.
+   * Should fill the existing content with the data of this item.
+   * </p>
+   *
+   * @param content the {@link Control} created by the load method of another item.
+   * @param index the index of this item.
+   */
+  void bind( Control content, int index );
+
+}
@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.widgets.swipe;
+
+
+/**
+ * <p>
+ * A <code>SizedSwipeItem</code> is a {@link SwipeItem} that can estimate the memory its loaded content occupies. A
+ * {@link MemoryWeightedEvictionPolicy} uses the estimation to decide how many items can stay loaded.
+ * </p>
+ *
+ * @see MemoryWeightedEvictionPolicy
+ *
+ * @since 1.1
+ */
+public interface SizedSwipeItem extends SwipeItem {
+
+  /**
+   * <p>
+   * Should return the estimated size of the loaded content in bytes. Will be called after the item was loaded.
+   * </p>
+   */
+  long getEstimatedSize();
+
+}
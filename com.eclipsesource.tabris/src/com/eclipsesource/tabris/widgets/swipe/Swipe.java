@@ -16,6 +16,7 @@ import static com.eclipsesource.tabris.internal.Constants.METHOD_LOCK_RIGHT;
 import static com.eclipsesource.tabris.internal.Constants.METHOD_REMOVE;
 import static com.eclipsesource.tabris.internal.Constants.METHOD_UNLOCK_LEFT;
 import static com.eclipsesource.tabris.internal.Constants.METHOD_UNLOCK_RIGHT;
+import static com.eclipsesource.tabris.internal.Constants.METHOD_UPDATE;
 import static com.eclipsesource.tabris.internal.Constants.PROPERTY_ACTIVE;
 import static com.eclipsesource.tabris.internal.Constants.PROPERTY_CONTROL;
 import static com.eclipsesource.tabris.internal.Constants.PROPERTY_INDEX;
@@ -24,7 +25,6 @@ import static com.eclipsesource.tabris.internal.Constants.PROPERTY_PARENT;
 import static com.eclipsesource.tabris.internal.Constants.TYPE_SWIPE;
 import static com.eclipsesource.tabris.internal.DataWhitelist.WhiteListEntry.SWIPE;
 import static com.eclipsesource.tabris.internal.Preconditions.checkArgumentNotNull;
-import static com.eclipsesource.tabris.internal.SwipeItemIndexer.getAsArray;
 import static com.eclipsesource.tabris.internal.SwipeUtil.notifyDisposed;
 import static com.eclipsesource.tabris.internal.SwipeUtil.notifyItemActivated;
 import static com.eclipsesource.tabris.internal.SwipeUtil.notifyItemDeactivated;
@@ -32,6 +32,7 @@ import static com.eclipsesource.tabris.internal.SwipeUtil.notifyItemLoaded;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -44,8 +45,10 @@ import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 
 import com.eclipsesource.tabris.internal.SwipeItemHolder;
+import com.eclipsesource.tabris.internal.SwipeItemIndexer;
 import com.eclipsesource.tabris.internal.SwipeManager;
 import com.eclipsesource.tabris.internal.SwipeOperationHandler;
+import com.eclipsesource.tabris.internal.SwipeUpdate;
 import com.eclipsesource.tabris.internal.ZIndexStackLayout;
 
 
@@ -72,16 +75,28 @@ import com.eclipsesource.tabris.internal.ZIndexStackLayout;
  */
 public class Swipe implements Serializable {
 
+  private static final int[] EMPTY_INDEXES = new int[ 0 ];
+
   private final Composite container;
   private final List<SwipeListener> listeners;
   private final RemoteObject remoteObject;
   private final SwipeManager manager;
+  private int[] indexBuffer;
+  private int[] loadedItemsBuffer;
+  private int cacheSize;
+  private final SwipeUpdate pendingUpdate;
+  private boolean batchUpdatesEnabled;
+  private int updateDepth;
+  private boolean needsLayout;
+  private int itemCount;
 
   public Swipe( Composite parent, SwipeItemProvider itemProvider ) {
     checkArgumentNotNull( parent, "Parent" );
     checkArgumentNotNull( itemProvider, "SwipeItemProvider" );
     this.manager = new SwipeManager( itemProvider );
+    this.cacheSize = manager.getIndexer().getRange();
     this.listeners = new ArrayList<SwipeListener>();
+    this.pendingUpdate = new SwipeUpdate();
     this.container = new Composite( parent, SWT.NONE );
     container.setData( SWIPE.getKey(), Boolean.TRUE );
     this.remoteObject = RWT.getUISession().getConnection().createRemoteObject( TYPE_SWIPE );
@@ -90,10 +105,11 @@ public class Swipe implements Serializable {
 
   private void initialize() {
     remoteObject.set( PROPERTY_PARENT, WidgetUtil.getId( container ) );
-    remoteObject.setHandler( new SwipeOperationHandler( this ) );
+    remoteObject.setHandler( new SwipeOperationHandler( this, manager ) );
     container.setLayout( new ZIndexStackLayout() );
-    if( manager.getProvider().getItemCount() > 0 ) {
-      show( 0 );
+    readItemCount();
+    if( itemCount > 0 ) {
+      show( 0, true );
     }
   }
 
@@ -102,6 +118,9 @@ public class Swipe implements Serializable {
    * Configures the amount of pre loaded items. A size of 2 means that when showing item 3, item 1, 2, 4 and 5 will
    * be loaded. The cache size must be > 0.
    * </p>
+   * <p>
+   * A {@link SwipePreloadingPolicy} that was set before will be removed.
+   * </p>
    *
    * @param size The amount of item to pre loading each direction.
    * @throws IllegalArgumentException when cache size is < 0
@@ -109,11 +128,144 @@ public class Swipe implements Serializable {
   public void setCacheSize( int size ) throws IllegalArgumentException {
     verifyIsNotDisposed();
     manager.getIndexer().setRange( size );
+    cacheSize = size;
+    manager.setPreloadingPolicy( null );
+    readItemCount();
     if( isValidIndex( manager.getIndexer().getCurrent() ) ) {
-      refresh();
+      refreshCurrent();
+    }
+  }
+
+  /**
+   * <p>
+   * Sets a {@link SwipePreloadingPolicy} that decides how many items will be pre loaded on each side of the current
+   * item, e.g. a {@link DirectionalPreloadingPolicy}. Passing <code>null</code> restores the symmetric pre loading
+   * configured with {@link #setCacheSize(int)}.
+   * </p>
+   * <p>
+   * The policy is informed when the user swipes to another item. Calling {@link #setCacheSize(int)} afterwards
+   * removes the policy.
+   * </p>
+   *
+   * @since 1.1
+   */
+  public void setPreloadingPolicy( SwipePreloadingPolicy policy ) {
+    verifyIsNotDisposed();
+    manager.setPreloadingPolicy( policy );
+    if( policy == null ) {
+      manager.getIndexer().setRange( cacheSize );
+    } else {
+      applyPreloadingPolicy();
+    }
+    readItemCount();
+    if( isValidIndex( manager.getIndexer().getCurrent() ) ) {
+      refreshCurrent();
+    }
+  }
+
+  /**
+   * <p>
+   * Returns the {@link SwipePreloadingPolicy} or <code>null</code> when the symmetric pre loading configured with
+   * {@link #setCacheSize(int)} is used.
+   * </p>
+   *
+   * @since 1.1
+   */
+  public SwipePreloadingPolicy getPreloadingPolicy() {
+    return manager.getPreloadingPolicy();
+  }
+
+  /**
+   * <p>
+   * Enables or disables batch updates. When enabled, all item removals, additions and the activation caused by one
+   * call to show or refresh are sent to the client as a single <code>update</code> operation instead of separate
+   * operations. Requires a client that supports the <code>update</code> operation. Disabled by default.
+   * </p>
+   *
+   * @since 1.1
+   */
+  public void setBatchUpdatesEnabled( boolean enabled ) {
+    verifyIsNotDisposed();
+    batchUpdatesEnabled = enabled;
+  }
+
+  /**
+   * <p>
+   * Returns whether batch updates are enabled.
+   * </p>
+   *
+   * @since 1.1
+   */
+  public boolean isBatchUpdatesEnabled() {
+    return batchUpdatesEnabled;
+  }
+
+  /**
+   * <p>
+   * Sets a {@link SwipeEvictionPolicy} that keeps loaded items after they left the range of pre loaded items until
+   * the policy evicts them, e.g. a {@link MemoryWeightedEvictionPolicy}. This avoids loading items again when the
+   * user swipes back and forth. Passing <code>null</code> removes all items outside the range and restores removing
+   * items as soon as they leave the range.
+   * </p>
+   *
+   * @since 1.1
+   */
+  public void setEvictionPolicy( SwipeEvictionPolicy policy ) {
+    verifyIsNotDisposed();
+    manager.setEvictionPolicy( policy );
+    beginUpdate();
+    try {
+      removeItemsOutsideOfRange();
+      if( policy != null ) {
+        registerLoadedItems( policy );
+      }
+    } finally {
+      endUpdate();
     }
   }
 
+  /**
+   * <p>
+   * Returns the {@link SwipeEvictionPolicy} or <code>null</code> when items are removed as soon as they leave the
+   * range of pre loaded items.
+   * </p>
+   *
+   * @since 1.1
+   */
+  public SwipeEvictionPolicy getEvictionPolicy() {
+    return manager.getEvictionPolicy();
+  }
+
+  private void removeItemsOutsideOfRange() {
+    int current = manager.getIndexer().getCurrent();
+    if( current != -1 ) {
+      int[] loadedItems = acquireLoadedItemsBuffer();
+      int loadedCount = manager.getItemHolder().getLoadedItems( loadedItems );
+      int count = 0;
+      for( int i = 0; i < loadedCount; i++ ) {
+        if( !isInRange( loadedItems[ i ] ) ) {
+          loadedItems[ count++ ] = loadedItems[ i ];
+        }
+      }
+      removeItems( count == 0 ? EMPTY_INDEXES : Arrays.copyOf( loadedItems, count ) );
+      loadedItemsBuffer = loadedItems;
+    }
+  }
+
+  private void registerLoadedItems( SwipeEvictionPolicy policy ) {
+    int[] loadedItems = acquireLoadedItemsBuffer();
+    int loadedCount = manager.getItemHolder().getLoadedItems( loadedItems );
+    for( int i = 0; i < loadedCount; i++ ) {
+      policy.itemLoaded( loadedItems[ i ], manager.getItemHolder().getItem( loadedItems[ i ] ) );
+    }
+    loadedItemsBuffer = loadedItems;
+  }
+
+  private boolean isInRange( int index ) {
+    SwipeItemIndexer indexer = manager.getIndexer();
+    return index >= indexer.getWindowStart() && index <= indexer.getWindowEnd();
+  }
+
   /**
    * <p>
    * Triggers a refresh to get new input from the {@link SwipeItemProvider}. This is like calling the show method with
@@ -123,15 +275,52 @@ public class Swipe implements Serializable {
    * @throws IllegalStateException when the current item was removed in the {@link SwipeItemProvider}.
    */
   public void refresh() throws IllegalStateException {
+    readItemCount();
     int current = manager.getIndexer().getCurrent();
     if( isValidIndex( current ) ) {
-      manager.getIndexer().reset();
-      show( current, false );
+      refreshCurrent();
     } else {
       throw new IllegalStateException( "Item at index " + current + " does not exist anymore." );
     }
   }
 
+  private void refreshCurrent() {
+    int current = manager.getIndexer().getCurrent();
+    manager.getIndexer().reset();
+    show( current, false );
+  }
+
+  /**
+   * <p>
+   * Notifies the <code>Swipe</code> that the item count of the {@link SwipeItemProvider} has changed. Loaded items
+   * that don't exist anymore will be removed and items that became reachable within the pre loading range will be
+   * loaded. Other than {@link #refresh()} the items that still exist are kept as they are.
+   * </p>
+   *
+   * @throws IllegalStateException when already disposed or the current item was removed in the
+   *                               {@link SwipeItemProvider}.
+   * @since 1.1
+   */
+  public void itemCountChanged() throws IllegalStateException {
+    verifyIsNotDisposed();
+    readItemCount();
+    int current = manager.getIndexer().getCurrent();
+    if( !isValidIndex( current ) ) {
+      throw new IllegalStateException( "Item at index " + current + " does not exist anymore." );
+    }
+    verifyLocks();
+    beginUpdate();
+    try {
+      removeItems( filterRespectingBounds( EMPTY_INDEXES, 0 ) );
+      fetchMissingItems();
+      handlePreviousItem();
+      initializeNextItem();
+      evictItems();
+    } finally {
+      endUpdate();
+    }
+  }
+
   /**
    * <p>
    * Shows the item at the given index. Calling this method is comparable with a programmatic swiping to a given item.
@@ -144,20 +333,50 @@ public class Swipe implements Serializable {
    * @throws IllegalStateException when already disposed or the move is not valid e.g. when a item is locked.
    */
   public void show( int index ) throws IllegalArgumentException, IllegalStateException {
+    readItemCount();
     show( index, hasCurrentIndexChanged( index ) );
   }
 
+  // the provider is asked once per public call, all following checks use the cached count
+  private void readItemCount() {
+    itemCount = manager.getProvider().getItemCount();
+  }
+
   private void show( int index, boolean needsToShow ) {
     verifyIsNotDisposed();
     verifyMove( index );
     if( isValidIndex( index ) ) {
       verifyLocks();
-      showItemAtIndex( index, needsToShow );
+      beginUpdate();
+      try {
+        showItemAtIndex( index, needsToShow );
+      } finally {
+        endUpdate();
+      }
     } else {
       throw new IllegalArgumentException( "Item at index " + index + " does not exist." );
     }
   }
 
+  private void beginUpdate() {
+    updateDepth++;
+  }
+
+  // Lays out the contents loaded in a batch once and sends the collected changes of the outermost show
+  private void endUpdate() {
+    updateDepth--;
+    if( updateDepth == 0 ) {
+      if( needsLayout && !container.isDisposed() ) {
+        container.layout( true );
+      }
+      needsLayout = false;
+      if( !pendingUpdate.isEmpty() ) {
+        remoteObject.call( METHOD_UPDATE, pendingUpdate.toProperties() );
+        pendingUpdate.clear();
+      }
+    }
+  }
+
   private void verifyMove( int index ) {
     if( !manager.isMoveAllowed( manager.getIndexer().getCurrent(), index ) ) {
       throw new IllegalStateException( "Move not allowed. Item " + index + " is locked." );
@@ -176,17 +395,40 @@ public class Swipe implements Serializable {
   }
 
   private boolean isValidIndex( int index ) {
-    return index >= 0 && manager.getProvider().getItemCount() > index;
+    return index >= 0 && itemCount > index;
   }
 
   private void showItemAtIndex( int index, boolean needsToShow ) {
     manager.getIndexer().setCurrent( index );
+    if( manager.getPreloadingPolicy() != null && needsToShow ) {
+      applyPreloadingPolicy();
+    }
     removeOutOfRangeItems();
+    fetchMissingItems();
     handlePreviousItem();
     if( needsToShow ) {
       showCurrentItem();
     }
     initializeNextItem();
+    evictItems();
+  }
+
+  private void evictItems() {
+    SwipeEvictionPolicy policy = manager.getEvictionPolicy();
+    if( policy != null ) {
+      SwipeItemIndexer indexer = manager.getIndexer();
+      int[] evictedItems = policy.getItemsToEvict( indexer.getWindowStart(), indexer.getWindowEnd() );
+      if( evictedItems != null && evictedItems.length > 0 ) {
+        removeItems( evictedItems );
+      }
+    }
+  }
+
+  private void applyPreloadingPolicy() {
+    SwipePreloadingPolicy policy = manager.getPreloadingPolicy();
+    int rangeBefore = policy.getPreloadCount( SWT.LEFT );
+    int rangeAfter = policy.getPreloadCount( SWT.RIGHT );
+    manager.getIndexer().setRanges( rangeBefore, rangeAfter );
   }
 
   private boolean hasCurrentIndexChanged( int index ) {
@@ -198,39 +440,100 @@ public class Swipe implements Serializable {
   }
 
   private void removeOutOfRangeItems() {
-    int[] outOfRangeIndexes = filterRespectingBounds( manager.getIndexer().popOutOfRangeIndexes() );
-    for( int index : outOfRangeIndexes ) {
+    int[] indexes = acquireIndexBuffer();
+    int count = manager.getIndexer().popOutOfRangeIndexes( indexes );
+    if( manager.getEvictionPolicy() != null ) {
+      count = filterNotLoaded( indexes, count );
+    }
+    int[] outOfRangeIndexes = filterRespectingBounds( indexes, count );
+    releaseIndexBuffer( indexes );
+    removeItems( outOfRangeIndexes );
+  }
+
+  // loaded items stay until the eviction policy evicts them
+  private int filterNotLoaded( int[] indexes, int count ) {
+    int result = 0;
+    for( int i = 0; i < count; i++ ) {
+      if( !manager.getItemHolder().isLoaded( indexes[ i ] ) ) {
+        indexes[ result++ ] = indexes[ i ];
+      }
+    }
+    return result;
+  }
+
+  private void removeItems( int[] indexes ) {
+    SwipeEvictionPolicy policy = manager.getEvictionPolicy();
+    for( int index : indexes ) {
       if( wasActiveItem( index ) ) {
         manager.getItemHolder().getItem( index ).deactivate( manager.getContext() );
       }
       manager.getItemHolder().removeItem( index );
+      if( policy != null ) {
+        policy.itemRemoved( index );
+      }
     }
-    callRemoveItems( outOfRangeIndexes );
+    callRemoveItems( indexes );
   }
 
-  private int[] filterRespectingBounds( int[] outOfRangeIndexes ) {
-    List<Integer> indexes = new ArrayList<Integer>();
-    for( int index : outOfRangeIndexes ) {
-      if( index < manager.getProvider().getItemCount() ) {
-        indexes.add( Integer.valueOf( index ) );
+  private int[] filterRespectingBounds( int[] outOfRangeIndexes, int count ) {
+    int inBoundsCount = 0;
+    for( int i = 0; i < count; i++ ) {
+      if( outOfRangeIndexes[ i ] < itemCount ) {
+        outOfRangeIndexes[ inBoundsCount++ ] = outOfRangeIndexes[ i ];
       }
     }
-    addLoadedOutOfBoundsItems( indexes );
-    return getAsArray( indexes );
+    int[] loadedItems = acquireLoadedItemsBuffer();
+    int loadedCount = removeLoadedOutOfBoundsItems( loadedItems );
+    int[] result = EMPTY_INDEXES;
+    if( inBoundsCount + loadedCount > 0 ) {
+      result = new int[ inBoundsCount + loadedCount ];
+      System.arraycopy( outOfRangeIndexes, 0, result, 0, inBoundsCount );
+      System.arraycopy( loadedItems, 0, result, inBoundsCount, loadedCount );
+    }
+    loadedItemsBuffer = loadedItems;
+    return result;
   }
 
-  private void addLoadedOutOfBoundsItems( List<Integer> indexes ) {
-    List<Integer> loadedItems = manager.getItemHolder().getLoadedItems();
-    for( Integer item : loadedItems ) {
-      if( item.intValue() > ( manager.getProvider().getItemCount() -1 ) || isOutOfRange( item ) ) {
-        indexes.add( item );
-        manager.getItemHolder().removeItem( item.intValue() );
+  private int removeLoadedOutOfBoundsItems( int[] loadedItems ) {
+    SwipeItemHolder itemHolder = manager.getItemHolder();
+    int current = manager.getIndexer().getCurrent();
+    boolean onlyCurrent = manager.getIndexer().getRange() == 0;
+    int count = 0;
+    if( hasLoadedOutOfBoundsItems( current, onlyCurrent ) ) {
+      int loadedCount = itemHolder.getLoadedItems( loadedItems );
+      for( int i = 0; i < loadedCount; i++ ) {
+        int item = loadedItems[ i ];
+        if( item >= itemCount || ( onlyCurrent && item != current ) ) {
+          loadedItems[ count++ ] = item;
+        }
+      }
+      for( int i = 0; i < count; i++ ) {
+        itemHolder.removeItem( loadedItems[ i ] );
       }
     }
+    return count;
   }
 
-  private boolean isOutOfRange( Integer item ) {
-    return manager.getIndexer().getRange() == 0 && item.intValue() != manager.getIndexer().getCurrent();
+  // checks the bounds of the loaded items so that the loaded items only need to be scanned when one has to go
+  private boolean hasLoadedOutOfBoundsItems( int current, boolean onlyCurrent ) {
+    SwipeItemHolder itemHolder = manager.getItemHolder();
+    int lowest = itemHolder.getLowestLoadedIndex();
+    int highest = itemHolder.getHighestLoadedIndex();
+    boolean result = highest >= itemCount;
+    if( onlyCurrent && highest != -1 ) {
+      result = result || lowest != current || highest != current;
+    }
+    return result;
+  }
+
+  private int[] acquireLoadedItemsBuffer() {
+    int[] result = loadedItemsBuffer;
+    loadedItemsBuffer = null;
+    int size = manager.getItemHolder().getLoadedItemCount();
+    if( result == null || result.length < size ) {
+      result = new int[ Math.max( size, manager.getIndexer().getMaxIndexCount() ) ];
+    }
+    return result;
   }
 
   private boolean wasActiveItem( int index ) {
@@ -245,21 +548,61 @@ public class Swipe implements Serializable {
   }
 
   private void callRemoveItems( int[] outOfRangeIndexes ) {
-    if( outOfRangeIndexes.length > 0 ) {
+    if( batchUpdatesEnabled ) {
+      for( int index : outOfRangeIndexes ) {
+        pendingUpdate.removeItem( index );
+      }
+    } else if( outOfRangeIndexes.length > 0 ) {
       Map<String, Object> properties = new HashMap<String, Object>();
       properties.put( PROPERTY_ITEMS, outOfRangeIndexes );
       remoteObject.call( METHOD_REMOVE, properties );
     }
   }
 
+  // fetches every run of missing items in the window with a single call
+  private void fetchMissingItems() {
+    if( manager.getProvider() instanceof BulkSwipeItemProvider ) {
+      SwipeItemHolder itemHolder = manager.getItemHolder();
+      int index = Math.max( manager.getIndexer().getWindowStart(), 0 );
+      int end = Math.min( manager.getIndexer().getWindowEnd(), itemCount - 1 );
+      while( index <= end ) {
+        if( itemHolder.hasItem( index ) ) {
+          index++;
+        } else {
+          int from = index;
+          while( index <= end && !itemHolder.hasItem( index ) ) {
+            index++;
+          }
+          addItems( from, index - 1 );
+        }
+      }
+    }
+  }
+
+  private void addItems( int from, int to ) {
+    BulkSwipeItemProvider provider = ( BulkSwipeItemProvider )manager.getProvider();
+    List<SwipeItem> items = provider.getItems( from, to + 1 );
+    if( items == null || items.size() != to + 1 - from ) {
+      throw new IllegalStateException( "BulkSwipeItemProvider did not return " + ( to + 1 - from )
+                                       + " items for the range " + from + " to " + ( to + 1 ) );
+    }
+    SwipeItemHolder itemHolder = manager.getItemHolder();
+    for( int index = from; index <= to; index++ ) {
+      itemHolder.addItem( index, items.get( index - from ) );
+    }
+  }
+
   private void handlePreviousItem() {
-    int[] previousItems = manager.getIndexer().getPrevious();
-    for( int previousItemIndex : previousItems ) {
-      if( manager.getProvider().getItemCount() > previousItemIndex && previousItemIndex >= 0 ) {
+    int[] previousItems = acquireIndexBuffer();
+    int count = manager.getIndexer().getPrevious( previousItems );
+    for( int i = 0; i < count; i++ ) {
+      int previousItemIndex = previousItems[ i ];
+      if( isValidIndex( previousItemIndex ) ) {
         ensureItemExists( previousItemIndex );
         preloadItem( previousItemIndex );
       }
     }
+    releaseIndexBuffer( previousItems );
   }
 
   private void showCurrentItem() {
@@ -284,7 +627,14 @@ public class Swipe implements Serializable {
   private void activateItem( int currentIndex ) {
     SwipeItem currentItem = manager.getItemHolder().getItem( currentIndex );
     currentItem.activate( manager.getContext() );
-    remoteObject.set( PROPERTY_ACTIVE, currentIndex );
+    if( manager.getEvictionPolicy() != null ) {
+      manager.getEvictionPolicy().itemActivated( currentIndex );
+    }
+    if( batchUpdatesEnabled ) {
+      pendingUpdate.activateItem( currentIndex );
+    } else {
+      remoteObject.set( PROPERTY_ACTIVE, currentIndex );
+    }
     notifyItemActivated( listeners, currentItem, currentIndex, manager.getContext() );
   }
 
@@ -294,17 +644,35 @@ public class Swipe implements Serializable {
   }
 
   private void initializeNextItem() {
-    int[] nextItems = manager.getIndexer().getNext();
-    for( int nextItemIndex : nextItems ) {
-      if( manager.getProvider().getItemCount() > nextItemIndex && nextItemIndex >= 0 ) {
+    int[] nextItems = acquireIndexBuffer();
+    int count = manager.getIndexer().getNext( nextItems );
+    for( int i = 0; i < count; i++ ) {
+      int nextItemIndex = nextItems[ i ];
+      if( isValidIndex( nextItemIndex ) ) {
         ensureItemExists( nextItemIndex );
         preloadItem( nextItemIndex );
       }
     }
+    releaseIndexBuffer( nextItems );
+  }
+
+  // The buffer is taken while in use so that a show triggered by a listener or provider gets its own one
+  private int[] acquireIndexBuffer() {
+    int[] result = indexBuffer;
+    indexBuffer = null;
+    int size = manager.getIndexer().getMaxIndexCount();
+    if( result == null || result.length < size ) {
+      result = new int[ size ];
+    }
+    return result;
+  }
+
+  private void releaseIndexBuffer( int[] buffer ) {
+    indexBuffer = buffer;
   }
 
   private void preloadItem( int index ) {
-    SwipeItem item = manager.getProvider().getItem( index );
+    SwipeItem item = manager.getItemHolder().getItem( index );
     if( item.isPreloadable() ) {
       ensureItemIsLoaded( index );
     }
@@ -320,14 +688,41 @@ public class Swipe implements Serializable {
   private void ensureItemIsLoaded( int index ) {
     if( !manager.getItemHolder().isLoaded( index ) ) {
       SwipeItem item = manager.getItemHolder().getItem( index );
-      Control content = item.load( container );
-      container.layout( true );
+      Control content = recycleContent( item, index );
+      if( content == null ) {
+        content = item.load( container );
+      }
+      layoutContent();
       manager.getItemHolder().setContentForItem( index, content );
-      remoteObject.call( METHOD_ADD, createLoadProperties( index, content ) );
+      if( manager.getEvictionPolicy() != null ) {
+        manager.getEvictionPolicy().itemLoaded( index, item );
+      }
+      if( batchUpdatesEnabled ) {
+        pendingUpdate.addItem( index, WidgetUtil.getId( content ) );
+      } else {
+        remoteObject.call( METHOD_ADD, createLoadProperties( index, content ) );
+      }
       notifyItemLoaded( listeners, item, index );
     }
   }
 
+  // without batch updates listeners get notified about items that are already laid out
+  private void layoutContent() {
+    if( batchUpdatesEnabled ) {
+      needsLayout = true;
+    } else {
+      container.layout( true );
+    }
+  }
+
+  private Control recycleContent( SwipeItem item, int index ) {
+    Control result = manager.getItemHolder().takeRecycledContent( item );
+    if( result != null ) {
+      ( ( RecyclableSwipeItem )item ).bind( result, index );
+    }
+    return result;
+  }
+
   private Map<String, Object> createLoadProperties( int index, Control content ) {
     Map<String, Object> result = new HashMap<String, Object>();
     result.put( PROPERTY_INDEX, Integer.valueOf( index ) );
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.widgets.swipe;
+
+import java.io.Serializable;
+
+
+/**
+ * <p>
+ * A <code>SwipeEvictionPolicy</code> decides how long loaded items stay loaded after they left the range of pre
+ * loaded items. Without a policy a {@link Swipe} removes items as soon as they leave the range. With a policy they
+ * stay loaded until the policy evicts them, so swiping back to them does not load them again. Items within the range
+ * are never evicted.
+ * </p>
+ *
+ * @see Swipe#setEvictionPolicy(SwipeEvictionPolicy)
+ * @see MemoryWeightedEvictionPolicy
+ *
+ * @since 1.1
+ */
+public interface SwipeEvictionPolicy extends Serializable {
+
+  /**
+   * <p>
+   * Will be called when an item was loaded.
+   * </p>
+   */
+  void itemLoaded( int index, SwipeItem item );
+
+  /**
+   * <p>
+   * Will be called when a loaded item was activated.
+   * </p>
+   */
+  void itemActivated( int index );
+
+  /**
+   * <p>
+   * Will be called when an item was removed, either because it was evicted or because it does not exist anymore.
+   * </p>
+   */
+  void itemRemoved( int index );
+
+  /**
+   * <p>
+   * Should return the indexes of the loaded items that should be removed now. Will be called after every show. The
+   * items from <code>rangeStart</code> to <code>rangeEnd</code> (both inclusive) are in the pre loading range and
+   * must not be returned.
+   * </p>
+   */
+  int[] getItemsToEvict( int rangeStart, int rangeEnd );
+
+}
@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.widgets.swipe;
+
+import static com.eclipsesource.tabris.internal.Preconditions.checkArgumentNotNull;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+
+
+/**
+ * <p>
+ * A <code>SwipeItemDataCache</code> holds the data swipe items are created from, so that it can be shared between
+ * all sessions of an application. There is one cache per name and application, see
+ * {@link #getInstance(String, int, long)}. It's used by a {@link CachingSwipeItemProvider} in every session. All
+ * methods are thread safe.
+ * </p>
+ * <p>
+ * The cache holds at most <code>maxSize</code> entries and evicts the least recently used entry when it's full.
+ * Entries expire after a time to live and are loaded again afterwards. Hits, misses and evictions are counted.
+ * </p>
+ * <p>
+ * The cache is not serializable. A serialized {@link CachingSwipeItemProvider} only keeps the name of its cache and
+ * takes the cache with this name from the application again when it's deserialized.
+ * </p>
+ *
+ * @see CachingSwipeItemProvider
+ *
+ * @since 1.1
+ */
+@SuppressWarnings("restriction")
+public class SwipeItemDataCache<K, V> {
+
+  static final String ATTRIBUTE_PREFIX = SwipeItemDataCache.class.getName() + "#";
+
+  private static final Object LOCK = new Object();
+
+  private final String name;
+  private final int maxSize;
+  private final long timeToLive;
+  private final LinkedHashMap<K, CacheEntry<V>> entries;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
+
+  /**
+   * <p>
+   * Returns the cache with the given name of the current application. The cache is created on the first call and
+   * stored as an attribute of the application context; later calls return it regardless of the passed size and time
+   * to live.
+   * </p>
+   *
+   * @param name the name of the cache. Must not be <code>null</code>.
+   * @param maxSize the maximum number of cached entries. Must be > 0.
+   * @param timeToLive the time in milliseconds after which an entry expires. Must be > 0.
+   */
+  @SuppressWarnings("unchecked")
+  public static <K, V> SwipeItemDataCache<K, V> getInstance( String name, int maxSize, long timeToLive ) {
+    checkArgumentNotNull( name, "Name" );
+    ApplicationContextImpl applicationContext = ContextProvider.getApplicationContext();
+    synchronized( LOCK ) {
+      SwipeItemDataCache<K, V> result
+        = ( SwipeItemDataCache<K, V> )applicationContext.getAttribute( ATTRIBUTE_PREFIX + name );
+      if( result == null ) {
+        result = new SwipeItemDataCache<K, V>( name, maxSize, timeToLive );
+        applicationContext.setAttribute( ATTRIBUTE_PREFIX + name, result );
+      }
+      return result;
+    }
+  }
+
+  SwipeItemDataCache( String name, int maxSize, long timeToLive ) {
+    if( maxSize <= 0 ) {
+      throw new IllegalArgumentException( "MaxSize must be > 0 but was " + maxSize );
+    }
+    if( timeToLive <= 0 ) {
+      throw new IllegalArgumentException( "TimeToLive must be > 0 but was " + timeToLive );
+    }
+    this.name = name;
+    this.maxSize = maxSize;
+    this.timeToLive = timeToLive;
+    this.entries = new LinkedHashMap<K, CacheEntry<V>>( 16, 0.75F, true );
+  }
+
+  /**
+   * <p>
+   * Returns the cached data for the given key or <code>null</code> when it's not cached or expired.
+   * </p>
+   */
+  public synchronized V get( K key ) {
+    V result = null;
+    CacheEntry<V> entry = entries.get( key );
+    if( entry != null && isExpired( entry ) ) {
+      entries.remove( key );
+      evictionCount++;
+      entry = null;
+    }
+    if( entry != null ) {
+      hitCount++;
+      result = entry.data;
+    } else {
+      missCount++;
+    }
+    return result;
+  }
+
+  /**
+   * <p>
+   * Caches the data for the given key. When the cache is full, the least recently used entries will be evicted.
+   * <code>null</code> data will not be cached.
+   * </p>
+   */
+  public synchronized void put( K key, V data ) {
+    if( data != null ) {
+      entries.put( key, new CacheEntry<V>( data, getCurrentTime() ) );
+      evictLeastRecentlyUsed();
+    }
+  }
+
+  /**
+   * <p>
+   * Removes the data for the given key, e.g. when the underlying data has changed.
+   * </p>
+   */
+  public synchronized void invalidate( K key ) {
+    entries.remove( key );
+  }
+
+  /**
+   * <p>
+   * Removes all cached data. The statistics will not be reset.
+   * </p>
+   */
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public long getTimeToLive() {
+    return timeToLive;
+  }
+
+  /**
+   * <p>
+   * Returns how often cached data was found.
+   * </p>
+   */
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * <p>
+   * Returns how often data was not cached or expired.
+   * </p>
+   */
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * <p>
+   * Returns how many entries were evicted because the cache was full or they expired.
+   * </p>
+   */
+  public synchronized long getEvictionCount() {
+    return evictionCount;
+  }
+
+  long getCurrentTime() {
+    return System.currentTimeMillis();
+  }
+
+  private boolean isExpired( CacheEntry<V> entry ) {
+    return getCurrentTime() - entry.creationTime >= timeToLive;
+  }
+
+  private void evictLeastRecentlyUsed() {
+    Iterator<Entry<K, CacheEntry<V>>> iterator = entries.entrySet().iterator();
+    while( entries.size() > maxSize && iterator.hasNext() ) {
+      iterator.next();
+      iterator.remove();
+      evictionCount++;
+    }
+  }
+
+  private static class CacheEntry<V> {
+
+    private final V data;
+    private final long creationTime;
+
+    CacheEntry( V data, long creationTime ) {
+      this.data = data;
+      this.creationTime = creationTime;
+    }
+  }
+}
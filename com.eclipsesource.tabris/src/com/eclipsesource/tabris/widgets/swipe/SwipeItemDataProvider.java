@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.widgets.swipe;
+
+import java.io.Serializable;
+
+
+/**
+ * <p>
+ * A <code>SwipeItemDataProvider</code> splits the creation of swipe items into loading the data, which can be shared
+ * between sessions, and creating the item from the data, which happens in every session. It's used together with a
+ * {@link CachingSwipeItemProvider}.
+ * </p>
+ *
+ * @see CachingSwipeItemProvider
+ * @see SwipeItemDataCache
+ *
+ * @since 1.1
+ */
+public interface SwipeItemDataProvider<K, V> extends Serializable {
+
+  /**
+   * <p>
+   * Should return the amount of items. Same as {@link SwipeItemProvider#getItemCount()}.
+   * </p>
+   */
+  int getItemCount();
+
+  /**
+   * <p>
+   * Should return the key that identifies the data of the item at the given index, e.g. a product id. Items of all
+   * sessions with the same key share the same data.
+   * </p>
+   */
+  K getKey( int index );
+
+  /**
+   * <p>
+   * Should load the data for the given key, e.g. from a database. Will only be called when the data is not cached.
+   * The data will be shared between sessions and must not be modified.
+   * </p>
+   */
+  V loadData( K key );
+
+  /**
+   * <p>
+   * Should create the item for the given index from the data.
+   * </p>
+   */
+  SwipeItem createItem( int index, V data );
+
+}
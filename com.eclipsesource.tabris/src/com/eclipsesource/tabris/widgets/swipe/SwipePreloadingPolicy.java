@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2013 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package com.eclipsesource.tabris.widgets.swipe;
+
+import java.io.Serializable;
+
+
+/**
+ * <p>
+ * A <code>SwipePreloadingPolicy</code> decides how many items a {@link Swipe} pre loads on each side of the current
+ * item. It gets informed about every swipe of the user and can adapt the amounts, e.g. to pre load more items in the
+ * direction the user is swiping to and less items behind.
+ * </p>
+ *
+ * @see Swipe#setPreloadingPolicy(SwipePreloadingPolicy)
+ * @see DirectionalPreloadingPolicy
+ *
+ * @since 1.1
+ */
+public interface SwipePreloadingPolicy extends Serializable {
+
+  /**
+   * <p>
+   * Will be called when the user has swiped to another item. Programmatic calls to {@link Swipe#show(int)} are not
+   * reported.
+   * </p>
+   */
+  void itemChanged( int previousIndex, int index );
+
+  /**
+   * <p>
+   * Should return the amount of items to pre load in the given direction. <code>SWT.LEFT</code> stands for the items
+   * with lower indexes and <code>SWT.RIGHT</code> for the items with higher indexes. The amount must not be negative.
+   * </p>
+   */
+  int getPreloadCount( int direction );
+
+}